@@ -0,0 +1,72 @@
+package org.fortishop.productinventoryservice.global.cache.codec;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.fortishop.productinventoryservice.dto.response.InventoryResponse;
+import org.fortishop.productinventoryservice.dto.response.ProductResponse;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+// 캐시 값 직렬화 비교: GenericJackson2JsonRedisSerializer vs CompactRedisSerializer
+// 지연 시간은 결과의 score, op 당 할당량은 gc.alloc.rate.norm, 값 크기는 보조 지표 bytes 로 본다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RedisValueCodecBenchmark {
+
+    @Param({"JSON", "COMPACT"})
+    private String codec;
+
+    @Param({"inventory", "product"})
+    private String payload;
+
+    private RedisSerializer<Object> serializer;
+    private Object value;
+    private byte[] encoded;
+
+    @Setup
+    public void setup() {
+        GenericJackson2JsonRedisSerializer json = new GenericJackson2JsonRedisSerializer();
+        serializer = "COMPACT".equals(codec)
+                ? new CompactRedisSerializer(List.of(new InventoryResponseCodec(), new ProductResponseCodec()), json)
+                : json;
+        LocalDateTime now = LocalDateTime.of(2025, 5, 1, 12, 30, 15, 123_000_000);
+        value = "inventory".equals(payload)
+                ? new InventoryResponse(1024L, 350, 12, now)
+                : new ProductResponse(1024L, "무선 블루투스 이어폰 Pro", "노이즈 캔슬링, 최대 30시간 재생, IPX4 방수",
+                        new BigDecimal("129000.00"), "electronics", "https://cdn.fortishop.org/images/1024.jpg", true,
+                        now);
+        encoded = serializer.serialize(value);
+    }
+
+    @Benchmark
+    public byte[] encode(PayloadSize size) {
+        byte[] bytes = serializer.serialize(value);
+        size.bytes = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public Object decode(PayloadSize size) {
+        size.bytes = encoded.length;
+        return serializer.deserialize(encoded);
+    }
+
+    // 값 크기를 결과 표의 보조 지표로 남긴다. 호출마다 더하지 않고 덮어쓰므로 스레드 하나 기준 값 크기 그대로 보인다.
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+        public long bytes;
+    }
+}
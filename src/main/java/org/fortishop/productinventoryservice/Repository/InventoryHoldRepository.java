@@ -0,0 +1,28 @@
+package org.fortishop.productinventoryservice.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.fortishop.productinventoryservice.domain.HoldStatus;
+import org.fortishop.productinventoryservice.domain.InventoryHold;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface InventoryHoldRepository extends JpaRepository<InventoryHold, Long> {
+
+    List<InventoryHold> findByOrderIdAndStatus(Long orderId, HoldStatus status);
+
+    List<InventoryHold> findByOrderIdAndProductId(Long orderId, Long productId);
+
+    List<InventoryHold> findByStatusAndExpiresAtBeforeAndIdGreaterThanOrderByIdAsc(HoldStatus status,
+                                                                                   LocalDateTime expiresAt, Long id,
+                                                                                   Pageable pageable);
+
+    // 상태 전이는 조건부 UPDATE 로 한 번만 성공 (여러 노드가 같은 hold 를 만료시켜도 안전)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE InventoryHold h SET h.status = :to, h.updatedAt = :now WHERE h.id = :id AND h.status = :from")
+    int transition(@Param("id") Long id, @Param("from") HoldStatus from, @Param("to") HoldStatus to,
+                   @Param("now") LocalDateTime now);
+}
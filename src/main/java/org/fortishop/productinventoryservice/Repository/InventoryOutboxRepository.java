@@ -0,0 +1,28 @@
+package org.fortishop.productinventoryservice.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.fortishop.productinventoryservice.domain.InventoryOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface InventoryOutboxRepository extends JpaRepository<InventoryOutbox, Long> {
+
+    List<InventoryOutbox> findBySentAtIsNullOrderByIdAsc(Pageable pageable);
+
+    long countBySentAtIsNull();
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE InventoryOutbox o SET o.sentAt = :sentAt WHERE o.id IN :ids")
+    int markSent(@Param("ids") List<Long> ids, @Param("sentAt") LocalDateTime sentAt);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM InventoryOutbox o WHERE o.sentAt < :before")
+    int deleteSentBefore(@Param("before") LocalDateTime before);
+}
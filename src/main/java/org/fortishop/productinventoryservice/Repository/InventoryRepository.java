@@ -1,11 +1,72 @@
 package org.fortishop.productinventoryservice.Repository;
 
+import jakarta.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.fortishop.productinventoryservice.domain.Inventory;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
-public interface InventoryRepository extends JpaRepository<Inventory, Long> {
+public interface InventoryRepository extends JpaRepository<Inventory, Long>, InventoryRepositoryCustom {
     Optional<Inventory> findByProductId(Long productId);
 
+    List<Inventory> findByProductIdIn(Collection<Long> productIds);
+
     void deleteByProductId(Long productId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Inventory i WHERE i.productId = :productId")
+    Optional<Inventory> findByProductIdForUpdate(@Param("productId") Long productId);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Inventory i SET i.quantity = i.quantity + :delta, i.lastUpdated = :now WHERE i.productId = :productId")
+    int adjustQuantity(@Param("productId") Long productId, @Param("delta") int delta, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Inventory i SET i.quantity = i.quantity - :quantity, i.lastUpdated = :now "
+            + "WHERE i.productId = :productId AND i.quantity >= :quantity")
+    int decreaseIfAvailable(@Param("productId") Long productId, @Param("quantity") int quantity,
+                            @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Inventory i SET i.reservedQuantity = i.reservedQuantity + :delta, i.lastUpdated = :now "
+            + "WHERE i.productId = :productId")
+    int adjustReserved(@Param("productId") Long productId, @Param("delta") int delta, @Param("now") LocalDateTime now);
+
+    // REDIS_LUA 모드의 drain 반영. 같은 drain 번호는 한 번만 더한다. (이미 반영했거나 row 가 없으면 0)
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Inventory i SET i.quantity = i.quantity + :delta, i.redisDrainSeq = :drainSeq, i.lastUpdated = :now "
+            + "WHERE i.productId = :productId AND i.redisDrainSeq < :drainSeq")
+    int applyRedisDrain(@Param("productId") Long productId, @Param("delta") int delta,
+                        @Param("drainSeq") long drainSeq, @Param("now") LocalDateTime now);
+
+    default int decreaseIfAvailable(Long productId, int quantity) {
+        return decreaseIfAvailable(productId, quantity, LocalDateTime.now());
+    }
+
+    // 검색 색인 재동기화용. (lastUpdated, id) 가 커서보다 뒤이고 until 이전에 바뀐 재고를 keyset 순서로 읽는다.
+    @Query("SELECT i FROM Inventory i WHERE i.lastUpdated < :until "
+            + "AND (i.lastUpdated > :updatedAt OR (i.lastUpdated = :updatedAt AND i.id > :id)) "
+            + "ORDER BY i.lastUpdated, i.id")
+    List<Inventory> findUpdatedAfter(@Param("updatedAt") LocalDateTime updatedAt, @Param("id") Long id,
+                                     @Param("until") LocalDateTime until, Pageable pageable);
+
+    default int adjustQuantity(Long productId, int delta) {
+        return adjustQuantity(productId, delta, LocalDateTime.now());
+    }
+
+    default int adjustReserved(Long productId, int delta) {
+        return adjustReserved(productId, delta, LocalDateTime.now());
+    }
 }
@@ -0,0 +1,10 @@
+package org.fortishop.productinventoryservice.Repository;
+
+import java.util.List;
+import java.util.Map;
+
+public interface InventoryRepositoryCustom {
+    int[] decreaseAllIfAvailable(Map<Long, Integer> quantities);
+
+    int[] adjustAllIfAvailable(List<Map.Entry<Long, Integer>> deltas);
+}
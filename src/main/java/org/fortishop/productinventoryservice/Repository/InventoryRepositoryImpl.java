@@ -0,0 +1,71 @@
+package org.fortishop.productinventoryservice.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class InventoryRepositoryImpl implements InventoryRepositoryCustom {
+
+    private static final String DECREASE_IF_AVAILABLE_SQL =
+            "UPDATE inventory SET quantity = quantity - ?, last_updated = ? WHERE product_id = ? AND quantity >= ?";
+
+    private static final String ADJUST_IF_AVAILABLE_SQL =
+            "UPDATE inventory SET quantity = quantity + ?, last_updated = ? WHERE product_id = ? AND quantity + ? >= 0";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 항목별 affected row count 를 그대로 반환 (1: 차감 성공, 0: 재고 부족 또는 상품 없음)
+    @Override
+    public int[] decreaseAllIfAvailable(Map<Long, Integer> quantities) {
+        List<Map.Entry<Long, Integer>> entries = new ArrayList<>(quantities.entrySet());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        return jdbcTemplate.batchUpdate(DECREASE_IF_AVAILABLE_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Map.Entry<Long, Integer> entry = entries.get(i);
+                ps.setInt(1, entry.getValue());
+                ps.setTimestamp(2, now);
+                ps.setLong(3, entry.getKey());
+                ps.setInt(4, entry.getValue());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return entries.size();
+            }
+        });
+    }
+
+    // 음수 delta 는 재고가 남아있을 때만 차감되고, 양수 delta 는 항상 반영된다. 같은 상품은 순서대로 적용된다.
+    @Override
+    public int[] adjustAllIfAvailable(List<Map.Entry<Long, Integer>> deltas) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        return jdbcTemplate.batchUpdate(ADJUST_IF_AVAILABLE_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Map.Entry<Long, Integer> entry = deltas.get(i);
+                ps.setInt(1, entry.getValue());
+                ps.setTimestamp(2, now);
+                ps.setLong(3, entry.getKey());
+                ps.setInt(4, entry.getValue());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return deltas.size();
+            }
+        });
+    }
+}
@@ -0,0 +1,39 @@
+package org.fortishop.productinventoryservice.Repository;
+
+import jakarta.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.fortishop.productinventoryservice.domain.InventoryShard;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface InventoryShardRepository extends JpaRepository<InventoryShard, Long> {
+
+    List<InventoryShard> findByProductIdOrderByShardNo(Long productId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM InventoryShard s WHERE s.productId = :productId ORDER BY s.shardNo")
+    List<InventoryShard> findAllForUpdate(@Param("productId") Long productId);
+
+    @Query("SELECT COALESCE(SUM(s.quantity), 0) FROM InventoryShard s WHERE s.productId = :productId")
+    long sumQuantity(@Param("productId") Long productId);
+
+    @Modifying
+    @Query("UPDATE InventoryShard s SET s.quantity = s.quantity - :quantity, s.lastUpdated = :now "
+            + "WHERE s.productId = :productId AND s.shardNo = :shardNo AND s.quantity >= :quantity")
+    int decreaseIfAvailable(@Param("productId") Long productId, @Param("shardNo") int shardNo,
+                            @Param("quantity") int quantity, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE InventoryShard s SET s.quantity = s.quantity + :quantity, s.lastUpdated = :now "
+            + "WHERE s.productId = :productId AND s.shardNo = :shardNo")
+    int increase(@Param("productId") Long productId, @Param("shardNo") int shardNo,
+                 @Param("quantity") int quantity, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM InventoryShard s WHERE s.productId = :productId")
+    void deleteByProductId(@Param("productId") Long productId);
+}
@@ -1,13 +1,49 @@
 package org.fortishop.productinventoryservice.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import org.fortishop.productinventoryservice.domain.Product;
+import org.fortishop.productinventoryservice.dto.response.ProductSummaryResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+// 목록 조회는 카드에 필요한 컬럼만 ProductSummaryResponse 로 바로 읽는다. (영속성 컨텍스트/스냅샷 없음)
 public interface ProductRepository extends JpaRepository<Product, Long> {
-    Page<Product> findAllByIsActiveTrue(Pageable pageable);
+    String SUMMARY = "SELECT new org.fortishop.productinventoryservice.dto.response.ProductSummaryResponse("
+            + "p.id, p.name, p.price, p.category, p.imageUrl, p.createdAt) FROM Product p ";
 
-    List<Product> findByCategoryAndIsActiveTrue(String category);
+    @Query(value = SUMMARY + "WHERE p.isActive = true",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE p.isActive = true")
+    Page<ProductSummaryResponse> findActiveSummaries(Pageable pageable);
+
+    // 다음 페이지 여부만 필요하므로 COUNT 없이 Slice 로 읽는다.
+    @Query(SUMMARY + "WHERE p.category = :category AND p.isActive = true ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<ProductSummaryResponse> findActiveSummariesByCategory(@Param("category") String category,
+                                                                Pageable pageable);
+
+    @Query(SUMMARY + "WHERE p.id IN :ids")
+    List<ProductSummaryResponse> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // keyset 첫 페이지. Slice 는 size + 1 개만 읽어 다음 페이지 여부를 판단하고 COUNT 를 하지 않는다.
+    @Query(SUMMARY + "WHERE p.isActive = true ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<ProductSummaryResponse> findActiveSlice(Pageable pageable);
+
+    // (createdAt, id) 가 커서보다 뒤(작은)인 행부터
+    @Query(SUMMARY + "WHERE p.isActive = true "
+            + "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) "
+            + "ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<ProductSummaryResponse> findActiveSliceAfter(@Param("createdAt") LocalDateTime createdAt,
+                                                       @Param("id") Long id, Pageable pageable);
+
+    // 검색 색인 재동기화용. (updatedAt, id) 가 커서보다 뒤이고 until 이전에 바뀐 상품을 keyset 순서로 읽는다.
+    @Query("SELECT p FROM Product p WHERE p.updatedAt < :until "
+            + "AND (p.updatedAt > :updatedAt OR (p.updatedAt = :updatedAt AND p.id > :id)) "
+            + "ORDER BY p.updatedAt, p.id")
+    List<Product> findUpdatedAfter(@Param("updatedAt") LocalDateTime updatedAt, @Param("id") Long id,
+                                   @Param("until") LocalDateTime until, Pageable pageable);
 }
@@ -2,19 +2,28 @@ package org.fortishop.productinventoryservice.controller;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import java.util.List;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import org.fortishop.productinventoryservice.dto.request.InventoryRequest;
+import org.fortishop.productinventoryservice.dto.request.InventoryShardRequest;
 import org.fortishop.productinventoryservice.dto.response.InventoryResponse;
+import org.fortishop.productinventoryservice.dto.response.InventoryShardResponse;
 import org.fortishop.productinventoryservice.exception.Product.ProductException;
 import org.fortishop.productinventoryservice.exception.Product.ProductExceptionType;
 import org.fortishop.productinventoryservice.global.Responder;
 import org.fortishop.productinventoryservice.service.InventoryService;
+import org.fortishop.productinventoryservice.service.InventoryShardService;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -24,6 +33,8 @@ public class InventoryController {
 
     private final InventoryService inventoryService;
 
+    private final InventoryShardService inventoryShardService;
+
     private static final String ADMIN_ROLE = "ROLE_ADMIN";
 
     private void validateAdmin(HttpServletRequest request) {
@@ -38,6 +49,14 @@ public class InventoryController {
         return Responder.success(inventoryService.getInventory(productId));
     }
 
+    // 장바구니/주문처럼 여러 상품의 재고를 한 번에 조회 (재고가 없는 상품은 결과에서 빠진다)
+    @GetMapping
+    public ResponseEntity<Map<Long, InventoryResponse>> getInventories(
+            @RequestParam(name = "productIds") List<Long> productIds
+    ) {
+        return Responder.success(inventoryService.getInventories(productIds));
+    }
+
     @PatchMapping("/{productId}")
     public ResponseEntity<InventoryResponse> setInventory(
             @PathVariable(name = "productId") Long productId,
@@ -47,4 +66,41 @@ public class InventoryController {
         validateAdmin(httpRequest);
         return Responder.success(inventoryService.setInventory(productId, request));
     }
+
+    @GetMapping("/{productId}/shards")
+    public ResponseEntity<InventoryShardResponse> getShards(
+            @PathVariable(name = "productId") Long productId,
+            HttpServletRequest httpRequest
+    ) {
+        validateAdmin(httpRequest);
+        return Responder.success(inventoryShardService.getShards(productId));
+    }
+
+    @PutMapping("/{productId}/shards")
+    public ResponseEntity<InventoryShardResponse> enableSharding(
+            @PathVariable(name = "productId") Long productId,
+            @RequestBody @Valid InventoryShardRequest request,
+            HttpServletRequest httpRequest
+    ) {
+        validateAdmin(httpRequest);
+        return Responder.success(inventoryShardService.enableSharding(productId, request.getShardCount()));
+    }
+
+    @PostMapping("/{productId}/shards/rebalance")
+    public ResponseEntity<InventoryShardResponse> rebalanceShards(
+            @PathVariable(name = "productId") Long productId,
+            HttpServletRequest httpRequest
+    ) {
+        validateAdmin(httpRequest);
+        return Responder.success(inventoryShardService.rebalance(productId));
+    }
+
+    @DeleteMapping("/{productId}/shards")
+    public ResponseEntity<InventoryShardResponse> disableSharding(
+            @PathVariable(name = "productId") Long productId,
+            HttpServletRequest httpRequest
+    ) {
+        validateAdmin(httpRequest);
+        return Responder.success(inventoryShardService.disableSharding(productId));
+    }
 }
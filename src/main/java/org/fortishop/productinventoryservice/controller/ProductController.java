@@ -2,10 +2,12 @@ package org.fortishop.productinventoryservice.controller;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
-import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.fortishop.productinventoryservice.dto.request.ProductRequest;
+import org.fortishop.productinventoryservice.dto.response.CategoryProductsResponse;
 import org.fortishop.productinventoryservice.dto.response.ProductResponse;
+import org.fortishop.productinventoryservice.dto.response.ProductSliceResponse;
+import org.fortishop.productinventoryservice.dto.response.ProductSummaryResponse;
 import org.fortishop.productinventoryservice.exception.Product.ProductException;
 import org.fortishop.productinventoryservice.exception.Product.ProductExceptionType;
 import org.fortishop.productinventoryservice.global.Responder;
@@ -75,18 +77,36 @@ public class ProductController {
     }
 
     @GetMapping
-    public ResponseEntity<Page<ProductResponse>> getProducts(
+    public ResponseEntity<Page<ProductSummaryResponse>> getProducts(
             @RequestParam(name = "page", defaultValue = "0") int page,
             @RequestParam(name = "size", defaultValue = "10") int size
     ) {
         return Responder.success(productService.getProducts(page, size));
     }
 
+    // 무한 스크롤용 커서 기반 목록. 첫 요청은 cursor 없이 보내고 이후에는 응답의 nextCursor 를 넘긴다.
+    @GetMapping("/cursor")
+    public ResponseEntity<ProductSliceResponse<ProductSummaryResponse>> getProductsByCursor(
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "10") int size
+    ) {
+        return Responder.success(productService.getProductsByCursor(cursor, size));
+    }
+
+    @GetMapping("/category/{category}")
+    public ResponseEntity<CategoryProductsResponse> getProductsByCategory(
+            @PathVariable(name = "category") String category,
+            @RequestParam(name = "page", defaultValue = "0") int page,
+            @RequestParam(name = "size", defaultValue = "20") int size
+    ) {
+        return Responder.success(productService.getProductsByCategory(category, page, size));
+    }
+
     @GetMapping("/popular")
-    public ResponseEntity<List<ProductResponse>> getPopularProducts(
+    public ResponseEntity<byte[]> getPopularProducts(
             @RequestParam(name = "limit", defaultValue = "10") int limit
     ) {
-        return Responder.success(productService.getPopularProducts(limit));
+        return Responder.successJson(productService.getPopularProductsJson(limit));
     }
 }
 
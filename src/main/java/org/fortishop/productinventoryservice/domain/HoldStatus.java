@@ -0,0 +1,8 @@
+package org.fortishop.productinventoryservice.domain;
+
+public enum HoldStatus {
+    HELD,
+    CONFIRMED,
+    RELEASED,
+    EXPIRED
+}
@@ -5,7 +5,9 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import java.time.LocalDateTime;
 import lombok.AccessLevel;
 import lombok.Builder;
@@ -13,7 +15,11 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "inventory")
+// 재고 쓰기는 모두 product_id 조건의 UPDATE 이므로 유니크 인덱스가 없으면 테이블 전체를 스캔하며 모든 row 를 잠근다.
+// 검색 색인 재동기화는 (last_updated, id) 순서로 바뀐 재고를 읽는다.
+@Table(name = "inventory",
+        uniqueConstraints = @UniqueConstraint(name = "uk_inventory_product_id", columnNames = "product_id"),
+        indexes = @Index(name = "idx_inventory_updated_id", columnList = "last_updated, id"))
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Inventory {
@@ -22,10 +28,20 @@ public class Inventory {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Column(name = "product_id", nullable = false)
     private Long productId;
 
+    // 가용 재고 (hold 로 잡힌 수량은 이미 빠져 있다)
     private Integer quantity;
 
+    // 결제 확정/해제를 기다리는 hold 수량
+    @Column(name = "reserved_quantity", columnDefinition = "INT NOT NULL DEFAULT 0")
+    private Integer reservedQuantity;
+
+    // REDIS_LUA 모드에서 마지막으로 반영된 Redis drain 번호. 같은 drain 을 두 번 더하지 않게 한다.
+    @Column(name = "redis_drain_seq", columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private Long redisDrainSeq;
+
     @Column(name = "last_updated")
     private LocalDateTime lastUpdated;
 
@@ -33,6 +49,8 @@ public class Inventory {
     public Inventory(Long productId, Integer quantity) {
         this.productId = productId;
         this.quantity = quantity;
+        this.reservedQuantity = 0;
+        this.redisDrainSeq = 0L;
         this.lastUpdated = LocalDateTime.now();
     }
 
@@ -45,5 +63,10 @@ public class Inventory {
         this.quantity = quantity;
         this.lastUpdated = LocalDateTime.now();
     }
+
+    // 지정한 수량이 drainSeq 까지의 Redis delta 를 덮어쓰므로, 그 delta 가 나중에 더해지지 않게 한다.
+    public void supersedeRedisDrains(long drainSeq) {
+        this.redisDrainSeq = Math.max(redisDrainSeq == null ? 0L : redisDrainSeq, drainSeq);
+    }
 }
 
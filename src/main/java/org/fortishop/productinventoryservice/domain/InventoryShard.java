@@ -0,0 +1,51 @@
+package org.fortishop.productinventoryservice.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "inventory_shard",
+        uniqueConstraints = @UniqueConstraint(name = "uk_inventory_shard_product_shard",
+                columnNames = {"product_id", "shard_no"}))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class InventoryShard {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(name = "shard_no")
+    private Integer shardNo;
+
+    private Integer quantity;
+
+    @Column(name = "last_updated")
+    private LocalDateTime lastUpdated;
+
+    @Builder
+    public InventoryShard(Long productId, Integer shardNo, Integer quantity) {
+        this.productId = productId;
+        this.shardNo = shardNo;
+        this.quantity = quantity;
+        this.lastUpdated = LocalDateTime.now();
+    }
+
+    public void adjust(int delta) {
+        this.quantity += delta;
+        this.lastUpdated = LocalDateTime.now();
+    }
+}
@@ -5,6 +5,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -14,7 +15,13 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "products")
+// 목록 조회는 (is_active, created_at, id), 카테고리 목록은 (category, is_active, created_at) 순서로 읽어
+// 정렬 없이 인덱스 범위 스캔으로 끝난다. 검색 색인 재동기화는 (updated_at, id) 범위로 읽는다.
+@Table(name = "products", indexes = {
+        @Index(name = "idx_products_active_created_id", columnList = "is_active, created_at, id"),
+        @Index(name = "idx_products_category_active_created", columnList = "category, is_active, created_at"),
+        @Index(name = "idx_products_updated_id", columnList = "updated_at, id")
+})
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Product {
@@ -38,6 +45,9 @@ public class Product {
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
     @Column(name = "is_active")
     private boolean isActive;
 
@@ -50,6 +60,7 @@ public class Product {
         this.category = category;
         this.imageUrl = imageUrl;
         this.createdAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
         this.isActive = isActive;
     }
 
@@ -61,5 +72,6 @@ public class Product {
         this.category = category;
         this.imageUrl = imageUrl;
         this.isActive = isActive;
+        this.updatedAt = LocalDateTime.now();
     }
 }
@@ -1,5 +1,6 @@
 package org.fortishop.productinventoryservice.dto.event;
 
+import java.util.List;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -15,4 +16,5 @@ public class InventoryFailedEvent {
     private String reason;
     private String timestamp;
     private String traceId;
+    private List<OrderItemInfo> items;
 }
@@ -0,0 +1,16 @@
+package org.fortishop.productinventoryservice.dto.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentCompletedEvent {
+    private Long orderId;
+    private String timestamp;
+    private String traceId;
+}
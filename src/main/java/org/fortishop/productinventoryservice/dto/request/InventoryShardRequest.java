@@ -0,0 +1,16 @@
+package org.fortishop.productinventoryservice.dto.request;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class InventoryShardRequest {
+    @NotNull
+    @Min(2)
+    private Integer shardCount;
+}
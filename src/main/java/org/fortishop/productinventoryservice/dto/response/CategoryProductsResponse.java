@@ -0,0 +1,18 @@
+package org.fortishop.productinventoryservice.dto.response;
+
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED, force = true)
+@AllArgsConstructor
+public class CategoryProductsResponse {
+    private String category;
+    private int page;
+    private int size;
+    private boolean hasNext;
+    private List<ProductSummaryResponse> content;
+}
@@ -13,12 +13,24 @@ import org.fortishop.productinventoryservice.domain.Inventory;
 public class InventoryResponse {
     private Long productId;
     private Integer quantity;
+    private Integer reservedQuantity;
     private LocalDateTime lastUpdated;
 
+    // 샤딩된 상품은 inventory row 와 샤드 수량의 합계를 재고로 응답
+    public static InventoryResponse of(Inventory inventory, int shardedQuantity) {
+        return new InventoryResponse(
+                inventory.getProductId(),
+                inventory.getQuantity() + shardedQuantity,
+                inventory.getReservedQuantity(),
+                inventory.getLastUpdated()
+        );
+    }
+
     public static InventoryResponse of(Inventory inventory) {
         return new InventoryResponse(
                 inventory.getProductId(),
                 inventory.getQuantity(),
+                inventory.getReservedQuantity(),
                 inventory.getLastUpdated()
         );
     }
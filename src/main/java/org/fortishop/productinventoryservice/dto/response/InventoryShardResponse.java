@@ -0,0 +1,24 @@
+package org.fortishop.productinventoryservice.dto.response;
+
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.fortishop.productinventoryservice.domain.InventoryShard;
+
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED, force = true)
+@AllArgsConstructor
+public class InventoryShardResponse {
+    private Long productId;
+    private boolean sharded;
+    private Integer totalQuantity;
+    private List<Integer> shardQuantities;
+
+    public static InventoryShardResponse of(Long productId, int unshardedQuantity, List<InventoryShard> shards) {
+        List<Integer> quantities = shards.stream().map(InventoryShard::getQuantity).toList();
+        int total = unshardedQuantity + quantities.stream().mapToInt(Integer::intValue).sum();
+        return new InventoryShardResponse(productId, !shards.isEmpty(), total, quantities);
+    }
+}
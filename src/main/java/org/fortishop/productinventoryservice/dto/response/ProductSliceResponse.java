@@ -0,0 +1,17 @@
+package org.fortishop.productinventoryservice.dto.response;
+
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 커서 기반 목록 응답. nextCursor 를 다음 요청의 cursor 로 그대로 넘긴다. (마지막 페이지면 null)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED, force = true)
+@AllArgsConstructor
+public class ProductSliceResponse<T> {
+    private List<T> content;
+    private String nextCursor;
+    private boolean hasNext;
+}
@@ -0,0 +1,21 @@
+package org.fortishop.productinventoryservice.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 목록 화면(카드)용 응답. JPQL 생성자 projection 으로 바로 만들어 description(TEXT) 을 읽지 않고 엔티티도 만들지 않는다.
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED, force = true)
+@AllArgsConstructor
+public class ProductSummaryResponse {
+    private Long id;
+    private String name;
+    private BigDecimal price;
+    private String category;
+    private String imageUrl;
+    private LocalDateTime createdAt;
+}
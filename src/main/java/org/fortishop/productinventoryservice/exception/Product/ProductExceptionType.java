@@ -7,6 +7,13 @@ public enum ProductExceptionType implements BaseExceptionType {
     PRODUCT_NOT_FOUND("P001", "일치하는 상품이 존재하지 않습니다.", HttpStatus.NOT_FOUND),
     INVENTORY_NOT_FOUND("P001", "일치하는 상품의 재고가 존재하지 않습니다.", HttpStatus.NOT_FOUND),
     UNAUTHORIZED_USER("P002", "잘못된 권한의 요청입니다.", HttpStatus.UNAUTHORIZED),
+    INVALID_SHARD_COUNT("P003", "재고 샤드 개수가 올바르지 않습니다.", HttpStatus.BAD_REQUEST),
+    INVENTORY_NOT_SHARDED("P004", "샤딩되지 않은 상품의 재고입니다.", HttpStatus.BAD_REQUEST),
+    INVENTORY_LOCK_FAILED("P005", "재고 락 획득에 실패했습니다.", HttpStatus.CONFLICT),
+    TOO_MANY_PRODUCT_IDS("P006", "한 번에 조회할 수 있는 상품 수를 초과했습니다.", HttpStatus.BAD_REQUEST),
+    INVALID_CURSOR("P007", "잘못된 페이지 커서입니다.", HttpStatus.BAD_REQUEST),
+    INVALID_PAGE_SIZE("P008", "페이지 크기는 1 이상 100 이하여야 합니다.", HttpStatus.BAD_REQUEST),
+    INVALID_PAGE_NUMBER("P009", "페이지 번호는 0 이상이어야 합니다.", HttpStatus.BAD_REQUEST),
     ;
 
     private final String errorCode;
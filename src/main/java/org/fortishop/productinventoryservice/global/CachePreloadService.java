@@ -2,45 +2,54 @@ package org.fortishop.productinventoryservice.global;
 
 import java.time.Duration;
 import java.util.List;
-import java.util.Set;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.fortishop.productinventoryservice.Repository.ProductRepository;
 import org.fortishop.productinventoryservice.domain.Product;
 import org.fortishop.productinventoryservice.dto.response.ProductResponse;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.fortishop.productinventoryservice.global.cache.TwoTierCache;
+import org.fortishop.productinventoryservice.service.ProductService;
+import org.fortishop.productinventoryservice.service.popularity.PopularityRanking;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class CachePreloadService {
 
     private final ProductRepository productRepository;
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final PopularityRanking popularityRanking;
+    private final TwoTierCache twoTierCache;
+    private final ProductService productService;
 
-    private static final String PRODUCT_VIEW_KEY = "product:views";
     private static final String PRODUCT_DETAIL_KEY_PREFIX = "product::detail::";
 
     @Scheduled(cron = "0 */5 * * * *")
     public void preloadPopularProducts() {
-        Set<Object> rawIds = redisTemplate.opsForZSet().reverseRange(PRODUCT_VIEW_KEY, 0, 9);
-        if (rawIds == null || rawIds.isEmpty()) {
+        List<Long> productIds = popularityRanking.topProductIds(10);
+        if (productIds.isEmpty()) {
             return;
         }
 
-        List<Long> productIds = rawIds.stream()
-                .map(String::valueOf)
-                .map(Long::parseLong)
-                .toList();
-
         List<Product> products = productRepository.findAllById(productIds);
 
         for (Product product : products) {
-            redisTemplate.opsForValue().set(
+            twoTierCache.put(
                     PRODUCT_DETAIL_KEY_PREFIX + product.getId(),
                     ProductResponse.of(product),
-                    Duration.ofMinutes(10)
+                    TwoTierCache.withJitter(Duration.ofMinutes(10))
             );
         }
     }
+
+    // 홈 화면용 인기 상품 응답을 limit 구간별로 미리 직렬화해 둔다.
+    @Scheduled(fixedDelayString = "${product.popularity.response-refresh-interval-ms:30000}")
+    public void refreshPopularProductsResponse() {
+        try {
+            productService.refreshPopularProducts();
+        } catch (Exception e) {
+            log.warn("⚠️ 인기 상품 응답 갱신 실패: error={}", e.getMessage());
+        }
+    }
 }
@@ -3,6 +3,7 @@ package org.fortishop.productinventoryservice.global;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
 public class Responder {
@@ -19,6 +20,11 @@ public class Responder {
         return new ResponseEntity<>(data, status);
     }
 
+    // 이미 JSON 으로 직렬화된 본문을 변환 없이 그대로 내려준다.
+    public static ResponseEntity<byte[]> successJson(byte[] body) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
     public static ResponseEntity<ErrorResponse> error(String errorCode, String message, HttpStatus status) {
         ErrorResponse errorResponse = new ErrorResponse(errorCode, message);
         return new ResponseEntity<>(errorResponse, status);
@@ -0,0 +1,20 @@
+package org.fortishop.productinventoryservice.global.cache;
+
+import java.util.List;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.cloud.bus.event.Destination;
+import org.springframework.cloud.bus.event.RemoteApplicationEvent;
+
+// Spring Cloud Bus 로 전 노드에 전파되는 L1 캐시 무효화 이벤트
+@Getter
+@NoArgsConstructor
+public class CacheEvictEvent extends RemoteApplicationEvent {
+
+    private List<String> keys;
+
+    public CacheEvictEvent(Object source, String originService, Destination destination, List<String> keys) {
+        super(source, originService, destination);
+        this.keys = keys;
+    }
+}
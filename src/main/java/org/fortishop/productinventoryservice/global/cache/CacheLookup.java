@@ -0,0 +1,40 @@
+package org.fortishop.productinventoryservice.global.cache;
+
+// 캐시 조회 결과: 값 있음 / 없는 것으로 캐시됨(negative) / 캐시에 없음(miss)
+public final class CacheLookup<T> {
+
+    private static final CacheLookup<?> MISS = new CacheLookup<>(null);
+    private static final CacheLookup<?> NEGATIVE = new CacheLookup<>(null);
+
+    private final T value;
+
+    private CacheLookup(T value) {
+        this.value = value;
+    }
+
+    public static <T> CacheLookup<T> of(T value) {
+        return new CacheLookup<>(value);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> CacheLookup<T> miss() {
+        return (CacheLookup<T>) MISS;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> CacheLookup<T> negative() {
+        return (CacheLookup<T>) NEGATIVE;
+    }
+
+    public boolean isMiss() {
+        return this == MISS;
+    }
+
+    public boolean isNegative() {
+        return this == NEGATIVE;
+    }
+
+    public T getValue() {
+        return value;
+    }
+}
@@ -0,0 +1,489 @@
+package org.fortishop.productinventoryservice.global.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.fortishop.productinventoryservice.global.config.CacheProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.bus.BusProperties;
+import org.springframework.cloud.bus.event.Destination;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.stereotype.Component;
+
+// 노드 로컬 L1(Caffeine) + Redis L2 캐시.
+// 무효화는 Redis 삭제와 함께 Spring Cloud Bus 로 전 노드에 전파해 각 노드의 L1 도 비운다.
+// getOrLoad 는 키마다 노드당 한 번만 원본을 읽고(single-flight), 만료 직전에는 확률적으로 미리 다시 채워
+// 인기 키가 만료/삭제되는 순간 DB 로 요청이 몰리지 않게 한다.
+// evict 는 진행 중인 로드(getOrLoad, loadAll)를 무효화하므로, 무효화 전에 시작한 로드가 이전 값을 다시 채우지 않는다.
+@Slf4j
+@Component
+public class TwoTierCache {
+
+    // 존재하지 않는 키를 캐시할 때 저장하는 표식
+    private static final String MISSING = "__cache_missing__";
+    private static final double TTL_JITTER_RATIO = 0.1;
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    // bus 가 꺼져 있으면(테스트 등) 빈이 없으므로 로컬 무효화만 한다.
+    private final ObjectProvider<BusProperties> busProperties;
+    private final ObjectProvider<Destination.Factory> destinationFactory;
+    private final Cache<String, Object> local;
+    private final boolean localEnabled;
+    private final Counter l1Hits;
+    private final Counter l1Misses;
+    private final Counter l2Hits;
+    private final Counter l2Misses;
+    private final Counter loads;
+    private final Counter sharedLoads;
+    private final Counter earlyRefreshes;
+    private final boolean earlyRefreshEnabled;
+    private final double earlyRefreshWindowRatio;
+    private final ConcurrentHashMap<String, Flight> inFlight = new ConcurrentHashMap<>();
+
+    public TwoTierCache(RedisTemplate<String, Object> redisTemplate, ApplicationEventPublisher eventPublisher,
+                        ObjectProvider<BusProperties> busProperties,
+                        ObjectProvider<Destination.Factory> destinationFactory,
+                        CacheProperties cacheProperties, MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.eventPublisher = eventPublisher;
+        this.busProperties = busProperties;
+        this.destinationFactory = destinationFactory;
+        CacheProperties.L1 l1 = cacheProperties.getL1();
+        this.localEnabled = l1.isEnabled();
+        this.local = Caffeine.newBuilder()
+                .maximumSize(l1.getMaxSize())
+                .expireAfterWrite(Duration.ofSeconds(l1.getTtlSeconds()))
+                .build();
+        this.l1Hits = meterRegistry.counter("cache.tier.gets", "tier", "l1", "result", "hit");
+        this.l1Misses = meterRegistry.counter("cache.tier.gets", "tier", "l1", "result", "miss");
+        this.l2Hits = meterRegistry.counter("cache.tier.gets", "tier", "l2", "result", "hit");
+        this.l2Misses = meterRegistry.counter("cache.tier.gets", "tier", "l2", "result", "miss");
+        this.loads = meterRegistry.counter("cache.tier.loads", "result", "loaded");
+        this.sharedLoads = meterRegistry.counter("cache.tier.loads", "result", "shared");
+        this.earlyRefreshes = meterRegistry.counter("cache.tier.loads", "result", "early");
+        this.earlyRefreshEnabled = cacheProperties.getEarlyRefresh().isEnabled();
+        this.earlyRefreshWindowRatio = cacheProperties.getEarlyRefresh().getWindowRatio();
+        Gauge.builder("cache.tier.hit.ratio", () -> ratio(l1Hits, l1Misses)).tag("tier", "l1").register(meterRegistry);
+        Gauge.builder("cache.tier.hit.ratio", () -> ratio(l2Hits, l2Misses)).tag("tier", "l2").register(meterRegistry);
+        Gauge.builder("cache.tier.l1.size", local, Cache::estimatedSize).register(meterRegistry);
+    }
+
+    public <T> T get(String key, Class<T> type) {
+        return lookup(key, type).getValue();
+    }
+
+    public <T> CacheLookup<T> lookup(String key, Class<T> type) {
+        if (localEnabled) {
+            Object cached = local.getIfPresent(key);
+            if (cached != null) {
+                l1Hits.increment();
+                return toLookup(cached, type);
+            }
+            l1Misses.increment();
+        }
+
+        Object value;
+        try {
+            value = redisTemplate.opsForValue().get(key);
+        } catch (SerializationException e) {
+            // 다른 버전 노드가 쓴 값 등 읽을 수 없는 값은 miss 로 보고 다시 채운다.
+            log.debug("캐시 값 역직렬화 실패, miss 처리: key={}, error={}", key, e.getMessage());
+            value = null;
+        }
+        if (value == null) {
+            l2Misses.increment();
+            return CacheLookup.miss();
+        }
+        l2Hits.increment();
+        if (localEnabled) {
+            local.put(key, value);
+        }
+        return toLookup(value, type);
+    }
+
+    // 캐시에 없으면 loader 로 읽어 ttl(±jitter) 로 채운다. loader 가 null 을 반환하면 캐시하지 않고 null.
+    public <T> T getOrLoad(String key, Class<T> type, Duration ttl, Supplier<T> loader) {
+        return getOrLoad(key, type, ttl, null, loader).getValue();
+    }
+
+    // missingTtl 이 있으면 loader 가 null 을 반환한 키를 그 시간 동안 negative 캐시한다.
+    public <T> CacheLookup<T> getOrLoad(String key, Class<T> type, Duration ttl, Duration missingTtl,
+                                        Supplier<T> loader) {
+        if (localEnabled) {
+            Object cached = local.getIfPresent(key);
+            if (cached != null) {
+                l1Hits.increment();
+                return toLookup(cached, type);
+            }
+            l1Misses.increment();
+        }
+
+        // 값과 남은 TTL 을 한 번의 왕복으로 읽는다.
+        List<Object> results;
+        try {
+            results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Object execute(RedisOperations operations) throws DataAccessException {
+                    operations.opsForValue().get(key);
+                    operations.getExpire(key, TimeUnit.MILLISECONDS);
+                    return null;
+                }
+            });
+        } catch (SerializationException e) {
+            log.debug("캐시 값 역직렬화 실패, miss 처리: key={}, error={}", key, e.getMessage());
+            results = null;
+        }
+        Object value = results == null ? null : results.get(0);
+        if (value == null) {
+            l2Misses.increment();
+            return load(key, type, ttl, missingTtl, loader, null);
+        }
+        l2Hits.increment();
+
+        CacheLookup<T> cached = toLookup(value, type);
+        if (cached.isMiss()) {
+            return load(key, type, ttl, missingTtl, loader, null);
+        }
+        Long remainingMs = (Long) results.get(1);
+        if (!cached.isNegative() && shouldRefreshEarly(remainingMs, ttl)) {
+            earlyRefreshes.increment();
+            return load(key, type, ttl, missingTtl, loader, cached);
+        }
+        if (localEnabled) {
+            local.put(key, value);
+        }
+        return cached;
+    }
+
+    // 여러 키를 L1 → Redis MGET 한 번으로 읽는다. 찾은 키만 결과에 담는다. (negative 표식은 제외)
+    public <T> Map<String, T> getAll(List<String> keys, Class<T> type) {
+        Map<String, T> found = new HashMap<>();
+        List<String> remote = new ArrayList<>();
+        for (String key : keys) {
+            Object cached = localEnabled ? local.getIfPresent(key) : null;
+            if (cached == null) {
+                remote.add(key);
+            } else if (type.isInstance(cached)) {
+                found.put(key, type.cast(cached));
+            }
+        }
+        if (localEnabled) {
+            l1Hits.increment(keys.size() - remote.size());
+            l1Misses.increment(remote.size());
+        }
+        if (remote.isEmpty()) {
+            return found;
+        }
+
+        List<Object> values;
+        try {
+            values = redisTemplate.opsForValue().multiGet(remote);
+        } catch (SerializationException e) {
+            log.debug("캐시 값 역직렬화 실패, miss 처리: keys={}, error={}", remote.size(), e.getMessage());
+            values = null;
+        }
+        for (int i = 0; i < remote.size(); i++) {
+            Object value = values == null ? null : values.get(i);
+            if (value == null) {
+                l2Misses.increment();
+                continue;
+            }
+            l2Hits.increment();
+            if (localEnabled) {
+                local.put(remote.get(i), value);
+            }
+            if (type.isInstance(value)) {
+                found.put(remote.get(i), type.cast(value));
+            }
+        }
+        return found;
+    }
+
+    // miss 난 여러 키를 loader 한 번으로 읽어 pipeline 한 번으로 채운다. getOrLoad 처럼 키마다 진행 중인 로드로 등록하므로,
+    // 읽는 도중 evict 된 키의 값은 이전 값일 수 있어 호출자에게만 돌려주고 캐시에는 쓰지 않는다.
+    // 다른 호출이 이미 로드 중인 키도 함께 읽지만 캐시 쓰기는 그 호출에 맡긴다.
+    public <T> Map<String, T> loadAll(Collection<String> keys, Duration ttl,
+                                      Function<Collection<String>, Map<String, T>> loader) {
+        if (keys.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, Flight> owned = new HashMap<>();
+        for (String key : keys) {
+            Flight flight = new Flight();
+            if (inFlight.putIfAbsent(key, flight) == null) {
+                owned.put(key, flight);
+            }
+        }
+        try {
+            loads.increment();
+            Map<String, T> loaded = loader.apply(keys);
+            writeAll(owned, loaded, ttl);
+            owned.forEach((key, flight) -> flight.result.complete(loaded.get(key)));
+            return loaded;
+        } catch (RuntimeException e) {
+            owned.values().forEach(flight -> flight.result.completeExceptionally(e));
+            throw e;
+        } finally {
+            owned.forEach(inFlight::remove);
+        }
+    }
+
+    // 무효화되지 않은 로드의 락을 모두 쥔 채 쓴다. evict 는 한 번에 한 키의 락만 기다리므로 교착되지 않는다.
+    // 키마다 TTL 을 따로 흩뜨린다.
+    private void writeAll(Map<String, Flight> owned, Map<String, ?> loaded, Duration ttl) {
+        Map<String, Object> values = new HashMap<>();
+        List<Flight> locked = new ArrayList<>();
+        try {
+            owned.forEach((key, flight) -> {
+                Object value = loaded.get(key);
+                if (value != null && flight.lockUnlessInvalidated()) {
+                    locked.add(flight);
+                    values.put(key, value);
+                }
+            });
+            if (values.isEmpty()) {
+                return;
+            }
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Object execute(RedisOperations operations) throws DataAccessException {
+                    values.forEach((key, value) -> operations.opsForValue().set(key, value, withJitter(ttl)));
+                    return null;
+                }
+            });
+            if (localEnabled) {
+                local.putAll(values);
+            }
+        } finally {
+            locked.forEach(Flight::unlock);
+        }
+    }
+
+    public void put(String key, Object value, Duration ttl) {
+        redisTemplate.opsForValue().set(key, value, ttl);
+        if (localEnabled) {
+            local.put(key, value);
+        }
+    }
+
+    public void putMissing(String key, Duration ttl) {
+        put(key, MISSING, ttl);
+    }
+
+    public void evict(String key) {
+        evict(List.of(key));
+    }
+
+    public void evict(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        invalidateLoads(keys);
+        redisTemplate.delete(keys);
+        local.invalidateAll(keys);
+        broadcast(List.copyOf(keys));
+    }
+
+    // Redis 에는 이미 새 값이 들어간 경우, 각 노드의 로컬 사본만 버리게 한다.
+    public void publishInvalidation(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        invalidateLoads(keys);
+        local.invalidateAll(keys);
+        broadcast(List.copyOf(keys));
+    }
+
+    @EventListener
+    public void onRemoteEvict(CacheEvictEvent event) {
+        if (event.getKeys() != null) {
+            invalidateLoads(event.getKeys());
+            local.invalidateAll(event.getKeys());
+        }
+    }
+
+    // 진행 중인 로드를 떼어 내 결과를 캐시에 쓰지 못하게 한다. 이미 쓰는 중이면 끝날 때까지 기다린 뒤 지운다.
+    private void invalidateLoads(Collection<String> keys) {
+        for (String key : keys) {
+            Flight flight = inFlight.remove(key);
+            if (flight != null) {
+                flight.invalidate();
+            }
+        }
+    }
+
+    private void broadcast(List<String> keys) {
+        BusProperties bus = busProperties.getIfAvailable();
+        Destination.Factory factory = destinationFactory.getIfAvailable();
+        if (bus == null || factory == null) {
+            return;
+        }
+        try {
+            eventPublisher.publishEvent(new CacheEvictEvent(this, bus.getId(), factory.getDestination(null), keys));
+        } catch (Exception e) {
+            // 전파 실패 시 다른 노드의 L1 은 TTL 로 만료된다.
+            log.warn("⚠️ 캐시 무효화 전파 실패: keys={}, error={}", keys, e.getMessage());
+        }
+    }
+
+    // 같은 키를 동시에 읽는 호출은 먼저 시작한 로더의 결과를 기다린다.
+    // 미리 갱신(stale 이 있는 경우) 중에는 기다리지 않고 기존 값을 바로 돌려준다.
+    // 기다리던 로드가 그 사이 evict 로 무효화되면 이전 값일 수 있으므로 다시 읽는다.
+    @SuppressWarnings("unchecked")
+    private <T> CacheLookup<T> load(String key, Class<T> type, Duration ttl, Duration missingTtl,
+                                    Supplier<T> loader, CacheLookup<T> stale) {
+        while (true) {
+            Flight created = new Flight();
+            Flight running = inFlight.putIfAbsent(key, created);
+            if (running != null) {
+                if (stale != null) {
+                    return stale;
+                }
+                sharedLoads.increment();
+                Object shared = await(running.result);
+                if (running.isInvalidated()) {
+                    continue;
+                }
+                return toLoaded((T) shared);
+            }
+
+            try {
+                loads.increment();
+                T loaded = loader.get();
+                // 무효화된 로드는 호출자에게만 돌려주고 캐시에는 쓰지 않는다.
+                created.writeUnlessInvalidated(() -> {
+                    if (loaded != null) {
+                        put(key, loaded, withJitter(ttl));
+                    } else if (missingTtl != null) {
+                        putMissing(key, missingTtl);
+                    }
+                });
+                created.result.complete(loaded);
+                return toLoaded(loaded);
+            } catch (RuntimeException e) {
+                created.result.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key, created);
+            }
+        }
+    }
+
+    // XFetch: 남은 시간이 window * -ln(rand) 이하이면 갱신. 만료에 가까울수록, 요청이 많을수록 한 번은 미리 갱신된다.
+    private boolean shouldRefreshEarly(Long remainingMs, Duration ttl) {
+        if (!earlyRefreshEnabled || remainingMs == null || remainingMs < 0) {
+            return false;
+        }
+        double windowMs = ttl.toMillis() * earlyRefreshWindowRatio;
+        double random = ThreadLocalRandom.current().nextDouble();
+        return remainingMs <= -windowMs * Math.log(random);
+    }
+
+    private static Object await(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static <T> CacheLookup<T> toLoaded(T value) {
+        return value == null ? CacheLookup.negative() : CacheLookup.of(value);
+    }
+
+    // 같은 시점에 채워진 키들이 한꺼번에 만료되지 않도록 TTL 을 ±10% 흩뜨린다.
+    public static Duration withJitter(Duration ttl) {
+        long millis = ttl.toMillis();
+        long spread = (long) (millis * TTL_JITTER_RATIO);
+        if (spread <= 0) {
+            return ttl;
+        }
+        return Duration.ofMillis(millis + ThreadLocalRandom.current().nextLong(-spread, spread + 1));
+    }
+
+    private <T> CacheLookup<T> toLookup(Object cached, Class<T> type) {
+        if (MISSING.equals(cached)) {
+            return CacheLookup.negative();
+        }
+        return type.isInstance(cached) ? CacheLookup.of(type.cast(cached)) : CacheLookup.miss();
+    }
+
+    // 진행 중인 로드 하나. invalidated 는 캐시 쓰기와 같은 락 아래에서만 바꾼다.
+    // 쓰기 중에 Redis 왕복을 기다리므로 synchronized 대신 ReentrantLock 으로 잡아 가상 스레드가 carrier 를 고정하지 않게 한다.
+    private static final class Flight {
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile boolean invalidated;
+
+        void invalidate() {
+            lock.lock();
+            try {
+                invalidated = true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        boolean isInvalidated() {
+            return invalidated;
+        }
+
+        boolean lockUnlessInvalidated() {
+            lock.lock();
+            if (invalidated) {
+                lock.unlock();
+                return false;
+            }
+            return true;
+        }
+
+        void unlock() {
+            lock.unlock();
+        }
+
+        void writeUnlessInvalidated(Runnable write) {
+            lock.lock();
+            try {
+                if (!invalidated) {
+                    write.run();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static double ratio(Counter hits, Counter misses) {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+}
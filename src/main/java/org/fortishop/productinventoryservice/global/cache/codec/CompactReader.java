@@ -0,0 +1,86 @@
+package org.fortishop.productinventoryservice.global.cache.codec;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import org.springframework.data.redis.serializer.SerializationException;
+
+// CompactWriter 로 쓴 값을 같은 순서로 읽는다.
+public class CompactReader {
+
+    private final byte[] buffer;
+    private int position;
+
+    public CompactReader(byte[] buffer, int offset) {
+        this.buffer = buffer;
+        this.position = offset;
+    }
+
+    public int readByte() {
+        if (position >= buffer.length) {
+            throw new SerializationException("캐시 값이 예상보다 짧습니다.");
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    public boolean readBoolean() {
+        return readByte() != 0;
+    }
+
+    public long readVarLong() {
+        long zigzag = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            zigzag |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return (zigzag >>> 1) ^ -(zigzag & 1);
+            }
+        }
+        throw new SerializationException("잘못된 varint 입니다.");
+    }
+
+    public Long readNullableLong() {
+        return readBoolean() ? readVarLong() : null;
+    }
+
+    public Integer readNullableInt() {
+        return readBoolean() ? Math.toIntExact(readVarLong()) : null;
+    }
+
+    public String readString() {
+        byte[] bytes = readBytes();
+        return bytes == null ? null : new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public BigDecimal readBigDecimal() {
+        byte[] unscaled = readBytes();
+        if (unscaled == null) {
+            return null;
+        }
+        return new BigDecimal(new BigInteger(unscaled), Math.toIntExact(readVarLong()));
+    }
+
+    public LocalDateTime readDateTime() {
+        if (!readBoolean()) {
+            return null;
+        }
+        long epochSecond = readVarLong();
+        return LocalDateTime.ofEpochSecond(epochSecond, Math.toIntExact(readVarLong()), ZoneOffset.UTC);
+    }
+
+    private byte[] readBytes() {
+        long length = readVarLong() - 1;
+        if (length < 0) {
+            return null;
+        }
+        if (length > buffer.length - position) {
+            throw new SerializationException("캐시 값이 예상보다 짧습니다.");
+        }
+        byte[] bytes = Arrays.copyOfRange(buffer, position, position + (int) length);
+        position += (int) length;
+        return bytes;
+    }
+}
@@ -0,0 +1,69 @@
+package org.fortishop.productinventoryservice.global.cache.codec;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+// 등록된 타입은 [magic | tag | version | body] 바이너리로, 나머지는 fallback(JSON) 으로 직렬화한다.
+// magic 으로 시작하지 않는 값은 fallback 으로 읽으므로 기존 JSON 캐시 값과 섞여 있어도 된다.
+public class CompactRedisSerializer implements RedisSerializer<Object> {
+
+    static final byte MAGIC = (byte) 0xC7;
+    private static final int HEADER_SIZE = 3;
+
+    private final Map<Class<?>, ValueCodec<?>> byType = new HashMap<>();
+    private final ValueCodec<?>[] byTag = new ValueCodec<?>[256];
+    private final RedisSerializer<Object> fallback;
+
+    public CompactRedisSerializer(List<ValueCodec<?>> codecs, RedisSerializer<Object> fallback) {
+        this.fallback = fallback;
+        for (ValueCodec<?> codec : codecs) {
+            if (codec.tag() < 0 || codec.tag() > 255 || codec.version() < 1 || codec.version() > 255) {
+                throw new IllegalArgumentException("tag/version 은 1 byte 범위여야 합니다: " + codec.type());
+            }
+            if (byTag[codec.tag()] != null) {
+                throw new IllegalArgumentException("중복된 codec tag: " + codec.tag());
+            }
+            byTag[codec.tag()] = codec;
+            byType.put(codec.type(), codec);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public byte[] serialize(Object value) throws SerializationException {
+        ValueCodec<Object> codec = value == null ? null : (ValueCodec<Object>) byType.get(value.getClass());
+        if (codec == null) {
+            return fallback.serialize(value);
+        }
+        CompactWriter writer = new CompactWriter(128);
+        writer.writeByte(MAGIC);
+        writer.writeByte(codec.tag());
+        writer.writeByte(codec.version());
+        codec.write(value, writer);
+        return writer.toByteArray();
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0 || bytes[0] != MAGIC) {
+            return fallback.deserialize(bytes);
+        }
+        if (bytes.length < HEADER_SIZE) {
+            throw new SerializationException("캐시 값 헤더가 잘렸습니다.");
+        }
+        ValueCodec<?> codec = byTag[bytes[1] & 0xFF];
+        if (codec == null) {
+            throw new SerializationException("알 수 없는 캐시 값 tag: " + (bytes[1] & 0xFF));
+        }
+        int version = bytes[2] & 0xFF;
+        if (version > codec.version()) {
+            // 더 새 버전 노드가 쓴 값 (배포 중). miss 로 처리하도록 예외를 던진다.
+            throw new SerializationException("지원하지 않는 캐시 값 버전: type=" + codec.type().getSimpleName()
+                    + ", version=" + version);
+        }
+        return codec.read(new CompactReader(bytes, HEADER_SIZE), version);
+    }
+}
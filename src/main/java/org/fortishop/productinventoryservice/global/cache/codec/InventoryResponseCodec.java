@@ -0,0 +1,37 @@
+package org.fortishop.productinventoryservice.global.cache.codec;
+
+import org.fortishop.productinventoryservice.dto.response.InventoryResponse;
+import org.springframework.stereotype.Component;
+
+@Component
+public class InventoryResponseCodec implements ValueCodec<InventoryResponse> {
+
+    @Override
+    public int tag() {
+        return 1;
+    }
+
+    @Override
+    public int version() {
+        return 1;
+    }
+
+    @Override
+    public Class<InventoryResponse> type() {
+        return InventoryResponse.class;
+    }
+
+    @Override
+    public void write(InventoryResponse value, CompactWriter out) {
+        out.writeNullableLong(value.getProductId());
+        out.writeNullableInt(value.getQuantity());
+        out.writeNullableInt(value.getReservedQuantity());
+        out.writeDateTime(value.getLastUpdated());
+    }
+
+    @Override
+    public InventoryResponse read(CompactReader in, int version) {
+        return new InventoryResponse(in.readNullableLong(), in.readNullableInt(), in.readNullableInt(),
+                in.readDateTime());
+    }
+}
@@ -0,0 +1,41 @@
+package org.fortishop.productinventoryservice.global.cache.codec;
+
+import org.fortishop.productinventoryservice.dto.response.ProductResponse;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ProductResponseCodec implements ValueCodec<ProductResponse> {
+
+    @Override
+    public int tag() {
+        return 2;
+    }
+
+    @Override
+    public int version() {
+        return 1;
+    }
+
+    @Override
+    public Class<ProductResponse> type() {
+        return ProductResponse.class;
+    }
+
+    @Override
+    public void write(ProductResponse value, CompactWriter out) {
+        out.writeNullableLong(value.getId());
+        out.writeString(value.getName());
+        out.writeString(value.getDescription());
+        out.writeBigDecimal(value.getPrice());
+        out.writeString(value.getCategory());
+        out.writeString(value.getImageUrl());
+        out.writeBoolean(value.isActive());
+        out.writeDateTime(value.getCreatedAt());
+    }
+
+    @Override
+    public ProductResponse read(CompactReader in, int version) {
+        return new ProductResponse(in.readNullableLong(), in.readString(), in.readString(), in.readBigDecimal(),
+                in.readString(), in.readString(), in.readBoolean(), in.readDateTime());
+    }
+}
@@ -0,0 +1,17 @@
+package org.fortishop.productinventoryservice.global.cache.codec;
+
+// 캐시 값 타입별 바이너리 인코딩.
+// tag 는 저장된 값에 기록되므로 한 번 정하면 바꾸지 않고, 필드가 바뀌면 version 을 올리고 read 에서 이전 버전도 읽는다.
+public interface ValueCodec<T> {
+
+    int tag();
+
+    int version();
+
+    Class<T> type();
+
+    void write(T value, CompactWriter out);
+
+    // version: 값이 저장될 당시의 스키마 버전
+    T read(CompactReader in, int version);
+}
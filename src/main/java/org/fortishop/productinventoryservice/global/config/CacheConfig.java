@@ -0,0 +1,10 @@
+package org.fortishop.productinventoryservice.global.config;
+
+import org.fortishop.productinventoryservice.global.cache.CacheEvictEvent;
+import org.springframework.cloud.bus.jackson.RemoteApplicationEventScan;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@RemoteApplicationEventScan(basePackageClasses = CacheEvictEvent.class)
+public class CacheConfig {
+}
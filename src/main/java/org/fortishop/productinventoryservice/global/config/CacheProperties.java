@@ -0,0 +1,39 @@
+package org.fortishop.productinventoryservice.global.config;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "cache")
+public class CacheProperties {
+    private L1 l1 = new L1();
+    private EarlyRefresh earlyRefresh = new EarlyRefresh();
+    // Redis 값 직렬화 방식. COMPACT 는 등록된 응답 타입만 바이너리로 쓰고 기존 JSON 값도 읽는다.
+    private Codec codec = Codec.JSON;
+
+    @Getter
+    @Setter
+    public static class L1 {
+        private boolean enabled = true;
+        private long maxSize = 10_000;
+        // 다른 노드의 무효화 메시지를 놓쳐도 이 시간 이상 오래된 값을 내보내지 않는다.
+        private long ttlSeconds = 30;
+    }
+
+    @Getter
+    @Setter
+    public static class EarlyRefresh {
+        private boolean enabled = true;
+        // 남은 TTL 이 원래 TTL 의 이 비율 근처로 줄어들면 확률적으로 만료 전에 다시 읽어 채운다.
+        private double windowRatio = 0.1;
+    }
+
+    public enum Codec {
+        JSON,
+        COMPACT
+    }
+}
@@ -0,0 +1,112 @@
+package org.fortishop.productinventoryservice.global.config;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.fortishop.productinventoryservice.service.reservation.ReservationMode;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "inventory")
+public class InventoryProperties {
+    private Reservation reservation = new Reservation();
+    private Shard shard = new Shard();
+    private Lane lane = new Lane();
+    private GroupCommit groupCommit = new GroupCommit();
+    private Listener listener = new Listener();
+    private Dedupe dedupe = new Dedupe();
+    private Outbox outbox = new Outbox();
+    private Hold hold = new Hold();
+    private Bulk bulk = new Bulk();
+
+    @Getter
+    @Setter
+    public static class Reservation {
+        private ReservationMode mode = ReservationMode.LOCK;
+        // true 이면 order.created 한 건을 주문 단위(all-or-nothing)로 예약하고 결과 이벤트도 한 번만 발행
+        private boolean orderLevel = false;
+    }
+
+    @Getter
+    @Setter
+    public static class Shard {
+        private ShardSelection selection = ShardSelection.RANDOM;
+        private int maxCount = 64;
+    }
+
+    @Getter
+    @Setter
+    public static class Lane {
+        private int count = 16;
+        private int batchSize = 256;
+        private long awaitTimeoutMs = 5000;
+    }
+
+    @Getter
+    @Setter
+    public static class GroupCommit {
+        private int maxBatchSize = 200;
+        // 요청이 계속 들어올 때 한 batch 를 더 모으는 최대 시간. 큐가 비면 기다리지 않는다.
+        private long windowMs = 5;
+        private long awaitTimeoutMs = 5000;
+    }
+
+    @Getter
+    @Setter
+    public static class Listener {
+        private int concurrency = 4;
+        // true 이면 order.created 를 batch 로 poll 해서 productId 별 순서를 지키며 worker 들에 분배
+        private boolean batch = false;
+        private int maxPollRecords = 500;
+        private int workers = 16;
+    }
+
+    @Getter
+    @Setter
+    public static class Dedupe {
+        private boolean enabled = true;
+        private int localCapacity = 100_000;
+        private long ttlSeconds = 86_400;
+        // 처리 중 표시의 TTL. 처리 도중 노드가 죽어도 이 시간이 지나면 재전달된 이벤트를 다시 처리한다.
+        private long inProgressTtlSeconds = 60;
+        // 다른 곳에서 처리 중인 이벤트의 결과를 확인하는 간격
+        private long pollIntervalMs = 100;
+    }
+
+    @Getter
+    @Setter
+    public static class Outbox {
+        private boolean enabled = false;
+        private int batchSize = 500;
+        private long sendTimeoutMs = 10_000;
+        private long retentionHours = 24;
+    }
+
+    @Getter
+    @Setter
+    public static class Hold {
+        // true 이면 예약 수량을 hold 로 기록하고 결제 완료 시 확정, 결제 실패/만료 시 재고로 되돌린다.
+        private boolean enabled = false;
+        private long ttlSeconds = 900;
+        private long tickMs = 100;
+        private int wheelSize = 512;
+        private int wheelLevels = 4;
+        // 타이머 휠은 이 노드가 만든 hold 만 알므로, 만료 시각이 지난 HELD hold 를 DB 에서 주기적으로 찾아 만료시킨다.
+        private long sweepIntervalMs = 30_000;
+        private int sweepBatchSize = 1000;
+    }
+
+    @Getter
+    @Setter
+    public static class Bulk {
+        // 한 번의 일괄 재고 조회에 받을 수 있는 최대 상품 수
+        private int maxSize = 100;
+    }
+
+    public enum ShardSelection {
+        RANDOM,
+        ROUND_ROBIN
+    }
+}
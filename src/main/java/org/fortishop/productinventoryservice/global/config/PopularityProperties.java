@@ -0,0 +1,45 @@
+package org.fortishop.productinventoryservice.global.config;
+
+import java.util.List;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "product.popularity")
+public class PopularityProperties {
+    // 랭킹에 합산할 최근 시간 버킷 수
+    private int windowHours = 24;
+    // 한 시간 지날 때마다 곱해지는 가중치 (현재 시간 버킷 = 1.0)
+    private double hourlyDecay = 0.8;
+    // 랭킹 ZSET 에 남길 상위 상품 수
+    private int maxRankingSize = 1000;
+    // 인기 상품 목록을 어디서 읽을지 (RANKING: Redis 랭킹 ZSET, SKETCH: 인스턴스 내 Count-Min Sketch)
+    private Source source = Source.RANKING;
+    private Sketch sketch = new Sketch();
+    // 인기 상품 응답을 미리 직렬화해 둘 limit 값들
+    private List<Integer> responseBuckets = List.of(10, 20, 50);
+    private long responseTtlSeconds = 300;
+
+    @Getter
+    @Setter
+    public static class Sketch {
+        private int depth = 4;
+        // 2의 거듭제곱, 메모리 = depth * width * 8 bytes
+        private int width = 8192;
+        // 후보로 유지할 상위 상품 수
+        private int topK = 100;
+        // 이 주기마다 모든 카운터를 절반으로 줄인다.
+        private long halfLifeMinutes = 60;
+        // 이 시간 동안 sketch 를 올리지 않은 노드는 병합에서 제외
+        private long nodeTtlSeconds = 60;
+    }
+
+    public enum Source {
+        RANKING,
+        SKETCH
+    }
+}
@@ -1,11 +1,15 @@
 package org.fortishop.productinventoryservice.global.config;
 
+import java.util.List;
+import org.fortishop.productinventoryservice.global.cache.codec.CompactRedisSerializer;
+import org.fortishop.productinventoryservice.global.cache.codec.ValueCodec;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 @Configuration
@@ -13,13 +17,24 @@ public class RedisConfig {
 
     @Bean
     @Primary
-    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
+    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory,
+                                                       CacheProperties cacheProperties,
+                                                       List<ValueCodec<?>> valueCodecs) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
         template.setKeySerializer(new StringRedisSerializer());
-        template.setValueSerializer(new GenericJackson2JsonRedisSerializer());
+        template.setValueSerializer(valueSerializer(cacheProperties, valueCodecs));
         template.setHashKeySerializer(new StringRedisSerializer());
         template.setHashValueSerializer(new GenericJackson2JsonRedisSerializer());
         return template;
     }
+
+    // 배포 중에는 JSON 노드가 COMPACT 값을 읽지 못하므로, 모든 노드가 COMPACT 를 읽을 수 있게 된 뒤에 켠다.
+    private RedisSerializer<Object> valueSerializer(CacheProperties cacheProperties, List<ValueCodec<?>> valueCodecs) {
+        GenericJackson2JsonRedisSerializer json = new GenericJackson2JsonRedisSerializer();
+        if (cacheProperties.getCodec() == CacheProperties.Codec.COMPACT) {
+            return new CompactRedisSerializer(valueCodecs, json);
+        }
+        return json;
+    }
 }
@@ -0,0 +1,30 @@
+package org.fortishop.productinventoryservice.global.config;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "search.indexing")
+public class SearchIndexingProperties {
+    // 같은 상품의 변경은 이 시간 동안 하나로 합쳐져 다음 bulk 요청에 실린다.
+    private long windowMs = 200;
+    // 대기 중인 상품이 이만큼 쌓이면 window 를 기다리지 않고 바로 보낸다.
+    private int maxBatchSize = 500;
+    // 매핑 오류 등 문서 자체가 거부된 경우의 최대 시도 횟수. ES 장애로 인한 실패는 제한 없이 재시도한다.
+    private int maxAttempts = 5;
+    // 실패한 문서는 retryBackoffMs * 2^(시도 횟수 - 1) 뒤에 다시 보낸다.
+    private long retryBackoffMs = 1000;
+    private long maxRetryBackoffMs = 30_000;
+    // 노드 재시작 등으로 잃은 변경을 updated_at 기준으로 다시 색인하는 주기
+    private boolean reconcileEnabled = true;
+    private long reconcileIntervalMs = 300_000;
+    // 워터마크가 없을 때(최초 실행) 거슬러 올라가 다시 색인할 범위
+    private long reconcileLookbackMs = 3_600_000;
+    private int reconcileBatchSize = 500;
+    // 각 노드가 자기 큐의 가장 오래된 대기 변경 시각을 Redis 에 보고하는 주기. 워터마크는 모든 노드의 보고값을 넘지 않는다.
+    private long reconcileHeartbeatMs = 10_000;
+}
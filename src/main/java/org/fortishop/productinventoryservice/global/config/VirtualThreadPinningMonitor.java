@@ -0,0 +1,69 @@
+package org.fortishop.productinventoryservice.global.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+// 가상 스레드 모드에서 carrier 를 고정(pinning)한 구간을 JFR jdk.VirtualThreadPinned 이벤트로 받아
+// jvm.threads.virtual.pinned 지표로 남기고, 어디서 고정됐는지 가장 안쪽 프레임을 로그로 남긴다.
+@Slf4j
+@Component
+public class VirtualThreadPinningMonitor implements DisposableBean {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    // 짧은 고정은 흔하고 해가 없으므로 이 시간 이상 carrier 를 잡은 경우만 기록한다.
+    private static final Duration THRESHOLD = Duration.ofMillis(20);
+
+    private final RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(WorkerThreadFactory workerThreadFactory, MeterRegistry meterRegistry) {
+        if (!workerThreadFactory.isVirtual()) {
+            this.stream = null;
+            return;
+        }
+        Counter pinned = meterRegistry.counter("jvm.threads.virtual.pinned");
+        Timer pinnedDuration = meterRegistry.timer("jvm.threads.virtual.pinned.duration");
+        this.stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(THRESHOLD).withStackTrace();
+        stream.onEvent(PINNED_EVENT, event -> {
+            pinned.increment();
+            pinnedDuration.record(event.getDuration());
+            log.warn("⚠️ 가상 스레드 pinning: duration={}ms, at={}", event.getDuration().toMillis(), topFrame(event));
+        });
+        stream.startAsync();
+        log.info("🧵 가상 스레드 pinning 감시 시작: threshold={}ms", THRESHOLD.toMillis());
+    }
+
+    @Override
+    public void destroy() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    // 스택 맨 위는 park 같은 JDK 내부 프레임이므로, 애플리케이션/라이브러리의 첫 프레임을 보여준다.
+    private static String topFrame(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "unknown";
+        }
+        RecordedFrame top = stackTrace.getFrames().stream()
+                .filter(frame -> frame.isJavaFrame() && !isJdkFrame(frame))
+                .findFirst()
+                .orElse(stackTrace.getFrames().get(0));
+        return top.getMethod().getType().getName() + "." + top.getMethod().getName() + ":" + top.getLineNumber();
+    }
+
+    private static boolean isJdkFrame(RecordedFrame frame) {
+        String type = frame.getMethod().getType().getName();
+        return type.startsWith("java.") || type.startsWith("jdk.") || type.startsWith("sun.");
+    }
+}
@@ -0,0 +1,39 @@
+package org.fortishop.productinventoryservice.global.config;
+
+import java.util.concurrent.ThreadFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+
+// spring.threads.virtual.enabled 를 따라 내부 worker(lane, group commit, listener worker) 스레드를 가상 스레드로 만든다.
+@Component
+public class WorkerThreadFactory {
+
+    private final boolean virtual;
+
+    public WorkerThreadFactory(@Value("${spring.threads.virtual.enabled:false}") boolean virtual) {
+        this.virtual = virtual;
+    }
+
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    public ThreadFactory named(String name) {
+        if (virtual) {
+            return Thread.ofVirtual().name(name).factory();
+        }
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    // Kafka listener container 의 consumer 스레드용 executor
+    public SimpleAsyncTaskExecutor taskExecutor(String prefix) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(prefix);
+        executor.setVirtualThreads(virtual);
+        return executor;
+    }
+}
@@ -1,10 +1,13 @@
 package org.fortishop.productinventoryservice.kafka;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.fortishop.productinventoryservice.dto.event.InventoryFailedEvent;
 import org.fortishop.productinventoryservice.dto.event.InventoryReservedEvent;
+import org.fortishop.productinventoryservice.dto.event.OrderItemInfo;
+import org.fortishop.productinventoryservice.global.config.InventoryProperties;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
@@ -14,6 +17,8 @@ import org.springframework.stereotype.Component;
 public class InventoryEventProducer {
 
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final InventoryOutboxWriter inventoryOutboxWriter;
+    private final InventoryProperties inventoryProperties;
 
     public void sendInventoryReserved(Long orderId, Long productId, String traceId) {
         InventoryReservedEvent event = InventoryReservedEvent.builder()
@@ -24,7 +29,7 @@ public class InventoryEventProducer {
                 .traceId(traceId)
                 .build();
         try {
-            kafkaTemplate.send("inventory.reserved", orderId.toString(), event);
+            send("inventory.reserved", orderId.toString(), event, false);
             log.info("[Kafka] Sent delivery.started: {}", event);
         } catch (Exception e) {
             log.error("[Kafka] Failed to serialize inventory.reserved", e);
@@ -40,10 +45,53 @@ public class InventoryEventProducer {
                 .traceId(traceId)
                 .build();
         try {
-            kafkaTemplate.send("inventory.failed", orderId.toString(), event);
+            send("inventory.failed", orderId.toString(), event, true);
             log.info("[Kafka] Sent delivery.completed: {}", event);
         } catch (Exception e) {
             log.error("[Kafka] Failed to serialize inventory.failed event", e);
         }
     }
+
+    public void sendOrderInventoryReserved(Long orderId, List<OrderItemInfo> items, String traceId) {
+        InventoryReservedEvent event = InventoryReservedEvent.builder()
+                .orderId(orderId)
+                .items(items)
+                .reserved(true)
+                .timestamp(LocalDateTime.now().toString())
+                .traceId(traceId)
+                .build();
+        try {
+            send("inventory.reserved", orderId.toString(), event, false);
+            log.info("[Kafka] Sent inventory.reserved (order): {}", event);
+        } catch (Exception e) {
+            log.error("[Kafka] Failed to serialize inventory.reserved", e);
+        }
+    }
+
+    public void sendOrderInventoryFailed(Long orderId, List<OrderItemInfo> items, String reason, String traceId) {
+        InventoryFailedEvent event = InventoryFailedEvent.builder()
+                .orderId(orderId)
+                .items(items)
+                .reason(reason)
+                .timestamp(LocalDateTime.now().toString())
+                .traceId(traceId)
+                .build();
+        try {
+            send("inventory.failed", orderId.toString(), event, true);
+            log.info("[Kafka] Sent inventory.failed (order): {}", event);
+        } catch (Exception e) {
+            log.error("[Kafka] Failed to serialize inventory.failed event", e);
+        }
+    }
+
+    // outbox 모드에서는 Kafka 대신 outbox 테이블에 기록하고 relay 가 발행한다.
+    private void send(String topic, String key, Object event, boolean failure) {
+        if (!inventoryProperties.getOutbox().isEnabled()) {
+            kafkaTemplate.send(topic, key, event);
+        } else if (failure) {
+            inventoryOutboxWriter.appendAfterCompletion(topic, key, event);
+        } else {
+            inventoryOutboxWriter.append(topic, key, event);
+        }
+    }
 }
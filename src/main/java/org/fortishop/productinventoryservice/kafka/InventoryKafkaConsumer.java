@@ -1,11 +1,23 @@
 package org.fortishop.productinventoryservice.kafka;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.fortishop.productinventoryservice.dto.event.OrderCreatedEvent;
+import org.fortishop.productinventoryservice.dto.event.OrderItemInfo;
+import org.fortishop.productinventoryservice.dto.event.PaymentCompletedEvent;
 import org.fortishop.productinventoryservice.dto.event.PaymentFailedEvent;
-import org.fortishop.productinventoryservice.service.InventoryService;
+import org.fortishop.productinventoryservice.global.config.InventoryProperties;
+import org.fortishop.productinventoryservice.service.InventoryHoldService;
+import org.fortishop.productinventoryservice.service.StockReservationService;
+import org.fortishop.productinventoryservice.service.reservation.ReservationItems;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
 
@@ -14,16 +26,17 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class InventoryKafkaConsumer {
 
-    private final InventoryService inventoryService;
+    private final StockReservationService stockReservationService;
+    private final InventoryProperties inventoryProperties;
+    private final KeyOrderedExecutor keyOrderedExecutor;
+    private final InventoryHoldService inventoryHoldService;
 
-    @KafkaListener(topics = "order.created", groupId = "inventory-group", containerFactory = "orderCreatedListenerContainerFactory", concurrency = "4")
+    @KafkaListener(topics = "order.created", groupId = "inventory-group", containerFactory = "orderCreatedListenerContainerFactory",
+            concurrency = "${inventory.listener.concurrency:4}", autoStartup = "#{!${inventory.listener.batch:false}}")
     public void handleOrderCreated(OrderCreatedEvent event, Acknowledgment ack) {
         try {
             log.info("[Kafka] Received order.created: orderId={}, traceId={}", event.getOrderId(), event.getTraceId());
-            event.getItems().forEach(item ->
-                    inventoryService.decreaseStockWithLock(event.getOrderId(), item.getProductId(), item.getQuantity(),
-                            event.getTraceId())
-            );
+            reserve(event);
             ack.acknowledge();
         } catch (Exception e) {
             log.error("처리 실패: order.created", e);
@@ -31,14 +44,35 @@ public class InventoryKafkaConsumer {
         }
     }
 
+    // 같은 상품의 주문은 순서대로, 다른 상품의 주문은 병렬로 처리하고, 실패가 있으면 가장 앞선 실패 직전까지만 커밋
+    @KafkaListener(topics = "order.created", groupId = "inventory-group", containerFactory = "orderCreatedBatchListenerContainerFactory",
+            concurrency = "${inventory.listener.concurrency:4}", autoStartup = "${inventory.listener.batch:false}")
+    public void handleOrderCreatedBatch(List<ConsumerRecord<String, OrderCreatedEvent>> records, Acknowledgment ack) {
+        log.info("[Kafka] Received order.created batch: size={}", records.size());
+        List<CompletableFuture<Void>> results = records.stream()
+                .map(record -> keyOrderedExecutor.submit(orderingKeys(record), () -> reserve(record.value())))
+                .toList();
+
+        for (int i = 0; i < results.size(); i++) {
+            try {
+                results.get(i).join();
+            } catch (Exception e) {
+                // 나머지 작업이 끝난 뒤 실패 지점부터 재전달 (이후 성공분도 다시 들어오므로 멱등 처리에 의존)
+                results.forEach(result -> result.exceptionally(ex -> null).join());
+                log.error("처리 실패: order.created batch index={}", i, e);
+                throw new BatchListenerFailedException("order.created 처리 실패", e.getCause(), i);
+            }
+        }
+        ack.acknowledge();
+    }
+
     @KafkaListener(topics = "payment.failed", groupId = "inventory-group", containerFactory = "paymentFailedListenerContainerFactory")
     public void handleInventoryRestore(PaymentFailedEvent event, Acknowledgment ack) {
         try {
             log.info("[Kafka] Received payment.failed, restore inventory: orderId={}, traceId={}", event.getOrderId(),
                     event.getTraceId());
-            event.getItems().forEach(item ->
-                    inventoryService.restoreStock(event.getOrderId(), item.getProductId(), item.getQuantity(),
-                            event.getTraceId())
+            ReservationItems.sortedQuantities(event.getItems()).forEach((productId, quantity) ->
+                    stockReservationService.restore(event.getOrderId(), productId, quantity, event.getTraceId())
             );
             ack.acknowledge();
         } catch (Exception e) {
@@ -47,6 +81,42 @@ public class InventoryKafkaConsumer {
         }
     }
 
+    @KafkaListener(topics = "payment.completed", groupId = "inventory-group", containerFactory = "paymentCompletedListenerContainerFactory",
+            autoStartup = "${inventory.hold.enabled:false}")
+    public void handlePaymentCompleted(PaymentCompletedEvent event, Acknowledgment ack) {
+        try {
+            log.info("[Kafka] Received payment.completed, confirm hold: orderId={}, traceId={}", event.getOrderId(),
+                    event.getTraceId());
+            inventoryHoldService.confirm(event.getOrderId());
+            ack.acknowledge();
+        } catch (Exception e) {
+            log.error("처리 실패: payment.completed", e);
+            throw e;
+        }
+    }
+
+    private void reserve(OrderCreatedEvent event) {
+        if (inventoryProperties.getReservation().isOrderLevel()) {
+            stockReservationService.reserveOrder(event);
+        } else {
+            // 중복 판단 키가 (주문, 상품) 단위이므로 같은 상품의 주문 라인은 수량을 합쳐 한 번에 예약한다.
+            ReservationItems.sortedQuantities(event.getItems()).forEach((productId, quantity) ->
+                    stockReservationService.reserve(event.getOrderId(), productId, quantity, event.getTraceId())
+            );
+        }
+    }
+
+    // 주문에 담긴 모든 상품을 key 로 써서, 상품이 하나라도 겹치는 주문끼리는 도착 순서대로 처리한다.
+    private Collection<?> orderingKeys(ConsumerRecord<String, OrderCreatedEvent> record) {
+        OrderCreatedEvent event = record.value();
+        if (event.getItems() != null && !event.getItems().isEmpty()) {
+            return event.getItems().stream()
+                    .map(OrderItemInfo::getProductId)
+                    .collect(Collectors.toCollection(TreeSet::new));
+        }
+        return List.of(record.key() != null ? record.key() : event.getOrderId());
+    }
+
     @KafkaListener(topics = "order.created.dlq", groupId = "inventory-dlq-group")
     public void handleDlq(OrderCreatedEvent event) {
         log.error("[DLQ 메시지 확인] order.created 처리 실패 : {}", event);
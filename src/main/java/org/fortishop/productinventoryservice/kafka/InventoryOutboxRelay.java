@@ -0,0 +1,146 @@
+package org.fortishop.productinventoryservice.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.fortishop.productinventoryservice.Repository.InventoryOutboxRepository;
+import org.fortishop.productinventoryservice.domain.InventoryOutbox;
+import org.fortishop.productinventoryservice.dto.event.InventoryFailedEvent;
+import org.fortishop.productinventoryservice.dto.event.InventoryReservedEvent;
+import org.fortishop.productinventoryservice.global.config.InventoryProperties;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// outbox 에 쌓인 이벤트를 id 순서대로 batch 발행하고 발행 확인된 구간까지 sent 처리한다.
+// 노드 간 순서가 섞이지 않도록 relay 는 Redisson 락을 잡은 노드 하나만 수행
+@Slf4j
+@Component
+public class InventoryOutboxRelay {
+
+    private static final String RELAY_LOCK_KEY = "lock:inventory:outbox-relay";
+    private static final Map<String, Class<?>> PAYLOAD_TYPES = Map.of(
+            InventoryReservedEvent.class.getSimpleName(), InventoryReservedEvent.class,
+            InventoryFailedEvent.class.getSimpleName(), InventoryFailedEvent.class
+    );
+
+    private final InventoryOutboxRepository inventoryOutboxRepository;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final RedissonClient redissonClient;
+    private final ObjectMapper objectMapper;
+    private final InventoryProperties.Outbox properties;
+    private final MeterRegistry meterRegistry;
+    private final AtomicLong pending = new AtomicLong();
+
+    public InventoryOutboxRelay(InventoryOutboxRepository inventoryOutboxRepository,
+                                KafkaTemplate<String, Object> kafkaTemplate, RedissonClient redissonClient,
+                                ObjectMapper objectMapper, InventoryProperties inventoryProperties,
+                                MeterRegistry meterRegistry) {
+        this.inventoryOutboxRepository = inventoryOutboxRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.redissonClient = redissonClient;
+        this.objectMapper = objectMapper;
+        this.properties = inventoryProperties.getOutbox();
+        this.meterRegistry = meterRegistry;
+        // scrape 마다 COUNT(*) 를 날리지 않도록 주기적으로 갱신한 값을 노출
+        Gauge.builder("inventory.outbox.pending", pending, AtomicLong::get)
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.outbox.pending-refresh-ms:10000}")
+    public void refreshPending() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        pending.set(inventoryOutboxRepository.countBySentAtIsNull());
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.outbox.relay-interval-ms:200}")
+    public void relay() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        RLock lock = redissonClient.getLock(RELAY_LOCK_KEY);
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            List<InventoryOutbox> batch = inventoryOutboxRepository.findBySentAtIsNullOrderByIdAsc(
+                    PageRequest.of(0, properties.getBatchSize()));
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            List<CompletableFuture<SendResult<String, Object>>> futures = new ArrayList<>(batch.size());
+            for (InventoryOutbox outbox : batch) {
+                Object event = decode(outbox);
+                // 복원할 수 없는 이벤트는 재시도해도 발행될 수 없으므로 건너뛰고 sent 처리
+                futures.add(event == null
+                        ? CompletableFuture.completedFuture(null)
+                        : kafkaTemplate.send(outbox.getTopic(), outbox.getMessageKey(), event));
+            }
+
+            // 앞에서부터 발행이 확인된 연속 구간만 sent 처리 (실패 지점부터 다음 주기에 다시 발행)
+            List<Long> sentIds = new ArrayList<>(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                try {
+                    futures.get(i).get(properties.getSendTimeoutMs(), TimeUnit.MILLISECONDS);
+                    sentIds.add(batch.get(i).getId());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                } catch (Exception e) {
+                    log.error("❌ outbox 이벤트 발행 실패: id={}, topic={}", batch.get(i).getId(),
+                            batch.get(i).getTopic(), e);
+                    break;
+                }
+            }
+
+            if (!sentIds.isEmpty()) {
+                inventoryOutboxRepository.markSent(sentIds, LocalDateTime.now());
+                meterRegistry.counter("inventory.outbox.published").increment(sentIds.size());
+                log.debug("📤 outbox 이벤트 발행: {}건", sentIds.size());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Scheduled(cron = "0 0 * * * *")
+    public void purgeSent() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        int deleted = inventoryOutboxRepository.deleteSentBefore(
+                LocalDateTime.now().minusHours(properties.getRetentionHours()));
+        if (deleted > 0) {
+            log.info("🧹 발행 완료된 outbox 이벤트 정리: {}건", deleted);
+        }
+    }
+
+    private Object decode(InventoryOutbox outbox) {
+        Class<?> type = PAYLOAD_TYPES.get(outbox.getPayloadType());
+        try {
+            if (type == null) {
+                throw new IllegalArgumentException("알 수 없는 이벤트 타입: " + outbox.getPayloadType());
+            }
+            return objectMapper.readValue(outbox.getPayload(), type);
+        } catch (Exception e) {
+            log.error("❌ outbox 이벤트 복원 실패, 발행하지 않고 건너뜀: id={}, payload={}", outbox.getId(),
+                    outbox.getPayload(), e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package org.fortishop.productinventoryservice.kafka;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.fortishop.productinventoryservice.Repository.InventoryOutboxRepository;
+import org.fortishop.productinventoryservice.domain.InventoryOutbox;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Component
+public class InventoryOutboxWriter {
+
+    private final InventoryOutboxRepository inventoryOutboxRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate independentTransaction;
+    private final Counter afterCompletionFailures;
+
+    public InventoryOutboxWriter(InventoryOutboxRepository inventoryOutboxRepository, ObjectMapper objectMapper,
+                                 PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.inventoryOutboxRepository = inventoryOutboxRepository;
+        this.objectMapper = objectMapper;
+        this.afterCompletionFailures = meterRegistry.counter("inventory.outbox.append.failures",
+                "phase", "after-completion");
+        this.independentTransaction = new TransactionTemplate(transactionManager);
+        independentTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // 재고 변경과 같은 트랜잭션에 기록 (롤백되면 이벤트도 사라진다)
+    @Transactional
+    public void append(String topic, String key, Object event) {
+        inventoryOutboxRepository.save(toOutbox(topic, key, event));
+    }
+
+    // 실패 이벤트는 재고 변경 트랜잭션이 롤백돼도 남아야 한다. 진행 중인 트랜잭션 안에서 새 트랜잭션을 열면
+    // row lock 을 쥔 채 커넥션을 하나 더 기다리게 되므로, 바깥 트랜잭션이 끝난 뒤에 기록한다.
+    // 이 기록은 재고 변경과 원자적이지 않다. 기록 전에 노드가 죽거나 기록이 실패하면 실패 이벤트가 빠지므로,
+    // afterCompletion 의 예외는 Spring 이 로그만 남기고 삼키기 전에 잡아 payload 와 함께 남기고 지표로 센다.
+    public void appendAfterCompletion(String topic, String key, Object event) {
+        InventoryOutbox outbox = toOutbox(topic, key, event);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            inventoryOutboxRepository.save(outbox);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                // 끝난 트랜잭션에 참여하지 않도록 새 트랜잭션으로 기록
+                try {
+                    independentTransaction.executeWithoutResult(ignored -> inventoryOutboxRepository.save(outbox));
+                } catch (Exception e) {
+                    afterCompletionFailures.increment();
+                    log.error("❌ 실패 이벤트 outbox 기록 실패, 이벤트가 발행되지 않습니다: topic={}, key={}, payload={}",
+                            outbox.getTopic(), outbox.getMessageKey(), outbox.getPayload(), e);
+                }
+            }
+        });
+    }
+
+    private InventoryOutbox toOutbox(String topic, String key, Object event) {
+        try {
+            return InventoryOutbox.builder()
+                    .topic(topic)
+                    .messageKey(key)
+                    .payloadType(event.getClass().getSimpleName())
+                    .payload(objectMapper.writeValueAsString(event))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("outbox 이벤트 직렬화 실패: " + topic, e);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package org.fortishop.productinventoryservice.kafka;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+import org.fortishop.productinventoryservice.global.config.InventoryProperties;
+import org.fortishop.productinventoryservice.global.config.WorkerThreadFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+// 같은 key 는 항상 같은 worker 에서 순서대로, 다른 key 는 병렬로 처리한다.
+@Component
+public class KeyOrderedExecutor implements DisposableBean {
+
+    private final List<ExecutorService> workers = new ArrayList<>();
+    // consumer 스레드가 가상 스레드일 때 carrier 를 고정(pinning)하지 않도록 synchronized 대신 사용
+    private final ReentrantLock registration = new ReentrantLock();
+
+    public KeyOrderedExecutor(InventoryProperties inventoryProperties, WorkerThreadFactory workerThreadFactory) {
+        for (int i = 0; i < inventoryProperties.getListener().getWorkers(); i++) {
+            workers.add(Executors.newSingleThreadExecutor(workerThreadFactory.named("order-created-worker-" + i)));
+        }
+    }
+
+    public CompletableFuture<Void> submit(Object key, Runnable task) {
+        return submit(List.of(key), task);
+    }
+
+    // 여러 key 에 걸친 작업은 해당 worker 들의 앞선 작업이 모두 끝난 뒤 실행하고, 끝날 때까지 그 worker 들의 다음 작업을 막는다.
+    // 등록을 직렬화해 모든 worker 의 큐가 같은 순서를 따르므로 서로를 기다리며 멈추지 않는다.
+    public CompletableFuture<Void> submit(Collection<?> keys, Runnable task) {
+        List<ExecutorService> targets = keys.stream().map(this::workerOf).distinct().toList();
+        registration.lock();
+        try {
+            if (targets.size() == 1) {
+                return CompletableFuture.runAsync(task, targets.get(0));
+            }
+
+            CompletableFuture<Void> released = new CompletableFuture<>();
+            List<CompletableFuture<Void>> arrived = new ArrayList<>();
+            for (ExecutorService worker : targets.subList(1, targets.size())) {
+                CompletableFuture<Void> barrier = new CompletableFuture<>();
+                worker.execute(() -> {
+                    barrier.complete(null);
+                    released.join();
+                });
+                arrived.add(barrier);
+            }
+            return CompletableFuture.runAsync(() -> {
+                CompletableFuture.allOf(arrived.toArray(CompletableFuture[]::new)).join();
+                task.run();
+            }, targets.get(0)).whenComplete((result, error) -> released.complete(null));
+        } finally {
+            registration.unlock();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        workers.forEach(ExecutorService::shutdown);
+    }
+
+    private ExecutorService workerOf(Object key) {
+        return workers.get(Math.floorMod(key.hashCode(), workers.size()));
+    }
+}
@@ -9,7 +9,10 @@ import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.fortishop.productinventoryservice.dto.event.OrderCreatedEvent;
+import org.fortishop.productinventoryservice.dto.event.PaymentCompletedEvent;
 import org.fortishop.productinventoryservice.dto.event.PaymentFailedEvent;
+import org.fortishop.productinventoryservice.global.config.InventoryProperties;
+import org.fortishop.productinventoryservice.global.config.WorkerThreadFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
@@ -30,6 +33,8 @@ import org.springframework.util.backoff.FixedBackOff;
 public class KafkaConsumerConfig {
 
     private final KafkaProperties kafkaProperties;
+    private final InventoryProperties inventoryProperties;
+    private final WorkerThreadFactory workerThreadFactory;
 
     @Bean
     public KafkaTemplate<String, Object> kafkaTemplate() {
@@ -54,18 +59,39 @@ public class KafkaConsumerConfig {
         return createListenerContainerFactory(OrderCreatedEvent.class, "order.created.dlq", kafkaTemplate);
     }
 
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, OrderCreatedEvent> orderCreatedBatchListenerContainerFactory(
+            KafkaTemplate<String, Object> kafkaTemplate) {
+        ConcurrentKafkaListenerContainerFactory<String, OrderCreatedEvent> factory =
+                createListenerContainerFactory(OrderCreatedEvent.class, "order.created.dlq", kafkaTemplate);
+        factory.setConsumerFactory(createConsumerFactory(OrderCreatedEvent.class,
+                Map.of(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, inventoryProperties.getListener().getMaxPollRecords())));
+        factory.setBatchListener(true);
+        return factory;
+    }
+
     @Bean
     public ConcurrentKafkaListenerContainerFactory<String, PaymentFailedEvent> paymentFailedListenerContainerFactory(
             KafkaTemplate<String, Object> kafkaTemplate) {
         return createListenerContainerFactory(PaymentFailedEvent.class, "payment.failed.dlq", kafkaTemplate);
     }
 
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, PaymentCompletedEvent> paymentCompletedListenerContainerFactory(
+            KafkaTemplate<String, Object> kafkaTemplate) {
+        return createListenerContainerFactory(PaymentCompletedEvent.class, "payment.completed.dlq", kafkaTemplate);
+    }
+
     private <T> ConcurrentKafkaListenerContainerFactory<String, T> createListenerContainerFactory(Class<T> valueType,
                                                                                                   String dlqTopic,
                                                                                                   KafkaTemplate<String, Object> kafkaTemplate) {
         ConcurrentKafkaListenerContainerFactory<String, T> factory = new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(createConsumerFactory(valueType));
         factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        if (workerThreadFactory.isVirtual()) {
+            // 직접 만든 factory 는 Boot 자동 설정이 적용되지 않으므로 consumer 스레드를 직접 가상 스레드로 지정
+            factory.getContainerProperties().setListenerTaskExecutor(workerThreadFactory.taskExecutor(valueType.getSimpleName() + "-consumer-"));
+        }
 
         DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(
                 kafkaTemplate,
@@ -78,7 +104,11 @@ public class KafkaConsumerConfig {
     }
 
     private <T> ConsumerFactory<String, T> createConsumerFactory(Class<T> valueType) {
-        Map<String, Object> props = new HashMap<>();
+        return createConsumerFactory(valueType, Map.of());
+    }
+
+    private <T> ConsumerFactory<String, T> createConsumerFactory(Class<T> valueType, Map<String, Object> overrides) {
+        Map<String, Object> props = new HashMap<>(overrides);
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaProperties.getBootstrapServers());
         props.put(ConsumerConfig.GROUP_ID_CONFIG, kafkaProperties.getConsumer().getGroupId());
         props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, kafkaProperties.getConsumer().getAutoOffsetReset());
@@ -0,0 +1,17 @@
+package org.fortishop.productinventoryservice.service;
+
+public interface EventDedupeService {
+
+    String ORDER_CREATED = "order.created";
+    String PAYMENT_FAILED = "payment.failed";
+
+    // 처음 보는 이벤트면 처리 중으로 표시하고 true, 이미 처리된 이벤트면 false.
+    // 다른 곳에서 처리 중이면 그 처리가 끝나거나 표시가 만료될 때까지 기다린다.
+    boolean tryAcquire(String eventType, Long orderId, Long productId);
+
+    // 처리(트랜잭션 커밋)까지 끝난 이벤트를 ttl 동안 중복으로 판단하도록 확정
+    void complete(String eventType, Long orderId, Long productId);
+
+    // 처리 중 예외가 나면 재시도될 수 있도록 키를 반납
+    void release(String eventType, Long orderId, Long productId);
+}
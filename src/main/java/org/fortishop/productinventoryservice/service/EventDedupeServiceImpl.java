@@ -0,0 +1,194 @@
+package org.fortishop.productinventoryservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.fortishop.productinventoryservice.global.config.InventoryProperties;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+
+// 노드 로컬 LRU 로 대부분의 재전달을 걸러내고, Redis SET NX + TTL 로 리밸런스 후 다른 노드에 들어온 중복까지 막는다.
+// Redis 키는 처음에 짧은 TTL 의 처리 중(processing) 상태로 잡고, 처리가 커밋된 뒤 complete 로 전체 TTL 의 완료 상태로 바꾼다.
+// 처리 도중 노드가 죽으면 처리 중 표시가 만료되어, 재전달된 이벤트가 중복으로 버려지지 않고 다시 처리된다.
+@Slf4j
+@Service
+public class EventDedupeServiceImpl implements EventDedupeService {
+
+    private static final String KEY_PREFIX = "inventory:dedupe:";
+    private static final String ORDER_SCOPE = "order";
+    private static final String PROCESSING = "processing";
+    private static final String DONE = "done";
+    // LinkedHashMap.Entry + String + Long 객체 오버헤드 대략치 (키 문자 수는 별도 합산)
+    private static final int ENTRY_OVERHEAD_BYTES = 120;
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final InventoryProperties.Dedupe properties;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, Long> recent;
+    private final Counter accepted;
+    private final Counter localDuplicates;
+    private final Counter redisDuplicates;
+    private final Counter inProgressWaits;
+    private long keyChars;
+
+    public EventDedupeServiceImpl(RedisTemplate<String, String> redisTemplate, InventoryProperties inventoryProperties,
+                                  MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.properties = inventoryProperties.getDedupe();
+        int capacity = properties.getLocalCapacity();
+        this.recent = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                if (size() > capacity) {
+                    keyChars -= eldest.getKey().length();
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.accepted = meterRegistry.counter("inventory.dedupe.checks", "result", "accepted", "source", "none");
+        this.localDuplicates = meterRegistry.counter("inventory.dedupe.checks", "result", "duplicate", "source", "local");
+        this.redisDuplicates = meterRegistry.counter("inventory.dedupe.checks", "result", "duplicate", "source", "redis");
+        this.inProgressWaits = meterRegistry.counter("inventory.dedupe.in-progress.waits");
+        Gauge.builder("inventory.dedupe.local.entries", this, EventDedupeServiceImpl::localEntries)
+                .register(meterRegistry);
+        Gauge.builder("inventory.dedupe.local.bytes", this, EventDedupeServiceImpl::estimatedLocalBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    // 로컬 LRU 에는 완료된 이벤트만 둔다. 처리 중인 이벤트는 Redis 의 처리 중 표시로만 판단한다.
+    @Override
+    public boolean tryAcquire(String eventType, Long orderId, Long productId) {
+        if (!properties.isEnabled()) {
+            return true;
+        }
+        String key = key(eventType, orderId, productId);
+        long now = System.currentTimeMillis();
+
+        lock.lock();
+        try {
+            Long seenUntil = recent.get(key);
+            if (seenUntil != null && seenUntil > now) {
+                localDuplicates.increment();
+                return false;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            if (!claim(key)) {
+                redisDuplicates.increment();
+                remember(key);
+                return false;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("중복 이벤트 확인 중 인터럽트: " + key, e);
+        } catch (Exception e) {
+            // Redis 장애 시 로컬 LRU 만으로 판단 (처리를 막지 않는다)
+            log.warn("⚠️ 중복 이벤트 Redis 확인 실패, 로컬 기준으로 처리: key={}, error={}", key, e.getMessage());
+        }
+        accepted.increment();
+        return true;
+    }
+
+    @Override
+    public void complete(String eventType, Long orderId, Long productId) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        String key = key(eventType, orderId, productId);
+        remember(key);
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + key, DONE, Duration.ofSeconds(properties.getTtlSeconds()));
+        } catch (Exception e) {
+            // 처리 중 표시가 만료되면 다른 노드에 재전달된 같은 이벤트는 다시 처리될 수 있다.
+            log.warn("⚠️ 중복 이벤트 완료 기록 실패: key={}, error={}", key, e.getMessage());
+        }
+    }
+
+    // 처리 중 표시를 잡으면 true, 완료된 이벤트면 false. 다른 곳에서 처리 중이면 완료되거나 만료될 때까지 기다린다.
+    private boolean claim(String key) throws InterruptedException {
+        String redisKey = KEY_PREFIX + key;
+        Duration inProgressTtl = Duration.ofSeconds(properties.getInProgressTtlSeconds());
+        boolean waited = false;
+        while (true) {
+            if (Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(redisKey, PROCESSING, inProgressTtl))) {
+                return true;
+            }
+            String state = redisTemplate.opsForValue().get(redisKey);
+            if (state != null && !PROCESSING.equals(state)) {
+                return false;
+            }
+            if (state != null) {
+                if (!waited) {
+                    inProgressWaits.increment();
+                    waited = true;
+                }
+                Thread.sleep(properties.getPollIntervalMs());
+            }
+        }
+    }
+
+    @Override
+    public void release(String eventType, Long orderId, Long productId) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        String key = key(eventType, orderId, productId);
+        lock.lock();
+        try {
+            if (recent.remove(key) != null) {
+                keyChars -= key.length();
+            }
+        } finally {
+            lock.unlock();
+        }
+        try {
+            redisTemplate.delete(KEY_PREFIX + key);
+        } catch (Exception e) {
+            log.warn("⚠️ 중복 이벤트 키 반납 실패: key={}, error={}", key, e.getMessage());
+        }
+    }
+
+    private void remember(String key) {
+        long expiresAt = System.currentTimeMillis() + properties.getTtlSeconds() * 1000;
+        lock.lock();
+        try {
+            if (recent.put(key, expiresAt) == null) {
+                keyChars += key.length();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private String key(String eventType, Long orderId, Long productId) {
+        return eventType + ":" + orderId + ":" + (productId == null ? ORDER_SCOPE : productId);
+    }
+
+    private double localEntries() {
+        lock.lock();
+        try {
+            return recent.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private double estimatedLocalBytes() {
+        lock.lock();
+        try {
+            return (double) recent.size() * ENTRY_OVERHEAD_BYTES + keyChars * 2;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
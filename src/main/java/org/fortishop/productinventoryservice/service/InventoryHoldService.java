@@ -0,0 +1,21 @@
+package org.fortishop.productinventoryservice.service;
+
+import java.util.List;
+import java.util.Optional;
+import org.fortishop.productinventoryservice.domain.InventoryHold;
+import org.fortishop.productinventoryservice.dto.event.OrderItemInfo;
+
+public interface InventoryHoldService {
+
+    // hold 가 꺼져 있으면 아무것도 하지 않는다. 재고 차감과 같은 트랜잭션에서 불러야 함께 커밋/롤백된다.
+    void hold(Long orderId, List<OrderItemInfo> items);
+
+    void hold(Long orderId, Long productId, int quantity);
+
+    void confirm(Long orderId);
+
+    // 재고를 되돌려야 하면 true (HELD 였던 hold 를 해제했거나, hold 도입 전 주문이라 기록이 없는 경우)
+    boolean release(Long orderId, Long productId);
+
+    Optional<InventoryHold> expire(Long holdId);
+}
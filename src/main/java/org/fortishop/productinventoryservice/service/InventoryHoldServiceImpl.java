@@ -0,0 +1,126 @@
+package org.fortishop.productinventoryservice.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.fortishop.productinventoryservice.Repository.InventoryHoldRepository;
+import org.fortishop.productinventoryservice.Repository.InventoryRepository;
+import org.fortishop.productinventoryservice.domain.HoldStatus;
+import org.fortishop.productinventoryservice.domain.InventoryHold;
+import org.fortishop.productinventoryservice.dto.event.OrderItemInfo;
+import org.fortishop.productinventoryservice.global.cache.TwoTierCache;
+import org.fortishop.productinventoryservice.global.config.InventoryProperties;
+import org.fortishop.productinventoryservice.service.hold.HoldExpiryScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class InventoryHoldServiceImpl implements InventoryHoldService {
+
+    private static final String INVENTORY_KEY_PREFIX = "inventory::product::";
+
+    private final InventoryHoldRepository inventoryHoldRepository;
+    private final InventoryRepository inventoryRepository;
+    private final InventoryProperties inventoryProperties;
+    private final HoldExpiryScheduler holdExpiryScheduler;
+    private final TwoTierCache twoTierCache;
+
+    @Override
+    @Transactional
+    public void hold(Long orderId, List<OrderItemInfo> items) {
+        if (!inventoryProperties.getHold().isEnabled()) {
+            return;
+        }
+        LocalDateTime expiresAt = LocalDateTime.now().plusSeconds(inventoryProperties.getHold().getTtlSeconds());
+        List<InventoryHold> holds = new ArrayList<>();
+        for (OrderItemInfo item : items) {
+            holds.add(inventoryHoldRepository.save(InventoryHold.builder()
+                    .orderId(orderId)
+                    .productId(item.getProductId())
+                    .quantity(item.getQuantity())
+                    .expiresAt(expiresAt)
+                    .build()));
+            inventoryRepository.adjustReserved(item.getProductId(), item.getQuantity());
+        }
+        afterCommit(() -> {
+            holds.forEach(holdExpiryScheduler::schedule);
+            twoTierCache.evict(holds.stream().map(hold -> INVENTORY_KEY_PREFIX + hold.getProductId()).toList());
+        });
+        log.info("📌 재고 hold 등록: orderId={}, count={}, expiresAt={}", orderId, holds.size(), expiresAt);
+    }
+
+    @Override
+    @Transactional
+    public void hold(Long orderId, Long productId, int quantity) {
+        hold(orderId, List.of(OrderItemInfo.builder().productId(productId).quantity(quantity).build()));
+    }
+
+    @Override
+    @Transactional
+    public void confirm(Long orderId) {
+        List<InventoryHold> holds = inventoryHoldRepository.findByOrderIdAndStatus(orderId, HoldStatus.HELD);
+        int confirmed = 0;
+        for (InventoryHold hold : holds) {
+            if (close(hold, HoldStatus.CONFIRMED)) {
+                confirmed++;
+            }
+        }
+        log.info("✅ 재고 hold 확정: orderId={}, count={}", orderId, confirmed);
+    }
+
+    @Override
+    @Transactional
+    public boolean release(Long orderId, Long productId) {
+        List<InventoryHold> holds = inventoryHoldRepository.findByOrderIdAndProductId(orderId, productId);
+        if (holds.isEmpty()) {
+            return true;
+        }
+        boolean released = false;
+        for (InventoryHold hold : holds) {
+            if (hold.getStatus() == HoldStatus.HELD && close(hold, HoldStatus.RELEASED)) {
+                released = true;
+            }
+        }
+        if (!released) {
+            log.info("[hold 해제 생략] 이미 확정/해제/만료된 hold: orderId={}, productId={}", orderId, productId);
+        }
+        return released;
+    }
+
+    @Override
+    @Transactional
+    public Optional<InventoryHold> expire(Long holdId) {
+        return inventoryHoldRepository.findById(holdId)
+                .filter(hold -> hold.getStatus() == HoldStatus.HELD)
+                .filter(hold -> close(hold, HoldStatus.EXPIRED));
+    }
+
+    // HELD 에서 한 번만 전이되고, 전이에 성공한 쪽만 reserved 수량을 줄인다.
+    private boolean close(InventoryHold hold, HoldStatus to) {
+        if (inventoryHoldRepository.transition(hold.getId(), HoldStatus.HELD, to, LocalDateTime.now()) != 1) {
+            return false;
+        }
+        inventoryRepository.adjustReserved(hold.getProductId(), -hold.getQuantity());
+        afterCommit(() -> {
+            holdExpiryScheduler.cancel(hold.getId());
+            twoTierCache.evict(INVENTORY_KEY_PREFIX + hold.getProductId());
+        });
+        return true;
+    }
+
+    private void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
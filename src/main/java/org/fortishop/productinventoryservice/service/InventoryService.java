@@ -1,5 +1,8 @@
 package org.fortishop.productinventoryservice.service;
 
+import java.util.List;
+import java.util.Map;
+import org.fortishop.productinventoryservice.dto.event.OrderItemInfo;
 import org.fortishop.productinventoryservice.dto.request.InventoryRequest;
 import org.fortishop.productinventoryservice.dto.response.InventoryResponse;
 
@@ -9,7 +12,11 @@ public interface InventoryService {
 
     InventoryResponse getInventory(Long productId);
 
+    Map<Long, InventoryResponse> getInventories(List<Long> productIds);
+
     boolean decreaseStockWithLock(Long orderId, Long productId, int quantity, String traceId);
 
+    boolean decreaseStocksWithLock(Long orderId, List<OrderItemInfo> items, String traceId);
+
     void restoreStock(Long orderId, Long productId, int quantity, String traceId);
 }
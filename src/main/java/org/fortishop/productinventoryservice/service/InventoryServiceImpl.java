@@ -1,20 +1,33 @@
 package org.fortishop.productinventoryservice.service;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedMap;
 import java.util.concurrent.TimeUnit;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.fortishop.productinventoryservice.Repository.InventoryRepository;
 import org.fortishop.productinventoryservice.domain.Inventory;
+import org.fortishop.productinventoryservice.dto.event.OrderItemInfo;
 import org.fortishop.productinventoryservice.dto.request.InventoryRequest;
 import org.fortishop.productinventoryservice.dto.response.InventoryResponse;
 import org.fortishop.productinventoryservice.exception.Product.ProductException;
 import org.fortishop.productinventoryservice.exception.Product.ProductExceptionType;
+import org.fortishop.productinventoryservice.global.cache.TwoTierCache;
+import org.fortishop.productinventoryservice.global.config.InventoryProperties;
 import org.fortishop.productinventoryservice.kafka.InventoryEventProducer;
+import org.fortishop.productinventoryservice.service.reservation.RedisStockCounter;
+import org.fortishop.productinventoryservice.service.reservation.ReservationItems;
+import org.fortishop.productinventoryservice.service.reservation.ReservationMode;
 import org.redisson.api.RLock;
 import org.redisson.api.RedissonClient;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 import org.springframework.transaction.support.TransactionSynchronization;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 
@@ -27,9 +40,14 @@ public class InventoryServiceImpl implements InventoryService {
     private final RedissonClient redissonClient;
     private final InventoryEventProducer inventoryEventProducer;
     private final ProductSyncService productSyncService;
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final TwoTierCache twoTierCache;
+    private final InventoryProperties inventoryProperties;
+    private final RedisStockCounter redisStockCounter;
+    private final InventoryShardService inventoryShardService;
+    private final InventoryHoldService inventoryHoldService;
 
     private static final String INVENTORY_KEY_PREFIX = "inventory::product::";
+    private static final Duration INVENTORY_CACHE_TTL = Duration.ofMinutes(5);
 
     @Override
     @Transactional
@@ -37,90 +55,172 @@ public class InventoryServiceImpl implements InventoryService {
         Inventory inventory = inventoryRepository.findByProductId(productId)
                 .orElseThrow(() -> new ProductException(ProductExceptionType.PRODUCT_NOT_FOUND));
 
-        inventory.setQuantity(request.getQuantity());
+        if (inventoryShardService.shardCount(productId) > 0) {
+            inventoryShardService.redistribute(productId, request.getQuantity());
+        } else {
+            inventory.setQuantity(request.getQuantity());
+        }
+        if (inventoryProperties.getReservation().getMode() == ReservationMode.REDIS_LUA) {
+            inventory.supersedeRedisDrains(redisStockCounter.currentDrainSeq());
+        }
         productSyncService.updateQuantity(productId, request.getQuantity());
 
         String key = INVENTORY_KEY_PREFIX + productId;
         TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
             @Override
             public void afterCommit() {
-                redisTemplate.delete(key);
+                twoTierCache.evict(key);
                 log.debug("🗑️ 캐시 삭제 완료: {}", key);
+                if (inventoryProperties.getReservation().getMode() == ReservationMode.REDIS_LUA) {
+                    redisStockCounter.reset(productId, request.getQuantity());
+                }
             }
         });
 
-        return InventoryResponse.of(inventory);
+        return InventoryResponse.of(inventory, inventoryShardService.shardedQuantity(productId));
     }
 
+    // 같은 키의 동시 miss 는 한 번만 DB 를 읽고, 로드를 기다리는 동안 커넥션을 잡지 않도록 트랜잭션 없이 조회
     @Override
-    @Transactional(readOnly = true)
     public InventoryResponse getInventory(Long productId) {
         String key = INVENTORY_KEY_PREFIX + productId;
-        InventoryResponse cached = (InventoryResponse) redisTemplate.opsForValue().get(key);
-        if (cached != null) {
-            log.debug("✅ Redis 캐시 조회 성공: {}", key);
-            return cached;
+        return twoTierCache.getOrLoad(key, InventoryResponse.class, INVENTORY_CACHE_TTL, () -> {
+            Inventory inventory = inventoryRepository.findByProductId(productId)
+                    .orElseThrow(() -> new ProductException(ProductExceptionType.PRODUCT_NOT_FOUND));
+            log.debug("📦 캐시 저장: {}", key);
+            return InventoryResponse.of(inventory, inventoryShardService.shardedQuantity(productId));
+        });
+    }
+
+    // 캐시는 MGET 한 번, miss 는 IN 쿼리 한 번으로 읽고 pipeline 한 번으로 다시 채운다. 재고가 없는 상품은 결과에서 빠진다.
+    // 다시 채우기는 loadAll 로 하므로 읽는 도중 evict 된 상품의 이전 재고는 캐시에 쓰지 않는다.
+    @Override
+    public Map<Long, InventoryResponse> getInventories(List<Long> productIds) {
+        List<Long> ids = productIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (ids.size() > inventoryProperties.getBulk().getMaxSize()) {
+            throw new ProductException(ProductExceptionType.TOO_MANY_PRODUCT_IDS);
+        }
+        if (ids.isEmpty()) {
+            return Map.of();
         }
 
-        Inventory inventory = inventoryRepository.findByProductId(productId)
-                .orElseThrow(() -> new ProductException(ProductExceptionType.PRODUCT_NOT_FOUND));
+        Map<String, InventoryResponse> cached = twoTierCache.getAll(
+                ids.stream().map(id -> INVENTORY_KEY_PREFIX + id).toList(), InventoryResponse.class);
+        List<Long> misses = ids.stream().filter(id -> !cached.containsKey(INVENTORY_KEY_PREFIX + id)).toList();
 
-        InventoryResponse response = InventoryResponse.of(inventory);
-        redisTemplate.opsForValue().set(key, response, 5, TimeUnit.MINUTES);
-        log.debug("📦 Redis 캐시 저장: {}", key);
+        Map<String, InventoryResponse> loaded = misses.isEmpty() ? Map.of() : twoTierCache.loadAll(
+                misses.stream().map(id -> INVENTORY_KEY_PREFIX + id).toList(), INVENTORY_CACHE_TTL, keys -> {
+                    Map<String, InventoryResponse> responses = new HashMap<>();
+                    for (Inventory inventory : inventoryRepository.findByProductIdIn(misses)) {
+                        Long productId = inventory.getProductId();
+                        responses.put(INVENTORY_KEY_PREFIX + productId,
+                                InventoryResponse.of(inventory, inventoryShardService.shardedQuantity(productId)));
+                    }
+                    log.debug("📦 일괄 재고 miss 로드: requested={}, misses={}, loaded={}", ids.size(), misses.size(),
+                            responses.size());
+                    return responses;
+                });
 
-        return response;
+        Map<Long, InventoryResponse> result = new LinkedHashMap<>();
+        for (Long id : ids) {
+            String key = INVENTORY_KEY_PREFIX + id;
+            InventoryResponse response = cached.containsKey(key) ? cached.get(key) : loaded.get(key);
+            if (response != null) {
+                result.put(id, response);
+            }
+        }
+        return result;
     }
 
+    // 락은 같은 상품의 요청을 줄 세우는 용도이고, 차감 자체는 다른 예약 모드·샤드 경로와 같은 조건부 UPDATE 로 한다.
     @Transactional
     public boolean decreaseStockWithLock(Long orderId, Long productId, int quantity, String traceId) {
         String lockKey = "lock:product:" + productId;
         RLock lock = redissonClient.getLock(lockKey);
-        boolean success = false;
 
         try {
-            if (lock.tryLock(5, TimeUnit.SECONDS)) {
-                log.info("🔐 락 획득: {}", lockKey);
-
-                Inventory inventory = inventoryRepository.findByProductId(productId)
-                        .orElseThrow(() -> new ProductException(ProductExceptionType.PRODUCT_NOT_FOUND));
-
-                if (inventory.getQuantity() < quantity) {
-                    inventoryEventProducer.sendInventoryFailed(orderId, productId, "재고 부족", traceId);
-                    return false;
-                }
-
-                inventory.adjust(-quantity);
-                inventoryRepository.save(inventory);
-
-                inventoryEventProducer.sendInventoryReserved(orderId, productId, traceId);
-                success = true;
-
-                // 트랜잭션 커밋 이후에 락 해제
-                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
-                    @Override
-                    public void afterCommit() {
-                        if (lock.isHeldByCurrentThread()) {
-                            lock.unlock();
-                            log.info("🔓 트랜잭션 커밋 후 락 해제: {}", lockKey);
-                        }
-                        redisTemplate.delete(INVENTORY_KEY_PREFIX + productId);
-                    }
-                });
-
-            } else {
+            if (!lock.tryLock(5, TimeUnit.SECONDS)) {
                 log.warn("❌ 락 획득 실패: productId={}, orderId={}", productId, orderId);
                 inventoryEventProducer.sendInventoryFailed(orderId, productId, "락 획득 실패", traceId);
+                return false;
             }
+            log.info("🔐 락 획득: {}", lockKey);
+            unlockAfterCompletion(lock, productId);
+
+            if (inventoryRepository.decreaseIfAvailable(productId, quantity) != 1) {
+                inventoryEventProducer.sendInventoryFailed(orderId, productId, "재고 부족", traceId);
+                return false;
+            }
+
+            inventoryHoldService.hold(orderId, productId, quantity);
+            inventoryEventProducer.sendInventoryReserved(orderId, productId, traceId);
+            return true;
 
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             inventoryEventProducer.sendInventoryFailed(orderId, productId, "락 획득 중 인터럽트", traceId);
         } catch (Exception e) {
             log.error("❌ 재고 차감 중 예외 발생: {}", e.getMessage());
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
             inventoryEventProducer.sendInventoryFailed(orderId, productId, "예외 발생: " + e.getMessage(), traceId);
         }
-        return success;
+        return false;
+    }
+
+    @Override
+    @Transactional
+    public boolean decreaseStocksWithLock(Long orderId, List<OrderItemInfo> items, String traceId) {
+        SortedMap<Long, Integer> quantities = ReservationItems.sortedQuantities(items);
+        // productId 오름차순으로 락을 잡아 주문 간 교착을 방지
+        RLock[] locks = quantities.keySet().stream()
+                .map(productId -> redissonClient.getLock("lock:product:" + productId))
+                .toArray(RLock[]::new);
+        RLock multiLock = redissonClient.getMultiLock(locks);
+
+        try {
+            if (!multiLock.tryLock(5, TimeUnit.SECONDS)) {
+                log.warn("❌ 주문 단위 락 획득 실패: orderId={}, productIds={}", orderId, quantities.keySet());
+                inventoryEventProducer.sendOrderInventoryFailed(orderId, items, "락 획득 실패", traceId);
+                return false;
+            }
+            log.info("🔐 주문 단위 락 획득: orderId={}, productIds={}", orderId, quantities.keySet());
+
+            // 커밋/롤백 여부와 관계없이 트랜잭션 종료 후 락 해제
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    multiLock.unlock();
+                    log.info("🔓 트랜잭션 종료 후 주문 단위 락 해제: orderId={}", orderId);
+                    if (status == STATUS_COMMITTED) {
+                        twoTierCache.evict(quantities.keySet().stream()
+                                .map(productId -> INVENTORY_KEY_PREFIX + productId)
+                                .toList());
+                    }
+                }
+            });
+
+            int[] updated = inventoryRepository.decreaseAllIfAvailable(quantities);
+            for (int count : updated) {
+                if (count != 1) {
+                    TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+                    inventoryEventProducer.sendOrderInventoryFailed(orderId, items, "재고 부족", traceId);
+                    return false;
+                }
+            }
+
+            inventoryHoldService.hold(orderId, items);
+            inventoryEventProducer.sendOrderInventoryReserved(orderId, items, traceId);
+            return true;
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            inventoryEventProducer.sendOrderInventoryFailed(orderId, items, "락 획득 중 인터럽트", traceId);
+        } catch (Exception e) {
+            log.error("❌ 주문 단위 재고 차감 중 예외 발생: orderId={}, error={}", orderId, e.getMessage());
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            inventoryEventProducer.sendOrderInventoryFailed(orderId, items, "예외 발생: " + e.getMessage(), traceId);
+        }
+        return false;
     }
 
     @Override
@@ -133,26 +233,14 @@ public class InventoryServiceImpl implements InventoryService {
             if (lock.tryLock(5, 10, TimeUnit.SECONDS)) {
                 log.info("🔐 락 획득 성공: key={}, orderId={}", lockKey, orderId);
 
-                Inventory inventory = inventoryRepository.findByProductId(productId)
-                        .orElseThrow(() -> new ProductException(ProductExceptionType.PRODUCT_NOT_FOUND));
-
-                inventory.adjust(quantity);
-                inventoryRepository.save(inventory);
+                unlockAfterCompletion(lock, productId);
 
-                log.info("✅ 재고 복원 성공: productId={}, 복원 수량={}, 현재 수량={}",
-                        productId, quantity, inventory.getQuantity());
-
-                // 트랜잭션 커밋 이후에 락 해제
-                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
-                    @Override
-                    public void afterCommit() {
-                        if (lock.isHeldByCurrentThread()) {
-                            lock.unlock();
-                            log.info("🔓 트랜잭션 커밋 후 락 해제: {}", lockKey);
-                        }
-                        redisTemplate.delete(INVENTORY_KEY_PREFIX + productId);
-                    }
-                });
+                if (inventoryRepository.adjustQuantity(productId, quantity) != 1) {
+                    log.warn("❌ 재고 복원 실패 (재고 없음): productId={}, orderId={}", productId, orderId);
+                    inventoryEventProducer.sendInventoryFailed(orderId, productId, "재고 없음", traceId);
+                    return;
+                }
+                log.info("✅ 재고 복원 성공: productId={}, 복원 수량={}", productId, quantity);
 
             } else {
                 log.warn("❌ 재고 복원 실패 (락 획득 실패): productId={}, orderId={}", productId, orderId);
@@ -167,4 +255,20 @@ public class InventoryServiceImpl implements InventoryService {
             inventoryEventProducer.sendInventoryFailed(orderId, productId, "예외 발생: " + e.getMessage(), traceId);
         }
     }
+
+    // 커밋/롤백 여부와 관계없이 트랜잭션 종료 후 락 해제, 커밋된 경우에만 캐시 무효화
+    private void unlockAfterCompletion(RLock lock, Long productId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (lock.isHeldByCurrentThread()) {
+                    lock.unlock();
+                    log.info("🔓 트랜잭션 종료 후 락 해제: {}", lock.getName());
+                }
+                if (status == STATUS_COMMITTED) {
+                    twoTierCache.evict(INVENTORY_KEY_PREFIX + productId);
+                }
+            }
+        });
+    }
 }
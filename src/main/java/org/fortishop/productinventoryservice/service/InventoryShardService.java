@@ -0,0 +1,20 @@
+package org.fortishop.productinventoryservice.service;
+
+import org.fortishop.productinventoryservice.dto.response.InventoryShardResponse;
+
+public interface InventoryShardService {
+
+    int shardCount(Long productId);
+
+    int shardedQuantity(Long productId);
+
+    InventoryShardResponse getShards(Long productId);
+
+    InventoryShardResponse enableSharding(Long productId, int shardCount);
+
+    InventoryShardResponse rebalance(Long productId);
+
+    InventoryShardResponse disableSharding(Long productId);
+
+    void redistribute(Long productId, int totalQuantity);
+}
@@ -0,0 +1,248 @@
+package org.fortishop.productinventoryservice.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.fortishop.productinventoryservice.Repository.InventoryRepository;
+import org.fortishop.productinventoryservice.Repository.InventoryShardRepository;
+import org.fortishop.productinventoryservice.domain.Inventory;
+import org.fortishop.productinventoryservice.domain.InventoryShard;
+import org.fortishop.productinventoryservice.dto.response.InventoryShardResponse;
+import org.fortishop.productinventoryservice.exception.Product.ProductException;
+import org.fortishop.productinventoryservice.exception.Product.ProductExceptionType;
+import org.fortishop.productinventoryservice.global.cache.TwoTierCache;
+import org.fortishop.productinventoryservice.global.config.InventoryProperties;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// inventory row 가 0번 샤드, inventory_shard 가 1 ~ (N-1)번 샤드를 맡는다.
+// 샤딩 전환을 아직 모르는 노드도 inventory row 로 계속 예약할 수 있도록 row 에 재고를 남겨둔다.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class InventoryShardServiceImpl implements InventoryShardService {
+
+    private final InventoryRepository inventoryRepository;
+    private final InventoryShardRepository inventoryShardRepository;
+    private final RedissonClient redissonClient;
+    private final RedisTemplate<String, String> stringRedisTemplate;
+    private final TwoTierCache twoTierCache;
+    private final InventoryProperties inventoryProperties;
+
+    private static final String SHARD_REGISTRY_KEY = "inventory:shards";
+    private static final String INVENTORY_KEY_PREFIX = "inventory::product::";
+
+    private volatile Map<Long, Integer> registry = Map.of();
+
+    @Override
+    public int shardCount(Long productId) {
+        return registry.getOrDefault(productId, 0);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public int shardedQuantity(Long productId) {
+        if (shardCount(productId) == 0) {
+            return 0;
+        }
+        return (int) inventoryShardRepository.sumQuantity(productId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public InventoryShardResponse getShards(Long productId) {
+        Inventory inventory = inventoryRepository.findByProductId(productId)
+                .orElseThrow(() -> new ProductException(ProductExceptionType.INVENTORY_NOT_FOUND));
+        return InventoryShardResponse.of(productId, inventory.getQuantity(),
+                inventoryShardRepository.findByProductIdOrderByShardNo(productId));
+    }
+
+    @Override
+    @Transactional
+    public InventoryShardResponse enableSharding(Long productId, int shardCount) {
+        if (shardCount < 2 || shardCount > inventoryProperties.getShard().getMaxCount()) {
+            throw new ProductException(ProductExceptionType.INVALID_SHARD_COUNT);
+        }
+        lockUntilCompletion(productId);
+
+        Inventory inventory = inventoryRepository.findByProductIdForUpdate(productId)
+                .orElseThrow(() -> new ProductException(ProductExceptionType.INVENTORY_NOT_FOUND));
+        List<InventoryShard> shards = inventoryShardRepository.findAllForUpdate(productId);
+        int total = inventory.getQuantity() + sum(shards);
+
+        List<InventoryShard> redistributed = distribute(inventory, shards, total, shardCount);
+        // 커밋 전에 등록해 두면 다른 요청은 새 샤드 row 의 락이 풀릴 때까지 기다렸다가 바로 샤드 경로를 탄다.
+        registerShardCount(productId, shardCount);
+        log.info("🧩 재고 샤딩 적용: productId={}, shardCount={}, total={}", productId, shardCount, total);
+
+        return InventoryShardResponse.of(productId, inventory.getQuantity(), redistributed);
+    }
+
+    @Override
+    @Transactional
+    public InventoryShardResponse rebalance(Long productId) {
+        lockUntilCompletion(productId);
+
+        Inventory inventory = inventoryRepository.findByProductIdForUpdate(productId)
+                .orElseThrow(() -> new ProductException(ProductExceptionType.INVENTORY_NOT_FOUND));
+        List<InventoryShard> shards = inventoryShardRepository.findAllForUpdate(productId);
+        if (shards.isEmpty()) {
+            throw new ProductException(ProductExceptionType.INVENTORY_NOT_SHARDED);
+        }
+
+        int total = inventory.getQuantity() + sum(shards);
+        List<InventoryShard> redistributed = distribute(inventory, shards, total, shards.size() + 1);
+        log.info("⚖️ 재고 샤드 재분배: productId={}, total={}", productId, total);
+
+        return InventoryShardResponse.of(productId, inventory.getQuantity(), redistributed);
+    }
+
+    @Override
+    @Transactional
+    public InventoryShardResponse disableSharding(Long productId) {
+        lockUntilCompletion(productId);
+
+        Inventory inventory = inventoryRepository.findByProductIdForUpdate(productId)
+                .orElseThrow(() -> new ProductException(ProductExceptionType.INVENTORY_NOT_FOUND));
+        List<InventoryShard> shards = inventoryShardRepository.findAllForUpdate(productId);
+        if (shards.isEmpty()) {
+            throw new ProductException(ProductExceptionType.INVENTORY_NOT_SHARDED);
+        }
+
+        inventory.adjust(sum(shards));
+        inventoryShardRepository.deleteAllInBatch(shards);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                unregisterShardCount(productId);
+            }
+        });
+        log.info("🧩 재고 샤딩 해제: productId={}, total={}", productId, inventory.getQuantity());
+
+        return InventoryShardResponse.of(productId, inventory.getQuantity(), List.of());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void redistribute(Long productId, int totalQuantity) {
+        Inventory inventory = inventoryRepository.findByProductIdForUpdate(productId)
+                .orElseThrow(() -> new ProductException(ProductExceptionType.INVENTORY_NOT_FOUND));
+        List<InventoryShard> shards = inventoryShardRepository.findAllForUpdate(productId);
+        if (shards.isEmpty()) {
+            inventory.setQuantity(totalQuantity);
+            return;
+        }
+        distribute(inventory, shards, totalQuantity, shards.size() + 1);
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.shard.registry-refresh-ms:1000}")
+    public void refreshRegistry() {
+        Map<Object, Object> entries = stringRedisTemplate.opsForHash().entries(SHARD_REGISTRY_KEY);
+        Map<Long, Integer> refreshed = new HashMap<>();
+        entries.forEach((productId, count) ->
+                refreshed.put(Long.valueOf(productId.toString()), Integer.valueOf(count.toString())));
+        registry = Map.copyOf(refreshed);
+    }
+
+    private List<InventoryShard> distribute(Inventory inventory, List<InventoryShard> shards, int total,
+                                            int shardCount) {
+        inventoryShardRepository.deleteAllInBatch(shards);
+
+        int base = total / shardCount;
+        int remainder = total % shardCount;
+        inventory.setQuantity(base + remainder);
+
+        List<InventoryShard> redistributed = new ArrayList<>();
+        for (int shardNo = 1; shardNo < shardCount; shardNo++) {
+            redistributed.add(InventoryShard.builder()
+                    .productId(inventory.getProductId())
+                    .shardNo(shardNo)
+                    .quantity(base)
+                    .build());
+        }
+
+        String key = INVENTORY_KEY_PREFIX + inventory.getProductId();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                twoTierCache.evict(key);
+            }
+        });
+        return inventoryShardRepository.saveAll(redistributed);
+    }
+
+    private void lockUntilCompletion(Long productId) {
+        String lockKey = "lock:product:" + productId;
+        RLock lock = redissonClient.getLock(lockKey);
+        try {
+            if (!lock.tryLock(5, TimeUnit.SECONDS)) {
+                throw new ProductException(ProductExceptionType.INVENTORY_LOCK_FAILED);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProductException(ProductExceptionType.INVENTORY_LOCK_FAILED);
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (lock.isHeldByCurrentThread()) {
+                    lock.unlock();
+                }
+            }
+        });
+    }
+
+    private void registerShardCount(Long productId, int shardCount) {
+        Integer previous = registry.get(productId);
+        stringRedisTemplate.opsForHash().put(SHARD_REGISTRY_KEY, productId.toString(), String.valueOf(shardCount));
+        updateLocalRegistry(productId, shardCount);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    return;
+                }
+                if (previous == null) {
+                    unregisterShardCount(productId);
+                } else {
+                    stringRedisTemplate.opsForHash()
+                            .put(SHARD_REGISTRY_KEY, productId.toString(), String.valueOf(previous));
+                    updateLocalRegistry(productId, previous);
+                }
+            }
+        });
+    }
+
+    private void unregisterShardCount(Long productId) {
+        stringRedisTemplate.opsForHash().delete(SHARD_REGISTRY_KEY, productId.toString());
+        updateLocalRegistry(productId, 0);
+    }
+
+    private void updateLocalRegistry(Long productId, int shardCount) {
+        Map<Long, Integer> updated = new HashMap<>(registry);
+        if (shardCount > 0) {
+            updated.put(productId, shardCount);
+        } else {
+            updated.remove(productId);
+        }
+        registry = Map.copyOf(updated);
+    }
+
+    private int sum(List<InventoryShard> shards) {
+        return shards.stream().mapToInt(InventoryShard::getQuantity).sum();
+    }
+}
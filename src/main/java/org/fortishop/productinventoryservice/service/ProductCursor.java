@@ -0,0 +1,50 @@
+package org.fortishop.productinventoryservice.service;
+
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.fortishop.productinventoryservice.dto.response.ProductSummaryResponse;
+import org.fortishop.productinventoryservice.exception.Product.ProductException;
+import org.fortishop.productinventoryservice.exception.Product.ProductExceptionType;
+
+// 목록의 마지막 행 (createdAt, id). 클라이언트에는 내부 구조가 보이지 않도록 base64url 문자열로 내보낸다.
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class ProductCursor {
+
+    private static final int ENCODED_BYTES = Long.BYTES + Integer.BYTES + Long.BYTES;
+
+    private final LocalDateTime createdAt;
+    private final Long id;
+
+    public static ProductCursor of(ProductSummaryResponse product) {
+        return new ProductCursor(product.getCreatedAt(), product.getId());
+    }
+
+    public String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(ENCODED_BYTES)
+                .putLong(createdAt.toEpochSecond(ZoneOffset.UTC))
+                .putInt(createdAt.getNano())
+                .putLong(id);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    public static ProductCursor decode(String cursor) {
+        try {
+            byte[] bytes = Base64.getUrlDecoder().decode(cursor);
+            if (bytes.length != ENCODED_BYTES) {
+                throw new ProductException(ProductExceptionType.INVALID_CURSOR);
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            LocalDateTime createdAt = LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+            return new ProductCursor(createdAt, buffer.getLong());
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new ProductException(ProductExceptionType.INVALID_CURSOR);
+        }
+    }
+}
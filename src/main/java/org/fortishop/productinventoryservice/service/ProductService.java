@@ -2,7 +2,10 @@ package org.fortishop.productinventoryservice.service;
 
 import java.util.List;
 import org.fortishop.productinventoryservice.dto.request.ProductRequest;
+import org.fortishop.productinventoryservice.dto.response.CategoryProductsResponse;
 import org.fortishop.productinventoryservice.dto.response.ProductResponse;
+import org.fortishop.productinventoryservice.dto.response.ProductSliceResponse;
+import org.fortishop.productinventoryservice.dto.response.ProductSummaryResponse;
 import org.springframework.data.domain.Page;
 
 public interface ProductService {
@@ -14,7 +17,15 @@ public interface ProductService {
 
     ProductResponse getProduct(Long id);
 
-    Page<ProductResponse> getProducts(int page, int size);
+    Page<ProductSummaryResponse> getProducts(int page, int size);
 
-    List<ProductResponse> getPopularProducts(int limit);
+    ProductSliceResponse<ProductSummaryResponse> getProductsByCursor(String cursor, int size);
+
+    CategoryProductsResponse getProductsByCategory(String category, int page, int size);
+
+    List<ProductSummaryResponse> getPopularProducts(int limit);
+
+    byte[] getPopularProductsJson(int limit);
+
+    void refreshPopularProducts();
 }
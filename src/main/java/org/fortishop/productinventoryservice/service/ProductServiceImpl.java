@@ -1,27 +1,43 @@
 package org.fortishop.productinventoryservice.service;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.fortishop.productinventoryservice.Repository.InventoryRepository;
 import org.fortishop.productinventoryservice.Repository.ProductRepository;
 import org.fortishop.productinventoryservice.domain.Inventory;
 import org.fortishop.productinventoryservice.domain.Product;
 import org.fortishop.productinventoryservice.dto.request.ProductRequest;
+import org.fortishop.productinventoryservice.dto.response.CategoryProductsResponse;
 import org.fortishop.productinventoryservice.dto.response.ProductResponse;
+import org.fortishop.productinventoryservice.dto.response.ProductSliceResponse;
+import org.fortishop.productinventoryservice.dto.response.ProductSummaryResponse;
 import org.fortishop.productinventoryservice.exception.Product.ProductException;
 import org.fortishop.productinventoryservice.exception.Product.ProductExceptionType;
+import org.fortishop.productinventoryservice.global.cache.CacheLookup;
+import org.fortishop.productinventoryservice.global.cache.TwoTierCache;
+import org.fortishop.productinventoryservice.service.catalog.CategoryPageCache;
+import org.fortishop.productinventoryservice.service.popularity.HeavyHitterTracker;
+import org.fortishop.productinventoryservice.service.popularity.PopularProductsCache;
+import org.fortishop.productinventoryservice.service.popularity.PopularityRanking;
+import org.fortishop.productinventoryservice.service.popularity.ViewCountBuffer;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class ProductServiceImpl implements ProductService {
@@ -32,9 +48,22 @@ public class ProductServiceImpl implements ProductService {
 
     private final ProductSyncService productSyncService;
 
-    private final RedisTemplate<String, String> redisTemplate;
+    private final TwoTierCache twoTierCache;
 
-    private static final String PRODUCT_VIEW_KEY = "product:views";
+    private final ViewCountBuffer viewCountBuffer;
+
+    private final PopularityRanking popularityRanking;
+
+    private final HeavyHitterTracker heavyHitterTracker;
+
+    private final PopularProductsCache popularProductsCache;
+
+    private final CategoryPageCache categoryPageCache;
+
+    private static final String PRODUCT_DETAIL_KEY_PREFIX = "product::detail::";
+    private static final Duration PRODUCT_DETAIL_TTL = Duration.ofMinutes(10);
+    private static final Duration PRODUCT_MISSING_TTL = Duration.ofSeconds(30);
+    private static final int MAX_PAGE_SIZE = 100;
 
     @Override
     @Transactional
@@ -57,6 +86,8 @@ public class ProductServiceImpl implements ProductService {
         inventoryRepository.save(inventory);
 
         productSyncService.index(savedProduct);
+        // 생성 전에 조회돼 negative 캐시된 id 일 수 있다.
+        evictAfterCommit(savedProduct.getId(), savedProduct.getCategory());
         return ProductResponse.of(savedProduct);
     }
 
@@ -65,6 +96,7 @@ public class ProductServiceImpl implements ProductService {
     public ProductResponse updateProduct(Long id, ProductRequest request) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ProductException(ProductExceptionType.PRODUCT_NOT_FOUND));
+        String previousCategory = product.getCategory();
         product.update(
                 request.getName(),
                 request.getDescription(),
@@ -74,15 +106,15 @@ public class ProductServiceImpl implements ProductService {
                 request.isActive()
         );
         productSyncService.update(id, request);
+        evictAfterCommit(id, previousCategory, product.getCategory());
         return ProductResponse.of(product);
     }
 
     @Override
     @Transactional
     public void deleteProduct(Long id) {
-        if (!productRepository.existsById(id)) {
-            throw new ProductException(ProductExceptionType.PRODUCT_NOT_FOUND);
-        }
+        Product product = productRepository.findById(id)
+                .orElseThrow(() -> new ProductException(ProductExceptionType.PRODUCT_NOT_FOUND));
         if (!inventoryRepository.existsById(id)) {
             throw new ProductException(ProductExceptionType.INVENTORY_NOT_FOUND);
         }
@@ -90,47 +122,144 @@ public class ProductServiceImpl implements ProductService {
         inventoryRepository.deleteByProductId(id);
         productRepository.deleteById(id);
         productSyncService.delete(id);
+        evictAfterCommit(id, product.getCategory());
     }
 
+    // 캐시 적중 시 DB 커넥션을 잡지 않도록 트랜잭션 없이 조회
     @Override
-    @Transactional(readOnly = true)
     public ProductResponse getProduct(Long id) {
-        Product product = productRepository.findById(id)
-                .orElseThrow(() -> new ProductException(ProductExceptionType.PRODUCT_NOT_FOUND));
+        String key = PRODUCT_DETAIL_KEY_PREFIX + id;
+        CacheLookup<ProductResponse> cached = twoTierCache.getOrLoad(key, ProductResponse.class,
+                PRODUCT_DETAIL_TTL, PRODUCT_MISSING_TTL,
+                () -> productRepository.findById(id).map(ProductResponse::of).orElse(null));
+        if (cached.isNegative()) {
+            throw new ProductException(ProductExceptionType.PRODUCT_NOT_FOUND);
+        }
+        ProductResponse response = cached.getValue();
 
-        redisTemplate.opsForZSet().incrementScore(PRODUCT_VIEW_KEY, id.toString(), 1);
+        viewCountBuffer.increment(id);
+        heavyHitterTracker.record(id);
 
-        return ProductResponse.of(product);
+        return response;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Page<ProductResponse> getProducts(int page, int size) {
+    public Page<ProductSummaryResponse> getProducts(int page, int size) {
         PageRequest pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
-        return productRepository.findAllByIsActiveTrue(pageable)
-                .map(ProductResponse::of);
+        return productRepository.findActiveSummaries(pageable);
     }
 
+    // 커서 이후 size 개를 (created_at, id) 인덱스 순서로 읽는다. 페이지가 깊어져도 비용이 같고 COUNT 쿼리가 없다.
     @Override
     @Transactional(readOnly = true)
-    public List<ProductResponse> getPopularProducts(int limit) {
-        Set<String> idStrings = redisTemplate.opsForZSet()
-                .reverseRange(PRODUCT_VIEW_KEY, 0, limit - 1);
+    public ProductSliceResponse<ProductSummaryResponse> getProductsByCursor(String cursor, int size) {
+        validatePageSize(size);
+        PageRequest pageable = PageRequest.of(0, size);
+        Slice<ProductSummaryResponse> slice;
+        if (cursor == null || cursor.isBlank()) {
+            slice = productRepository.findActiveSlice(pageable);
+        } else {
+            ProductCursor after = ProductCursor.decode(cursor);
+            slice = productRepository.findActiveSliceAfter(after.getCreatedAt(), after.getId(), pageable);
+        }
 
-        if (idStrings == null || idStrings.isEmpty()) {
-            return List.of();
+        List<ProductSummaryResponse> products = slice.getContent();
+        String nextCursor = slice.hasNext() && !products.isEmpty()
+                ? ProductCursor.of(products.get(products.size() - 1)).encode()
+                : null;
+        return new ProductSliceResponse<>(products, nextCursor, slice.hasNext());
+    }
+
+    // 앞쪽 페이지는 카테고리 세대별로 캐시된다. 크기를 제한하지 않으면 size 마다 캐시 키가 따로 생긴다.
+    @Override
+    public CategoryProductsResponse getProductsByCategory(String category, int page, int size) {
+        if (page < 0) {
+            throw new ProductException(ProductExceptionType.INVALID_PAGE_NUMBER);
         }
+        validatePageSize(size);
+        return categoryPageCache.getOrLoad(category, page, size, () -> {
+            Slice<ProductSummaryResponse> slice = productRepository.findActiveSummariesByCategory(category,
+                    PageRequest.of(page, size));
+            // 캐시 값의 타입 정보에 불변 리스트 구현 클래스가 기록되지 않도록 ArrayList 로 담는다.
+            return new CategoryProductsResponse(category, page, size, slice.hasNext(),
+                    new ArrayList<>(slice.getContent()));
+        });
+    }
 
-        List<Long> ids = idStrings.stream().map(Long::valueOf).toList();
-        List<Product> products = productRepository.findAllById(ids);
+    // sketch 순위가 준비돼 있으면 Redis 순위 대신 그 id 를 쓴다. 상품 요약은 순위와 함께 들고 있지 않고 항상 지금 읽으므로,
+    // 수정 직후 인기 상품 응답을 다시 만들면 다음 병합을 기다리지 않고 바뀐 내용이 반영된다.
+    @Override
+    public List<ProductSummaryResponse> getPopularProducts(int limit) {
+        List<Long> ids = heavyHitterTracker.isEnabled() ? heavyHitterTracker.topProductIds(limit) : List.of();
+        if (ids.isEmpty()) {
+            ids = popularityRanking.topProductIds(limit);
+        }
+        if (ids.isEmpty()) {
+            return List.of();
+        }
 
-        Map<Long, Product> productMap = products.stream()
-                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        Map<Long, ProductSummaryResponse> productMap = productRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(ProductSummaryResponse::getId, Function.identity()));
 
         return ids.stream()
                 .map(productMap::get)
                 .filter(Objects::nonNull)
-                .map(ProductResponse::of)
                 .toList();
     }
+
+    // 미리 직렬화한 구간이면 메모리/Redis GET 한 번으로 응답
+    @Override
+    public byte[] getPopularProductsJson(int limit) {
+        byte[] cached = popularProductsCache.get(limit);
+        if (cached != null) {
+            return cached;
+        }
+        return popularProductsCache.serialize(getPopularProducts(limit));
+    }
+
+    @Override
+    public void refreshPopularProducts() {
+        if (popularProductsCache.maxBucket() <= 0) {
+            return;
+        }
+        popularProductsCache.replace(getPopularProducts(popularProductsCache.maxBucket()));
+    }
+
+    private static void validatePageSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ProductException(ProductExceptionType.INVALID_PAGE_SIZE);
+        }
+    }
+
+    // 상세 캐시와 상품이 속한(속했던) 카테고리 목록 캐시를 커밋 후 무효화
+    private void evictAfterCommit(Long id, String... categories) {
+        String key = PRODUCT_DETAIL_KEY_PREFIX + id;
+        List<String> affected = Arrays.stream(categories).filter(Objects::nonNull).distinct().toList();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evictDetail(id, key);
+            categoryPageCache.invalidate(affected);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evictDetail(id, key);
+                categoryPageCache.invalidate(affected);
+            }
+        });
+    }
+
+    private void evictDetail(Long id, String key) {
+        twoTierCache.evict(key);
+        if (!popularProductsCache.isListed(id)) {
+            return;
+        }
+        // 인기 상품 목록에 노출 중인 상품이 바뀌면 목록 blob 을 바로 다시 만든다.
+        try {
+            refreshPopularProducts();
+        } catch (Exception e) {
+            log.warn("⚠️ 인기 상품 응답 갱신 실패, 다음 주기에 재시도: productId={}, error={}", id, e.getMessage());
+        }
+    }
 }
@@ -11,4 +11,6 @@ public interface ProductSyncService {
     void updateQuantity(Long productId, Integer quantity);
 
     void delete(Long productId);
+
+    void reindex(Long productId);
 }
@@ -1,56 +1,83 @@
 package org.fortishop.productinventoryservice.service;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongFunction;
 import lombok.RequiredArgsConstructor;
-import org.fortishop.productinventoryservice.Repository.ProductSearchRepository;
 import org.fortishop.productinventoryservice.domain.Product;
-import org.fortishop.productinventoryservice.domain.ProductDocument;
 import org.fortishop.productinventoryservice.dto.request.ProductRequest;
+import org.fortishop.productinventoryservice.service.indexing.ProductIndexChange;
+import org.fortishop.productinventoryservice.service.indexing.ProductIndexQueue;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+// 검색 색인은 DB 커밋 이후 ProductIndexQueue 에서 비동기로 반영한다. ES 장애가 DB 쓰기를 롤백시키지 않는다.
 @Service
 @RequiredArgsConstructor
 public class ProductSyncServiceImpl implements ProductSyncService {
-    private final ProductSearchRepository searchRepository;
+    private final ProductIndexQueue productIndexQueue;
 
     @Override
     public void index(Product product) {
-        ProductDocument doc = ProductDocument.builder()
-                .id(product.getId())
-                .name(product.getName())
-                .description(product.getDescription())
-                .price(product.getPrice())
-                .quantity(0)
-                .category(product.getCategory())
-                .build();
-        searchRepository.save(doc);
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("id", product.getId());
+        putIfPresent(fields, "name", product.getName());
+        putIfPresent(fields, "description", product.getDescription());
+        putIfPresent(fields, "price", product.getPrice());
+        fields.put("quantity", 0);
+        putIfPresent(fields, "category", product.getCategory());
+        submitAfterCommit(product.getId(), now -> ProductIndexChange.upsert(fields, now));
     }
 
+    // 변경된 필드만 partial update 로 보낸다. quantity 는 건드리지 않는다.
     @Override
     public void update(Long productId, ProductRequest request) {
-        ProductDocument existing = searchRepository.findById(productId).orElseThrow();
-
-        ProductDocument updated = ProductDocument.builder()
-                .id(productId)
-                .name(request.getName() != null ? request.getName() : existing.getName())
-                .description(request.getDescription() != null ? request.getDescription() : existing.getDescription())
-                .price(request.getPrice() != null ? request.getPrice() : existing.getPrice())
-                .quantity(existing.getQuantity())
-                .category(request.getCategory() != null ? request.getCategory() : existing.getCategory())
-                .build();
-
-        searchRepository.save(updated);
+        Map<String, Object> fields = new LinkedHashMap<>();
+        putIfPresent(fields, "name", request.getName());
+        putIfPresent(fields, "description", request.getDescription());
+        putIfPresent(fields, "price", request.getPrice());
+        putIfPresent(fields, "category", request.getCategory());
+        if (fields.isEmpty()) {
+            return;
+        }
+        submitAfterCommit(productId, now -> ProductIndexChange.update(fields, now));
     }
 
+    // 같은 상품의 재고 변경은 큐에서 마지막 값으로 합쳐지므로 조회 없이 quantity 만 덮어쓴다.
     @Override
     public void updateQuantity(Long productId, Integer quantity) {
-        searchRepository.findById(productId).ifPresent(doc -> {
-            doc.setQuantity(quantity);
-            searchRepository.save(doc);
-        });
+        submitAfterCommit(productId, now -> ProductIndexChange.update(Map.of("quantity", quantity), now));
     }
 
     @Override
     public void delete(Long productId) {
-        searchRepository.deleteById(productId);
+        submitAfterCommit(productId, ProductIndexChange::delete);
+    }
+
+    // 재동기화는 보낼 때 DB 를 다시 읽어 재고를 포함한 문서 전체를 덮어쓴다. 문서가 없으면 만들고, 삭제된 상품은 건너뛴다.
+    @Override
+    public void reindex(Long productId) {
+        submitAfterCommit(productId, ProductIndexChange::reload);
+    }
+
+    // 색인 지연(lag)은 커밋 시점부터 잰다.
+    private void submitAfterCommit(Long productId, LongFunction<ProductIndexChange> change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            productIndexQueue.submit(productId, change.apply(System.currentTimeMillis()));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                productIndexQueue.submit(productId, change.apply(System.currentTimeMillis()));
+            }
+        });
+    }
+
+    private void putIfPresent(Map<String, Object> fields, String field, Object value) {
+        if (value != null) {
+            fields.put(field, value);
+        }
     }
 }
@@ -0,0 +1,14 @@
+package org.fortishop.productinventoryservice.service;
+
+import org.fortishop.productinventoryservice.dto.event.OrderCreatedEvent;
+
+public interface StockReservationService {
+
+    boolean reserve(Long orderId, Long productId, int quantity, String traceId);
+
+    boolean reserveOrder(OrderCreatedEvent event);
+
+    void restore(Long orderId, Long productId, int quantity, String traceId);
+
+    void expire(Long holdId);
+}
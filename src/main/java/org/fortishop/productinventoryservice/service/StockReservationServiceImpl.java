@@ -0,0 +1,226 @@
+package org.fortishop.productinventoryservice.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.fortishop.productinventoryservice.Repository.InventoryRepository;
+import org.fortishop.productinventoryservice.domain.InventoryHold;
+import org.fortishop.productinventoryservice.dto.event.OrderCreatedEvent;
+import org.fortishop.productinventoryservice.dto.event.OrderItemInfo;
+import org.fortishop.productinventoryservice.exception.Product.ProductException;
+import org.fortishop.productinventoryservice.exception.Product.ProductExceptionType;
+import org.fortishop.productinventoryservice.global.config.InventoryProperties;
+import org.fortishop.productinventoryservice.service.reservation.RedisStockCounter;
+import org.fortishop.productinventoryservice.service.reservation.ReservationMode;
+import org.fortishop.productinventoryservice.service.reservation.ShardedStockReserver;
+import org.fortishop.productinventoryservice.service.reservation.StockReserver;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Service
+public class StockReservationServiceImpl implements StockReservationService {
+
+    private final InventoryProperties inventoryProperties;
+    private final MeterRegistry meterRegistry;
+    private final InventoryShardService inventoryShardService;
+    private final ShardedStockReserver shardedStockReserver;
+    private final EventDedupeService eventDedupeService;
+    private final InventoryHoldService inventoryHoldService;
+    private final InventoryRepository inventoryRepository;
+    private final RedisStockCounter redisStockCounter;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<ReservationMode, StockReserver> reservers = new EnumMap<>(ReservationMode.class);
+
+    public StockReservationServiceImpl(InventoryProperties inventoryProperties, MeterRegistry meterRegistry,
+                                       InventoryShardService inventoryShardService,
+                                       ShardedStockReserver shardedStockReserver,
+                                       EventDedupeService eventDedupeService,
+                                       InventoryHoldService inventoryHoldService,
+                                       InventoryRepository inventoryRepository,
+                                       RedisStockCounter redisStockCounter,
+                                       PlatformTransactionManager transactionManager,
+                                       List<StockReserver> stockReservers) {
+        this.inventoryProperties = inventoryProperties;
+        this.meterRegistry = meterRegistry;
+        this.inventoryShardService = inventoryShardService;
+        this.shardedStockReserver = shardedStockReserver;
+        this.eventDedupeService = eventDedupeService;
+        this.inventoryHoldService = inventoryHoldService;
+        this.inventoryRepository = inventoryRepository;
+        this.redisStockCounter = redisStockCounter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        stockReservers.forEach(reserver -> reservers.put(reserver.getMode(), reserver));
+    }
+
+    @Override
+    public boolean reserve(Long orderId, Long productId, int quantity, String traceId) {
+        if (!eventDedupeService.tryAcquire(EventDedupeService.ORDER_CREATED, orderId, productId)) {
+            log.info("[중복 이벤트 무시] order.created: orderId={}, productId={}", orderId, productId);
+            return false;
+        }
+        ReservationMode mode = inventoryProperties.getReservation().getMode();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        boolean reserved;
+        int shardCount;
+        try {
+            shardCount = shardCount(mode, productId);
+            reserved = shardCount > 0
+                    ? shardedStockReserver.reserve(orderId, productId, quantity, shardCount, traceId)
+                    : reserver(mode).reserve(orderId, productId, quantity, traceId);
+        } catch (RuntimeException e) {
+            eventDedupeService.release(EventDedupeService.ORDER_CREATED, orderId, productId);
+            throw e;
+        }
+        sample.stop(meterRegistry.timer("inventory.reservation",
+                "mode", mode.name(), "sharded", String.valueOf(shardCount > 0),
+                "result", reserved ? "reserved" : "rejected"));
+        if (reserved) {
+            eventDedupeService.complete(EventDedupeService.ORDER_CREATED, orderId, productId);
+        } else {
+            // 거절된 예약은 재고가 바뀌지 않았으므로 같은 이벤트가 다시 오면 다시 판단한다.
+            eventDedupeService.release(EventDedupeService.ORDER_CREATED, orderId, productId);
+        }
+        return reserved;
+    }
+
+    @Override
+    public boolean reserveOrder(OrderCreatedEvent event) {
+        // 주문 단위 예약은 전체가 한 번에 반영되므로 productId 없이 주문 단위로 중복을 판단
+        if (!eventDedupeService.tryAcquire(EventDedupeService.ORDER_CREATED, event.getOrderId(), null)) {
+            log.info("[중복 이벤트 무시] order.created: orderId={}", event.getOrderId());
+            return false;
+        }
+        ReservationMode mode = inventoryProperties.getReservation().getMode();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Map<Long, Integer> shardCounts = new HashMap<>();
+        boolean reserved;
+        try {
+            for (OrderItemInfo item : event.getItems()) {
+                int shardCount = shardCount(mode, item.getProductId());
+                if (shardCount > 0) {
+                    shardCounts.put(item.getProductId(), shardCount);
+                }
+            }
+
+            reserved = shardCounts.isEmpty()
+                    ? reserver(mode).reserveOrder(event.getOrderId(), event.getItems(), event.getTraceId())
+                    : shardedStockReserver.reserveOrder(event.getOrderId(), event.getItems(), shardCounts,
+                            event.getTraceId());
+        } catch (RuntimeException e) {
+            eventDedupeService.release(EventDedupeService.ORDER_CREATED, event.getOrderId(), null);
+            throw e;
+        }
+        sample.stop(meterRegistry.timer("inventory.reservation.order",
+                "mode", mode.name(), "sharded", String.valueOf(!shardCounts.isEmpty()),
+                "result", reserved ? "reserved" : "rejected"));
+        if (reserved) {
+            eventDedupeService.complete(EventDedupeService.ORDER_CREATED, event.getOrderId(), null);
+        } else {
+            eventDedupeService.release(EventDedupeService.ORDER_CREATED, event.getOrderId(), null);
+        }
+        return reserved;
+    }
+
+    @Override
+    public void restore(Long orderId, Long productId, int quantity, String traceId) {
+        if (!eventDedupeService.tryAcquire(EventDedupeService.PAYMENT_FAILED, orderId, productId)) {
+            log.info("[중복 이벤트 무시] payment.failed: orderId={}, productId={}", orderId, productId);
+            return;
+        }
+        ReservationMode mode = inventoryProperties.getReservation().getMode();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            if (inventoryProperties.getHold().isEnabled()) {
+                releaseAndRestore(mode, orderId, productId, quantity);
+            } else {
+                restoreStock(mode, orderId, productId, quantity, traceId);
+            }
+        } catch (RuntimeException e) {
+            eventDedupeService.release(EventDedupeService.PAYMENT_FAILED, orderId, productId);
+            throw e;
+        }
+        eventDedupeService.complete(EventDedupeService.PAYMENT_FAILED, orderId, productId);
+        sample.stop(meterRegistry.timer("inventory.restore", "mode", mode.name(), "reason", "payment-failed"));
+    }
+
+    // hold 해제와 재고 복원을 한 트랜잭션으로 묶는다. 예약 모드의 restore 는 락 실패 등을 이벤트로만 알리고 넘어가므로,
+    // 해제만 커밋되면 재고가 사라지고 재전달돼도 이미 RELEASED 라 다시 복원하지 않는다.
+    // 만료와 같은 조건부 UPDATE 로 되돌리고, 실패하면 예외로 해제까지 롤백해 재전달 때 다시 시도한다.
+    private void releaseAndRestore(ReservationMode mode, Long orderId, Long productId, int quantity) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (inventoryHoldService.release(orderId, productId)) {
+                restoreGuarded(mode, productId, quantity);
+            }
+        });
+    }
+
+    // hold 전이와 재고 복원을 한 트랜잭션으로 묶는다. 복원이 실패하면 예외로 전이까지 롤백되어 hold 가 HELD 로 남고,
+    // 만료 스케줄러가 다시 시도한다.
+    @Override
+    public void expire(Long holdId) {
+        ReservationMode mode = inventoryProperties.getReservation().getMode();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        InventoryHold hold = transactionTemplate.execute(status -> inventoryHoldService.expire(holdId)
+                .map(expired -> {
+                    restoreGuarded(mode, expired.getProductId(), expired.getQuantity());
+                    return expired;
+                })
+                .orElse(null));
+        if (hold == null) {
+            return;
+        }
+        sample.stop(meterRegistry.timer("inventory.restore", "mode", mode.name(), "reason", "hold-expired"));
+        log.info("⌛ 재고 hold 만료로 재고 복원: orderId={}, productId={}, quantity={}",
+                hold.getOrderId(), hold.getProductId(), hold.getQuantity());
+    }
+
+    // 예약 모드의 restore 는 실패를 이벤트로만 알리므로 쓰지 않고, 같은 트랜잭션의 조건부 UPDATE 로 되돌린다.
+    // 이 UPDATE 는 모든 DB 기반 모드가 쓰는 차감 방식과 충돌하지 않는다.
+    private void restoreGuarded(ReservationMode mode, Long productId, int quantity) {
+        if (mode == ReservationMode.REDIS_LUA) {
+            // Redis 카운터는 트랜잭션에 묶이지 않으므로 마지막에 반영하고, 실패하면 전이를 롤백한다.
+            redisStockCounter.increase(productId, quantity);
+            return;
+        }
+        int shardCount = inventoryShardService.shardCount(productId);
+        boolean restored = shardCount > 0
+                ? shardedStockReserver.increase(productId, quantity, shardCount)
+                : inventoryRepository.adjustQuantity(productId, quantity) == 1;
+        if (!restored) {
+            throw new ProductException(ProductExceptionType.INVENTORY_NOT_FOUND);
+        }
+    }
+
+    private void restoreStock(ReservationMode mode, Long orderId, Long productId, int quantity, String traceId) {
+        int shardCount = shardCount(mode, productId);
+        if (shardCount > 0) {
+            shardedStockReserver.restore(orderId, productId, quantity, shardCount, traceId);
+        } else {
+            reserver(mode).restore(orderId, productId, quantity, traceId);
+        }
+    }
+
+    // Redis 카운터 모드는 이미 row 경합이 없으므로 샤딩은 DB 기반 모드에만 적용.
+    // SINGLE_WRITER/GROUP_COMMIT 의 큐는 inventory row(0번 샤드)만 갱신하므로 나머지 샤드의 재고를 볼 수 없다.
+    // 그래서 샤딩된 상품은 이 두 모드에서도 큐를 거치지 않고 ShardedStockReserver 로 처리한다. (샤딩이 모드보다 우선)
+    private int shardCount(ReservationMode mode, Long productId) {
+        if (mode == ReservationMode.REDIS_LUA) {
+            return 0;
+        }
+        return inventoryShardService.shardCount(productId);
+    }
+
+    private StockReserver reserver(ReservationMode mode) {
+        StockReserver reserver = reservers.get(mode);
+        if (reserver == null) {
+            throw new IllegalStateException("지원하지 않는 재고 예약 모드입니다: " + mode);
+        }
+        return reserver;
+    }
+}
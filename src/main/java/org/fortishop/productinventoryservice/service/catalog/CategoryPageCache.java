@@ -0,0 +1,67 @@
+package org.fortishop.productinventoryservice.service.catalog;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.fortishop.productinventoryservice.dto.response.CategoryProductsResponse;
+import org.fortishop.productinventoryservice.global.cache.TwoTierCache;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.stereotype.Component;
+
+// 카테고리 목록 앞쪽 페이지 캐시. 키에 카테고리 세대(generation)를 넣어, 상품이 바뀌면 세대만 올려 이전 페이지들을 한 번에 버린다.
+// 이전 세대 키는 지우지 않고 TTL 로 사라진다.
+@Slf4j
+@Component
+public class CategoryPageCache {
+
+    private static final String GENERATION_KEY_PREFIX = "product:category:gen:";
+    private static final String PAGE_KEY_PREFIX = "product::category::";
+    // 이 페이지 번호 미만만 캐시 (사용자는 대부분 앞쪽 페이지만 본다)
+    private static final int CACHED_PAGES = 3;
+    private static final Duration PAGE_TTL = Duration.ofMinutes(5);
+    // 캐시된 페이지보다 충분히 길게 유지해, 세대가 초기화돼 예전 페이지 키와 겹치는 일이 없게 한다.
+    private static final Duration GENERATION_TTL = Duration.ofDays(7);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final TwoTierCache twoTierCache;
+
+    public CategoryPageCache(RedisTemplate<String, String> redisTemplate, TwoTierCache twoTierCache) {
+        this.redisTemplate = redisTemplate;
+        this.twoTierCache = twoTierCache;
+    }
+
+    public CategoryProductsResponse getOrLoad(String category, int page, int size,
+                                              Supplier<CategoryProductsResponse> loader) {
+        if (page >= CACHED_PAGES) {
+            return loader.get();
+        }
+        String generation = redisTemplate.opsForValue().get(GENERATION_KEY_PREFIX + category);
+        String key = PAGE_KEY_PREFIX + category + "::g" + Objects.requireNonNullElse(generation, "0")
+                + "::p" + page + "::s" + size;
+        return twoTierCache.getOrLoad(key, CategoryProductsResponse.class, PAGE_TTL, loader);
+    }
+
+    // 커밋 후 호출. 해당 카테고리의 캐시된 페이지를 모두 무효화한다.
+    public void invalidate(Collection<String> categories) {
+        if (categories.isEmpty()) {
+            return;
+        }
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                for (String category : categories) {
+                    operations.opsForValue().increment(GENERATION_KEY_PREFIX + category);
+                    operations.expire(GENERATION_KEY_PREFIX + category, GENERATION_TTL);
+                }
+                return null;
+            }
+        });
+        log.debug("🗂️ 카테고리 목록 캐시 세대 증가: categories={}", categories);
+    }
+}
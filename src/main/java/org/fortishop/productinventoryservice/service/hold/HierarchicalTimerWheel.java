@@ -0,0 +1,138 @@
+package org.fortishop.productinventoryservice.service.hold;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+// 계층형 타이머 휠. 등록/취소는 O(1) 이고, tick 마다 현재 슬롯만 확인하며 상위 레벨 슬롯은 자기 차례가 오면 하위 레벨로 내려보낸다.
+// 스레드 안전하지 않으므로 호출하는 쪽에서 동기화한다.
+public class HierarchicalTimerWheel<T> {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final long[] spans;
+    private final List<Deque<Timeout<T>>[]> levels = new ArrayList<>();
+    private final Deque<Timeout<T>> overdue = new ArrayDeque<>();
+    private final Deque<Timeout<T>> overflow = new ArrayDeque<>();
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimerWheel(long tickMs, int wheelSize, int levelCount, long startMs) {
+        if (tickMs <= 0 || wheelSize < 2 || levelCount < 1) {
+            throw new IllegalArgumentException("잘못된 타이머 휠 설정입니다.");
+        }
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.spans = new long[levelCount + 1];
+        spans[0] = 1;
+        for (int i = 1; i <= levelCount; i++) {
+            spans[i] = Math.multiplyExact(spans[i - 1], wheelSize);
+        }
+        for (int i = 0; i < levelCount; i++) {
+            Deque<Timeout<T>>[] slots = new Deque[wheelSize];
+            for (int j = 0; j < wheelSize; j++) {
+                slots[j] = new ArrayDeque<>();
+            }
+            levels.add(slots);
+        }
+        this.currentTick = startMs / tickMs;
+    }
+
+    public Timeout<T> schedule(T item, long deadlineMs) {
+        Timeout<T> timeout = new Timeout<>(item, Math.max(deadlineMs, 0) / tickMs);
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    public void cancel(Timeout<T> timeout) {
+        if (!timeout.cancelled && !timeout.expired) {
+            timeout.cancelled = true;
+            size--;
+        }
+    }
+
+    // nowMs 까지 시간을 진행시키고 만료된 항목을 만료 순서대로 반환
+    public List<T> advance(long nowMs) {
+        List<T> expired = new ArrayList<>();
+        drain(overdue, expired);
+        long targetTick = nowMs / tickMs;
+        while (currentTick < targetTick) {
+            currentTick++;
+            for (int level = levels.size() - 1; level >= 1; level--) {
+                if (currentTick % spans[level] == 0) {
+                    cascade(level);
+                }
+            }
+            drain(overdue, expired);
+            drain(levels.get(0)[(int) (currentTick % wheelSize)], expired);
+        }
+        return expired;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void cascade(int level) {
+        if (level == levels.size() - 1) {
+            // 최상위 레벨이 한 칸 넘어갈 때마다 범위 밖 항목을 다시 배치
+            int pending = overflow.size();
+            for (int i = 0; i < pending; i++) {
+                place(overflow.poll());
+            }
+        }
+        Deque<Timeout<T>> slot = levels.get(level)[(int) ((currentTick / spans[level]) % wheelSize)];
+        int pending = slot.size();
+        for (int i = 0; i < pending; i++) {
+            place(slot.poll());
+        }
+    }
+
+    private void place(Timeout<T> timeout) {
+        if (timeout.cancelled) {
+            return;
+        }
+        long delta = timeout.deadlineTick - currentTick;
+        if (delta <= 0) {
+            overdue.add(timeout);
+            return;
+        }
+        for (int level = 0; level < levels.size(); level++) {
+            if (delta < spans[level + 1]) {
+                levels.get(level)[(int) ((timeout.deadlineTick / spans[level]) % wheelSize)].add(timeout);
+                return;
+            }
+        }
+        overflow.add(timeout);
+    }
+
+    private void drain(Deque<Timeout<T>> slot, List<T> expired) {
+        Timeout<T> timeout;
+        while ((timeout = slot.poll()) != null) {
+            if (!timeout.cancelled) {
+                timeout.expired = true;
+                size--;
+                expired.add(timeout.item);
+            }
+        }
+    }
+
+    public static final class Timeout<T> {
+        private final T item;
+        private final long deadlineTick;
+        private boolean cancelled;
+        private boolean expired;
+
+        private Timeout(T item, long deadlineTick) {
+            this.item = item;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public T getItem() {
+            return item;
+        }
+    }
+}
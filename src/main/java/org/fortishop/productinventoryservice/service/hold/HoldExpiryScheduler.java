@@ -0,0 +1,163 @@
+package org.fortishop.productinventoryservice.service.hold;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.fortishop.productinventoryservice.Repository.InventoryHoldRepository;
+import org.fortishop.productinventoryservice.domain.HoldStatus;
+import org.fortishop.productinventoryservice.domain.InventoryHold;
+import org.fortishop.productinventoryservice.global.config.InventoryProperties;
+import org.fortishop.productinventoryservice.global.config.WorkerThreadFactory;
+import org.fortishop.productinventoryservice.service.StockReservationService;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// 이 노드가 만든 hold 의 만료 시각을 타이머 휠에 올려두고, 만료되면 StockReservationService 로 재고를 되돌린다.
+// 휠은 제때 만료시키기 위한 빠른 경로이고, 놓친 hold 는 주기적인 DB sweep 이 만료시킨다.
+@Slf4j
+@Component
+public class HoldExpiryScheduler implements DisposableBean {
+
+    private static final long RETRY_DELAY_MS = 5_000;
+    private static final String SWEEP_LOCK_KEY = "lock:inventory:hold-sweep";
+
+    private final InventoryHoldRepository inventoryHoldRepository;
+    private final RedissonClient redissonClient;
+    // StockReservationService -> InventoryHoldService -> 스케줄러 순환을 피하기 위해 지연 조회
+    private final ObjectProvider<StockReservationService> stockReservationService;
+    private final InventoryProperties.Hold properties;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final HierarchicalTimerWheel<Long> wheel;
+    private final Map<Long, HierarchicalTimerWheel.Timeout<Long>> timeouts = new HashMap<>();
+    private final ScheduledExecutorService ticker;
+
+    public HoldExpiryScheduler(InventoryHoldRepository inventoryHoldRepository, RedissonClient redissonClient,
+                               ObjectProvider<StockReservationService> stockReservationService,
+                               InventoryProperties inventoryProperties, WorkerThreadFactory workerThreadFactory) {
+        this.inventoryHoldRepository = inventoryHoldRepository;
+        this.redissonClient = redissonClient;
+        this.stockReservationService = stockReservationService;
+        this.properties = inventoryProperties.getHold();
+        this.wheel = new HierarchicalTimerWheel<>(properties.getTickMs(), properties.getWheelSize(),
+                properties.getWheelLevels(), System.currentTimeMillis());
+        this.ticker = Executors.newSingleThreadScheduledExecutor(workerThreadFactory.named("inventory-hold-expiry"));
+        if (properties.isEnabled()) {
+            ticker.scheduleWithFixedDelay(this::tick, properties.getTickMs(), properties.getTickMs(),
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // 다른 노드가 만들었거나 재시작으로 휠에서 사라진 hold 까지 만료시킨다. 전이가 조건부 UPDATE 라
+    // 휠과 겹쳐도 한 번만 만료되고, 노드 간 중복 조회를 줄이려고 sweep 은 락을 잡은 노드 하나만 수행한다.
+    @Scheduled(fixedDelayString = "${inventory.hold.sweep-interval-ms:30000}")
+    public void sweep() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        RLock sweepLock = redissonClient.getLock(SWEEP_LOCK_KEY);
+        if (!sweepLock.tryLock()) {
+            return;
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            long lastId = 0L;
+            int expired = 0;
+            while (true) {
+                List<InventoryHold> holds = inventoryHoldRepository
+                        .findByStatusAndExpiresAtBeforeAndIdGreaterThanOrderByIdAsc(HoldStatus.HELD, now, lastId,
+                                PageRequest.of(0, properties.getSweepBatchSize()));
+                for (InventoryHold hold : holds) {
+                    if (expire(hold.getId())) {
+                        expired++;
+                    }
+                }
+                if (holds.size() < properties.getSweepBatchSize()) {
+                    break;
+                }
+                lastId = holds.get(holds.size() - 1).getId();
+            }
+            if (expired > 0) {
+                log.info("🧹 만료 시각이 지난 재고 hold {}건 처리", expired);
+            }
+        } finally {
+            sweepLock.unlock();
+        }
+    }
+
+    public void schedule(InventoryHold hold) {
+        scheduleAt(hold.getId(), hold.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    public void cancel(Long holdId) {
+        lock.lock();
+        try {
+            HierarchicalTimerWheel.Timeout<Long> timeout = timeouts.remove(holdId);
+            if (timeout != null) {
+                wheel.cancel(timeout);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int pendingCount() {
+        lock.lock();
+        try {
+            return wheel.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void tick() {
+        List<Long> expired;
+        lock.lock();
+        try {
+            expired = wheel.advance(System.currentTimeMillis());
+            expired.forEach(timeouts::remove);
+        } finally {
+            lock.unlock();
+        }
+        for (Long holdId : expired) {
+            if (!expire(holdId)) {
+                scheduleAt(holdId, System.currentTimeMillis() + RETRY_DELAY_MS);
+            }
+        }
+    }
+
+    private boolean expire(Long holdId) {
+        try {
+            stockReservationService.getObject().expire(holdId);
+            return true;
+        } catch (Exception e) {
+            log.error("❌ 재고 hold 만료 처리 실패, 재시도 예정: holdId={}", holdId, e);
+            return false;
+        }
+    }
+
+    private void scheduleAt(Long holdId, long deadlineMs) {
+        lock.lock();
+        try {
+            timeouts.computeIfAbsent(holdId, id -> wheel.schedule(id, deadlineMs));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        ticker.shutdownNow();
+    }
+}
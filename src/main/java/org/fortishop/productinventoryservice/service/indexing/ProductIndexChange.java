@@ -0,0 +1,78 @@
+package org.fortishop.productinventoryservice.service.indexing;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.Getter;
+
+// 한 상품에 대해 아직 색인되지 않은 변경. 같은 상품의 변경은 merge 로 하나로 합쳐진다.
+@Getter
+public class ProductIndexChange {
+
+    private final Map<String, Object> fields;
+    // 생성 시에는 문서가 없으므로 upsert 로 전체 문서를 만든다.
+    private final boolean upsert;
+    private final boolean deleted;
+    // 재동기화 변경. 필드를 들고 오지 않고 보내기 직전에 DB 를 다시 읽어 문서 전체를 만든다.
+    private final boolean reload;
+    private final long enqueuedAt;
+    private final int attempts;
+    private final long notBefore;
+
+    private ProductIndexChange(Map<String, Object> fields, boolean upsert, boolean deleted, boolean reload,
+                               long enqueuedAt, int attempts, long notBefore) {
+        this.fields = fields;
+        this.upsert = upsert;
+        this.deleted = deleted;
+        this.reload = reload;
+        this.enqueuedAt = enqueuedAt;
+        this.attempts = attempts;
+        this.notBefore = notBefore;
+    }
+
+    public static ProductIndexChange upsert(Map<String, Object> fields, long now) {
+        return new ProductIndexChange(Map.copyOf(fields), true, false, false, now, 0, 0);
+    }
+
+    public static ProductIndexChange update(Map<String, Object> fields, long now) {
+        return new ProductIndexChange(Map.copyOf(fields), false, false, false, now, 0, 0);
+    }
+
+    public static ProductIndexChange delete(long now) {
+        return new ProductIndexChange(Map.of(), false, true, false, now, 0, 0);
+    }
+
+    public static ProductIndexChange reload(long now) {
+        return new ProductIndexChange(Map.of(), true, false, true, now, 0, 0);
+    }
+
+    // this 가 먼저 들어온 변경, later 가 나중 변경. 대기 시간(lag)과 재시도 상태는 먼저 들어온 쪽을 유지한다.
+    public ProductIndexChange merge(ProductIndexChange later) {
+        if (later.deleted) {
+            return new ProductIndexChange(Map.of(), false, true, false, enqueuedAt, attempts, notBefore);
+        }
+        if (deleted) {
+            // 상품 id 는 재사용되지 않으므로 삭제 뒤의 변경은 삭제 전에 읽은 값(재동기화 등)이다. 삭제를 유지한다.
+            return this;
+        }
+        if (reload || later.reload) {
+            // 대기 중인 변경은 이미 커밋됐으므로 보낼 때 다시 읽는 문서에 모두 들어 있다.
+            return new ProductIndexChange(Map.of(), true, false, true, enqueuedAt, attempts, notBefore);
+        }
+        Map<String, Object> merged = new LinkedHashMap<>(fields);
+        merged.putAll(later.fields);
+        return new ProductIndexChange(merged, upsert || later.upsert, false, false, enqueuedAt, attempts, notBefore);
+    }
+
+    // 재동기화 변경에 방금 읽은 문서를 채운다. 재시도되면 다시 읽으므로 reload 는 유지한다.
+    public ProductIndexChange withDocument(Map<String, Object> document) {
+        return new ProductIndexChange(Map.copyOf(document), true, false, true, enqueuedAt, attempts, notBefore);
+    }
+
+    public ProductIndexChange retryAt(long notBefore) {
+        return new ProductIndexChange(fields, upsert, deleted, reload, enqueuedAt, attempts + 1, notBefore);
+    }
+
+    public boolean isReady(long now) {
+        return notBefore <= now;
+    }
+}
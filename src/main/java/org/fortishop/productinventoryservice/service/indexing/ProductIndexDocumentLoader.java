@@ -0,0 +1,51 @@
+package org.fortishop.productinventoryservice.service.indexing;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.fortishop.productinventoryservice.Repository.InventoryRepository;
+import org.fortishop.productinventoryservice.Repository.ProductRepository;
+import org.fortishop.productinventoryservice.domain.Inventory;
+import org.fortishop.productinventoryservice.domain.Product;
+import org.fortishop.productinventoryservice.service.InventoryShardService;
+import org.springframework.stereotype.Component;
+
+// 재동기화 변경을 보내기 직전에 DB 에서 검색 문서 전체(재고 포함)를 다시 만든다.
+// 그 사이 삭제된 상품은 결과에서 빠지므로, 재동기화가 이미 지운 문서를 되살리지 않는다.
+@Component
+@RequiredArgsConstructor
+public class ProductIndexDocumentLoader {
+
+    private final ProductRepository productRepository;
+    private final InventoryRepository inventoryRepository;
+    private final InventoryShardService inventoryShardService;
+
+    public Map<Long, Map<String, Object>> load(Collection<Long> productIds) {
+        Map<Long, Integer> quantities = new HashMap<>();
+        for (Inventory inventory : inventoryRepository.findByProductIdIn(productIds)) {
+            Long productId = inventory.getProductId();
+            quantities.put(productId, inventory.getQuantity() + inventoryShardService.shardedQuantity(productId));
+        }
+
+        Map<Long, Map<String, Object>> documents = new HashMap<>();
+        for (Product product : productRepository.findAllById(productIds)) {
+            Map<String, Object> fields = new LinkedHashMap<>();
+            fields.put("id", product.getId());
+            putIfPresent(fields, "name", product.getName());
+            putIfPresent(fields, "description", product.getDescription());
+            putIfPresent(fields, "price", product.getPrice());
+            fields.put("quantity", quantities.getOrDefault(product.getId(), 0));
+            putIfPresent(fields, "category", product.getCategory());
+            documents.put(product.getId(), fields);
+        }
+        return documents;
+    }
+
+    private void putIfPresent(Map<String, Object> fields, String field, Object value) {
+        if (value != null) {
+            fields.put(field, value);
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package org.fortishop.productinventoryservice.service.indexing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.fortishop.productinventoryservice.global.config.SearchIndexingProperties;
+import org.fortishop.productinventoryservice.global.config.WorkerThreadFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.elasticsearch.BulkFailureException;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.document.Document;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.UpdateQuery;
+import org.springframework.stereotype.Component;
+
+// 커밋된 상품 변경을 상품 id 별로 합쳐 두었다가 windowMs 또는 maxBatchSize 단위로 ES _bulk 한 번에 반영한다.
+// ES 장애(연결 실패, 429, 5xx)는 최대 backoff 간격으로 계속 재시도하고, 문서 자체가 잘못된 4xx 만 maxAttempts 뒤에 버린다.
+// 큐는 메모리에만 있으므로 노드가 죽어 잃은 변경은 ProductIndexReconciler 가 updated_at 기준으로 다시 채운다.
+// 재동기화 변경은 보내기 직전에 ProductIndexDocumentLoader 로 DB 를 다시 읽어 문서를 만든다.
+@Slf4j
+@Component
+public class ProductIndexQueue implements DisposableBean {
+
+    private static final IndexCoordinates PRODUCT_INDEX = IndexCoordinates.of("products");
+    private static final String DELETE_SCRIPT = "ctx.op = 'delete'";
+    private static final int RETRY_ON_CONFLICT = 3;
+
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final SearchIndexingProperties properties;
+    private final ProductIndexDocumentLoader documentLoader;
+    private final ConcurrentHashMap<Long, ProductIndexChange> pending = new ConcurrentHashMap<>();
+    private final Semaphore wakeup = new Semaphore(0);
+    private final ExecutorService executor;
+    private final Timer lagTimer;
+    private final Timer bulkTimer;
+    private final DistributionSummary batchSizeSummary;
+    private final Counter indexed;
+    private final Counter retried;
+    private final Counter dropped;
+    private volatile boolean running = true;
+
+    public ProductIndexQueue(ElasticsearchOperations elasticsearchOperations, SearchIndexingProperties properties,
+                             ProductIndexDocumentLoader documentLoader, MeterRegistry meterRegistry,
+                             WorkerThreadFactory workerThreadFactory) {
+        this.elasticsearchOperations = elasticsearchOperations;
+        this.properties = properties;
+        this.documentLoader = documentLoader;
+        this.lagTimer = meterRegistry.timer("search.indexing.lag");
+        this.bulkTimer = meterRegistry.timer("search.indexing.bulk");
+        this.batchSizeSummary = DistributionSummary.builder("search.indexing.batch.size").register(meterRegistry);
+        this.indexed = meterRegistry.counter("search.indexing.documents", "result", "indexed");
+        this.retried = meterRegistry.counter("search.indexing.documents", "result", "retried");
+        this.dropped = meterRegistry.counter("search.indexing.documents", "result", "dropped");
+        Gauge.builder("search.indexing.queue.depth", pending, Map::size).register(meterRegistry);
+        Gauge.builder("search.indexing.queue.oldest.age", this, ProductIndexQueue::oldestAgeMillis)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        this.executor = Executors.newSingleThreadExecutor(workerThreadFactory.named("product-index-queue"));
+        executor.execute(this::run);
+    }
+
+    public void submit(Long productId, ProductIndexChange change) {
+        pending.merge(productId, change, ProductIndexChange::merge);
+        if (pending.size() >= properties.getMaxBatchSize()) {
+            wakeup.release();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        running = false;
+        wakeup.release();
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                log.warn("⚠️ 검색 색인 큐 종료 대기 시간 초과: pending={}", pending.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                wakeup.tryAcquire(properties.getWindowMs(), TimeUnit.MILLISECONDS);
+                wakeup.drainPermits();
+                flush(System.currentTimeMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("❌ 검색 색인 큐 처리 중 예외 발생: {}", e.getMessage(), e);
+            }
+        }
+        // 종료 시 남은 변경은 backoff 를 무시하고 한 번 더 보낸다.
+        flush(Long.MAX_VALUE);
+    }
+
+    private void flush(long now) {
+        List<Map.Entry<Long, ProductIndexChange>> batch = drain(now);
+        while (!batch.isEmpty()) {
+            send(batch);
+            if (batch.size() < properties.getMaxBatchSize()) {
+                return;
+            }
+            batch = drain(now);
+        }
+    }
+
+    private List<Map.Entry<Long, ProductIndexChange>> drain(long now) {
+        List<Map.Entry<Long, ProductIndexChange>> batch = new ArrayList<>();
+        for (Map.Entry<Long, ProductIndexChange> entry : pending.entrySet()) {
+            if (batch.size() >= properties.getMaxBatchSize()) {
+                break;
+            }
+            if (!entry.getValue().isReady(now)) {
+                continue;
+            }
+            ProductIndexChange change = pending.remove(entry.getKey());
+            if (change != null) {
+                batch.add(Map.entry(entry.getKey(), change));
+            }
+        }
+        return batch;
+    }
+
+    private void send(List<Map.Entry<Long, ProductIndexChange>> changes) {
+        List<Map.Entry<Long, ProductIndexChange>> batch = loadReloads(changes);
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<UpdateQuery> queries = batch.stream()
+                .map(entry -> toUpdateQuery(entry.getKey(), entry.getValue()))
+                .toList();
+        Map<String, BulkFailureException.FailureDetails> failed = Map.of();
+        Timer.Sample sample = Timer.start();
+        try {
+            elasticsearchOperations.bulkUpdate(queries, PRODUCT_INDEX);
+        } catch (BulkFailureException e) {
+            failed = e.getFailedDocuments();
+        } catch (Exception e) {
+            log.warn("⚠️ 검색 색인 bulk 요청 실패, 재시도 예약: size={}, error={}", batch.size(), e.getMessage());
+            batch.forEach(entry -> retry(entry.getKey(), entry.getValue(), true));
+            return;
+        } finally {
+            sample.stop(bulkTimer);
+            batchSizeSummary.record(batch.size());
+        }
+
+        long completedAt = System.currentTimeMillis();
+        for (Map.Entry<Long, ProductIndexChange> entry : batch) {
+            BulkFailureException.FailureDetails failure = failed.get(entry.getKey().toString());
+            if (failure == null) {
+                indexed.increment();
+                lagTimer.record(Math.max(0, completedAt - entry.getValue().getEnqueuedAt()), TimeUnit.MILLISECONDS);
+            } else if (failure.status() != null && failure.status() == 404) {
+                // 문서가 없는 상품의 부분 갱신/삭제는 재시도해도 성공하지 않는다.
+                dropped.increment();
+                log.debug("ℹ️ 검색 문서가 없어 색인을 건너뜁니다. productId={}", entry.getKey());
+            } else {
+                log.warn("⚠️ 검색 색인 실패, 재시도 예약: productId={}, status={}, error={}",
+                        entry.getKey(), failure.status(), failure.errorMessage());
+                retry(entry.getKey(), entry.getValue(), isTransient(failure.status()));
+            }
+        }
+    }
+
+    // 재동기화 변경은 지금 DB 값으로 문서를 채운다. DB 를 읽지 못하면 ES 장애처럼 횟수 제한 없이 재시도한다.
+    // 읽은 뒤 보내기 전에 삭제된 상품은 그 삭제 변경이 커밋 후에 큐에 들어오므로 다음 flush 에서 다시 지워진다.
+    private List<Map.Entry<Long, ProductIndexChange>> loadReloads(List<Map.Entry<Long, ProductIndexChange>> batch) {
+        List<Long> reloadIds = batch.stream()
+                .filter(entry -> entry.getValue().isReload())
+                .map(Map.Entry::getKey)
+                .toList();
+        if (reloadIds.isEmpty()) {
+            return batch;
+        }
+        Map<Long, Map<String, Object>> documents;
+        try {
+            documents = documentLoader.load(reloadIds);
+        } catch (Exception e) {
+            log.warn("⚠️ 재동기화 문서 조회 실패, 재시도 예약: size={}, error={}", reloadIds.size(), e.getMessage());
+            documents = null;
+        }
+
+        List<Map.Entry<Long, ProductIndexChange>> loaded = new ArrayList<>(batch.size());
+        for (Map.Entry<Long, ProductIndexChange> entry : batch) {
+            ProductIndexChange change = entry.getValue();
+            if (!change.isReload()) {
+                loaded.add(entry);
+            } else if (documents == null) {
+                retry(entry.getKey(), change, true);
+            } else if (documents.containsKey(entry.getKey())) {
+                loaded.add(Map.entry(entry.getKey(), change.withDocument(documents.get(entry.getKey()))));
+            } else {
+                // 이미 삭제된 상품. 문서를 만들면 삭제된 상품이 검색에 되살아난다.
+                dropped.increment();
+                log.debug("ℹ️ 삭제된 상품이라 재동기화를 건너뜁니다. productId={}", entry.getKey());
+            }
+        }
+        return loaded;
+    }
+
+    // 클러스터 상태 때문에 실패한 변경(transient)은 횟수 제한 없이 재시도한다.
+    private void retry(Long productId, ProductIndexChange change, boolean transientFailure) {
+        if (!transientFailure && change.getAttempts() + 1 >= properties.getMaxAttempts()) {
+            dropped.increment();
+            log.error("❌ 검색 색인 재시도 한도 초과로 변경을 버립니다: productId={}, attempts={}",
+                    productId, change.getAttempts() + 1);
+            return;
+        }
+        long backoff = Math.min(properties.getMaxRetryBackoffMs(),
+                properties.getRetryBackoffMs() << Math.min(change.getAttempts(), 20));
+        retried.increment();
+        // 재시도를 기다리는 동안 들어온 새 변경은 실패한 변경 위에 덮어쓴다.
+        pending.merge(productId, change.retryAt(System.currentTimeMillis() + backoff),
+                (current, failed) -> failed.merge(current));
+    }
+
+    // 상태 코드가 없거나 충돌/과부하/서버 오류면 ES 가 회복되면 성공할 수 있다.
+    private static boolean isTransient(Integer status) {
+        return status == null || status == 408 || status == 409 || status == 429 || status >= 500;
+    }
+
+    private UpdateQuery toUpdateQuery(Long productId, ProductIndexChange change) {
+        UpdateQuery.Builder builder = UpdateQuery.builder(productId.toString())
+                .withRetryOnConflict(RETRY_ON_CONFLICT);
+        if (change.isDeleted()) {
+            return builder.withScript(DELETE_SCRIPT).withLang("painless").build();
+        }
+        return builder.withDocument(Document.from(change.getFields()))
+                .withDocAsUpsert(change.isUpsert())
+                .build();
+    }
+
+    // 아직 색인되지 않은 가장 오래된 변경이 들어온 시각. 대기 중인 변경이 없으면 now.
+    public long oldestEnqueuedAt(long now) {
+        return pending.values().stream()
+                .mapToLong(ProductIndexChange::getEnqueuedAt)
+                .min()
+                .orElse(now);
+    }
+
+    private double oldestAgeMillis() {
+        long now = System.currentTimeMillis();
+        return Math.max(0, now - oldestEnqueuedAt(now));
+    }
+}
@@ -0,0 +1,163 @@
+package org.fortishop.productinventoryservice.service.indexing;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.fortishop.productinventoryservice.Repository.InventoryRepository;
+import org.fortishop.productinventoryservice.Repository.ProductRepository;
+import org.fortishop.productinventoryservice.domain.Inventory;
+import org.fortishop.productinventoryservice.domain.Product;
+import org.fortishop.productinventoryservice.global.config.SearchIndexingProperties;
+import org.fortishop.productinventoryservice.service.ProductSyncService;
+import org.redisson.api.RBucket;
+import org.redisson.api.RLock;
+import org.redisson.api.RScoredSortedSet;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.client.protocol.ScoredEntry;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// ProductIndexQueue 는 메모리에만 있어서 노드가 죽으면 아직 색인되지 않은 변경을 잃는다.
+// 워터마크 이후 상품(updated_at)이나 재고(last_updated)가 바뀐 상품을 주기적으로 다시 큐에 넣어 검색 문서를 DB 에 맞춘다.
+// 워터마크는 Redis 에 두고, 락을 잡은 노드 하나만 수행한다.
+// 각 노드는 자기 큐에서 가장 오래 기다린 변경의 시각을 Redis 에 보고하고, 워터마크는 모든 노드의 보고값을 넘지 않는다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductIndexReconciler {
+
+    private static final String LOCK_KEY = "lock:search:index-reconcile";
+    private static final String WATERMARK_KEY = "search:index-reconcile:watermark";
+    // 노드별 큐에서 가장 오래된 대기 변경 시각, 노드별 마지막 보고 시각
+    private static final String OLDEST_PENDING_KEY = "search:index-queue:oldest";
+    private static final String HEARTBEAT_KEY = "search:index-queue:heartbeat";
+    // updated_at 은 커밋 전에 찍히므로, 워터마크 직전에 찍히고 늦게 커밋된 변경도 다음 주기에 다시 읽는다.
+    private static final long COMMIT_SKEW_MS = 60_000;
+    // 보고가 이만큼 연달아 빠진 노드는 죽은 것으로 본다.
+    private static final int MISSED_HEARTBEATS = 3;
+
+    private final ProductRepository productRepository;
+    private final InventoryRepository inventoryRepository;
+    private final ProductSyncService productSyncService;
+    private final ProductIndexQueue productIndexQueue;
+    private final RedissonClient redissonClient;
+    private final SearchIndexingProperties properties;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    // 큐가 비어 있으면 보고 시각을 올리므로, 보고 뒤에 들어온 변경은 항상 보고값보다 늦다.
+    // 그래서 보고가 조금 오래됐어도 워터마크가 아직 색인되지 않은 변경을 앞지르지 않는다.
+    @Scheduled(fixedDelayString = "${search.indexing.reconcile-heartbeat-ms:10000}")
+    public void reportOldestPending() {
+        if (!properties.isReconcileEnabled()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        oldestPending().add(productIndexQueue.oldestEnqueuedAt(now), nodeId);
+        heartbeats().add(now, nodeId);
+    }
+
+    @Scheduled(fixedDelayString = "${search.indexing.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        if (!properties.isReconcileEnabled()) {
+            return;
+        }
+        RLock lock = redissonClient.getLock(LOCK_KEY);
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            RBucket<Long> watermark = redissonClient.getBucket(WATERMARK_KEY);
+            long now = System.currentTimeMillis();
+            Long last = watermark.get();
+            long since = last != null ? last - COMMIT_SKEW_MS : now - properties.getReconcileLookbackMs();
+            int submitted = reindex(toLocalDateTime(since), toLocalDateTime(now));
+
+            // ES 장애로 어느 노드 큐에든 밀린 변경이 있으면 그 변경이 들어온 시점부터 다음 주기에 다시 읽는다.
+            watermark.set(Math.min(now, clusterOldestPending(now, last)));
+            if (submitted > 0) {
+                log.info("🔄 검색 색인 재동기화: {}건을 다시 색인 큐에 넣었습니다.", submitted);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 모든 노드의 보고값 중 가장 이른 시각. 죽은 노드의 보고값은 이번 주기가 그 시각부터 다시 읽었을 때만 지운다.
+    private long clusterOldestPending(long now, Long last) {
+        long oldest = productIndexQueue.oldestEnqueuedAt(now);
+        Map<String, Double> heartbeatByNode = new HashMap<>();
+        for (ScoredEntry<String> entry : heartbeats().entryRange(0, -1)) {
+            heartbeatByNode.put(entry.getValue(), entry.getScore());
+        }
+        long deadBefore = now - MISSED_HEARTBEATS * properties.getReconcileHeartbeatMs();
+        for (ScoredEntry<String> entry : oldestPending().entryRange(0, -1)) {
+            long reported = entry.getScore().longValue();
+            Double heartbeat = heartbeatByNode.get(entry.getValue());
+            boolean dead = heartbeat == null || heartbeat < deadBefore;
+            if (dead && last != null && last <= reported) {
+                oldestPending().remove(entry.getValue());
+                heartbeats().remove(entry.getValue());
+                log.info("🧹 죽은 노드의 색인 큐 보고 정리: node={}", entry.getValue());
+                continue;
+            }
+            oldest = Math.min(oldest, reported);
+        }
+        return oldest;
+    }
+
+    // 조회 도중 다시 바뀐 상품은 updated_at 이 until 이후로 밀려 다음 주기에 읽힌다.
+    // 같은 상품이 두 번 들어와도 큐에서 하나로 합쳐지고, 문서는 보낼 때 DB 에서 다시 읽는다.
+    private int reindex(LocalDateTime since, LocalDateTime until) {
+        return reindex(since, until, productRepository::findUpdatedAfter, Product::getUpdatedAt, Product::getId,
+                Product::getId)
+                + reindex(since, until, inventoryRepository::findUpdatedAfter, Inventory::getLastUpdated,
+                Inventory::getId, Inventory::getProductId);
+    }
+
+    private <T> int reindex(LocalDateTime since, LocalDateTime until, KeysetQuery<T> query,
+                            Function<T, LocalDateTime> updatedAt, Function<T, Long> id,
+                            Function<T, Long> productId) {
+        int submitted = 0;
+        LocalDateTime lastUpdatedAt = since;
+        long lastId = 0L;
+        while (true) {
+            List<T> rows = query.find(lastUpdatedAt, lastId, until,
+                    PageRequest.of(0, properties.getReconcileBatchSize()));
+            rows.forEach(row -> productSyncService.reindex(productId.apply(row)));
+            submitted += rows.size();
+            if (rows.size() < properties.getReconcileBatchSize()) {
+                return submitted;
+            }
+            T lastRow = rows.get(rows.size() - 1);
+            lastUpdatedAt = updatedAt.apply(lastRow);
+            lastId = id.apply(lastRow);
+        }
+    }
+
+    private RScoredSortedSet<String> oldestPending() {
+        return redissonClient.getScoredSortedSet(OLDEST_PENDING_KEY, StringCodec.INSTANCE);
+    }
+
+    private RScoredSortedSet<String> heartbeats() {
+        return redissonClient.getScoredSortedSet(HEARTBEAT_KEY, StringCodec.INSTANCE);
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    @FunctionalInterface
+    private interface KeysetQuery<T> {
+        List<T> find(LocalDateTime updatedAt, Long id, LocalDateTime until, Pageable pageable);
+    }
+}
@@ -0,0 +1,223 @@
+package org.fortishop.productinventoryservice.service.popularity;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.fortishop.productinventoryservice.global.config.PopularityProperties;
+import org.fortishop.productinventoryservice.service.popularity.sketch.CountMinSketch;
+import org.fortishop.productinventoryservice.service.popularity.sketch.SpaceSavingTopK;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// 상품 조회를 인스턴스 내 Count-Min Sketch + Space-Saving 후보 집합으로 집계한다. (source=SKETCH 일 때만 동작)
+// 조회 경로는 배열 갱신뿐이라 할당/IO 가 없고, 메모리는 카탈로그 크기와 무관하게 depth * width 로 고정된다.
+// 주기적으로 각 노드의 sketch 와 후보를 Redis 에 올리고 모두 더해 클러스터 전체 순위를 만든 뒤,
+// 순위는 상품 id 만 들고 있고, 상품 요약은 응답을 만들 때마다 DB 에서 읽어 수정 내용이 바로 반영된다.
+@Slf4j
+@Component
+public class HeavyHitterTracker {
+
+    private static final String NODES_KEY = "product:popularity:nodes";
+    private static final String SKETCH_KEY_PREFIX = "product:popularity:sketch:";
+    private static final String CANDIDATES_KEY_PREFIX = "product:popularity:candidates:";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final PopularityProperties.Sketch properties;
+    private final boolean enabled;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final CountMinSketch sketch;
+    private final SpaceSavingTopK candidates;
+    private final ReentrantLock candidatesLock = new ReentrantLock();
+    private final Timer mergeTimer;
+    private volatile List<Long> rankedIds = List.of();
+    private long nextDecayAt;
+
+    public HeavyHitterTracker(RedisTemplate<String, String> redisTemplate, PopularityProperties popularityProperties,
+                              MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.properties = popularityProperties.getSketch();
+        this.enabled = popularityProperties.getSource() == PopularityProperties.Source.SKETCH;
+        this.sketch = new CountMinSketch(properties.getDepth(), properties.getWidth());
+        this.candidates = new SpaceSavingTopK(properties.getTopK());
+        this.mergeTimer = meterRegistry.timer("product.popularity.sketch.merge");
+        this.nextDecayAt = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(properties.getHalfLifeMinutes());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void record(long productId) {
+        if (!enabled) {
+            return;
+        }
+        sketch.add(productId, 1);
+        long estimate = sketch.estimate(productId);
+        // 후보 최솟값 이하면 후보 집합이 바뀌지 않으므로 잠금 없이 끝낸다.
+        if (candidates.isFull() && estimate <= candidates.minCount()) {
+            return;
+        }
+        // 인기 상품은 대부분 이미 후보이므로 그 칸의 카운트만 잠금 없이 올린다. 새 후보일 때만 잠근다.
+        if (candidates.raiseIfPresent(productId, estimate)) {
+            return;
+        }
+        candidatesLock.lock();
+        try {
+            candidates.offer(productId, estimate);
+        } finally {
+            candidatesLock.unlock();
+        }
+    }
+
+    // 마지막 병합 결과의 상품 id. 아직 병합 전이면 빈 목록
+    public List<Long> topProductIds(int limit) {
+        List<Long> snapshot = rankedIds;
+        return snapshot.size() <= limit ? snapshot : snapshot.subList(0, limit);
+    }
+
+    @Scheduled(fixedDelayString = "${product.popularity.sketch.merge-interval-ms:10000}")
+    public void merge() {
+        if (!enabled) {
+            return;
+        }
+        mergeTimer.record(() -> {
+            try {
+                decayIfDue();
+                rankedIds = rankClusterWide();
+            } catch (Exception e) {
+                // 이전 순위를 그대로 두고 다음 주기에 다시 시도
+                log.warn("⚠️ 인기 상품 sketch 병합 실패: error={}", e.getMessage());
+            }
+        });
+    }
+
+    private List<Long> rankClusterWide() {
+        long[] localTable = sketch.snapshot();
+        List<Long> localCandidates;
+        candidatesLock.lock();
+        try {
+            localCandidates = candidates.items();
+        } finally {
+            candidatesLock.unlock();
+        }
+
+        CountMinSketch merged = new CountMinSketch(sketch.getDepth(), sketch.getWidth());
+        Set<Long> union = new HashSet<>(localCandidates);
+        try {
+            publish(localTable, localCandidates);
+            mergeRemote(merged, union);
+        } catch (Exception e) {
+            // Redis 장애 시 이 노드의 집계만으로 순위를 만든다.
+            log.warn("⚠️ sketch Redis 병합 실패, 로컬 집계만 사용: error={}", e.getMessage());
+            merged = new CountMinSketch(sketch.getDepth(), sketch.getWidth());
+            merged.merge(localTable);
+            union = new HashSet<>(localCandidates);
+        }
+
+        CountMinSketch estimates = merged;
+        return union.stream()
+                .sorted(Comparator.comparingLong(estimates::estimate).reversed())
+                .limit(properties.getTopK())
+                .toList();
+    }
+
+    private void publish(long[] table, List<Long> localCandidates) {
+        Duration ttl = Duration.ofSeconds(properties.getNodeTtlSeconds());
+        String encodedTable = encode(table);
+        String encodedCandidates = localCandidates.stream().map(String::valueOf).collect(Collectors.joining(","));
+        long now = System.currentTimeMillis();
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                operations.opsForValue().set(SKETCH_KEY_PREFIX + nodeId, encodedTable, ttl);
+                operations.opsForValue().set(CANDIDATES_KEY_PREFIX + nodeId, encodedCandidates, ttl);
+                operations.opsForZSet().add(NODES_KEY, nodeId, now);
+                operations.opsForZSet().removeRangeByScore(NODES_KEY, 0, now - ttl.toMillis());
+                return null;
+            }
+        });
+    }
+
+    // 살아 있는 모든 노드(자기 자신 포함)의 sketch 를 더하고 후보를 합친다.
+    private void mergeRemote(CountMinSketch merged, Set<Long> union) {
+        Set<String> nodes = redisTemplate.opsForZSet().range(NODES_KEY, 0, -1);
+        if (nodes == null || nodes.isEmpty()) {
+            merged.merge(sketch.snapshot());
+            return;
+        }
+        List<String> keys = new ArrayList<>(nodes.size() * 2);
+        for (String node : nodes) {
+            keys.add(SKETCH_KEY_PREFIX + node);
+            keys.add(CANDIDATES_KEY_PREFIX + node);
+        }
+        List<String> values = redisTemplate.opsForValue().multiGet(keys);
+        if (values == null) {
+            throw new IllegalStateException("sketch 조회 결과가 없습니다.");
+        }
+
+        int expectedLength = sketch.getDepth() * sketch.getWidth();
+        for (int i = 0; i < values.size(); i += 2) {
+            String table = values.get(i);
+            if (table == null) {
+                continue;
+            }
+            long[] decoded = decode(table);
+            if (decoded.length != expectedLength) {
+                // sketch 크기 설정이 다른 노드 (배포 중 설정 변경 등)
+                log.warn("⚠️ sketch 크기가 달라 병합에서 제외: key={}", keys.get(i));
+                continue;
+            }
+            merged.merge(decoded);
+            String nodeCandidates = values.get(i + 1);
+            if (nodeCandidates != null && !nodeCandidates.isEmpty()) {
+                Arrays.stream(nodeCandidates.split(",")).map(Long::valueOf).forEach(union::add);
+            }
+        }
+    }
+
+    private void decayIfDue() {
+        long now = System.currentTimeMillis();
+        if (now < nextDecayAt) {
+            return;
+        }
+        nextDecayAt = now + TimeUnit.MINUTES.toMillis(properties.getHalfLifeMinutes());
+        sketch.decay();
+        candidatesLock.lock();
+        try {
+            candidates.decay();
+        } finally {
+            candidatesLock.unlock();
+        }
+    }
+
+    private String encode(long[] table) {
+        ByteBuffer buffer = ByteBuffer.allocate(table.length * Long.BYTES);
+        buffer.asLongBuffer().put(table);
+        return Base64.getEncoder().encodeToString(buffer.array());
+    }
+
+    private long[] decode(String value) {
+        ByteBuffer buffer = ByteBuffer.wrap(Base64.getDecoder().decode(value));
+        long[] table = new long[buffer.remaining() / Long.BYTES];
+        buffer.asLongBuffer().get(table);
+        return table;
+    }
+}
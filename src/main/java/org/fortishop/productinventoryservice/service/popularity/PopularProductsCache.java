@@ -0,0 +1,140 @@
+package org.fortishop.productinventoryservice.service.popularity;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.fortishop.productinventoryservice.dto.response.ProductSummaryResponse;
+import org.fortishop.productinventoryservice.global.cache.CacheEvictEvent;
+import org.fortishop.productinventoryservice.global.cache.TwoTierCache;
+import org.fortishop.productinventoryservice.global.config.PopularityProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.stereotype.Component;
+
+// limit 구간별로 미리 직렬화한 인기 상품 응답(JSON bytes).
+// 메모리에 없으면 Redis GET 한 번으로 가져오고, 갱신은 구간별 blob 을 통째로 바꿔 끼운 뒤 다른 노드의 메모리 사본을 무효화한다.
+@Slf4j
+@Component
+public class PopularProductsCache {
+
+    private static final String KEY_PREFIX = "product:popular:";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final TwoTierCache twoTierCache;
+    private final ObjectMapper objectMapper;
+    private final List<Integer> buckets;
+    private final Duration ttl;
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile Map<Integer, byte[]> blobs = Map.of();
+    // 마지막으로 이 노드가 만든 목록에 포함된 상품 (변경 시 즉시 갱신 대상)
+    private volatile Set<Long> listedProductIds = Set.of();
+
+    public PopularProductsCache(RedisTemplate<String, String> redisTemplate, TwoTierCache twoTierCache,
+                                ObjectMapper objectMapper, PopularityProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.twoTierCache = twoTierCache;
+        this.objectMapper = objectMapper;
+        this.buckets = properties.getResponseBuckets().stream().sorted().distinct().toList();
+        this.ttl = Duration.ofSeconds(properties.getResponseTtlSeconds());
+    }
+
+    public int maxBucket() {
+        return buckets.isEmpty() ? 0 : buckets.get(buckets.size() - 1);
+    }
+
+    public boolean isListed(Long productId) {
+        return listedProductIds.contains(productId);
+    }
+
+    // 미리 만든 구간이 아니거나 아직 만들어지지 않았으면 null
+    public byte[] get(int limit) {
+        if (!buckets.contains(limit)) {
+            return null;
+        }
+        byte[] blob = blobs.get(limit);
+        if (blob != null) {
+            return blob;
+        }
+
+        String json = redisTemplate.opsForValue().get(KEY_PREFIX + limit);
+        if (json == null) {
+            return null;
+        }
+        blob = json.getBytes(StandardCharsets.UTF_8);
+        lock.lock();
+        try {
+            Map<Integer, byte[]> updated = new HashMap<>(blobs);
+            updated.put(limit, blob);
+            blobs = Map.copyOf(updated);
+        } finally {
+            lock.unlock();
+        }
+        return blob;
+    }
+
+    // ranked 는 maxBucket() 개까지의 순위 목록
+    public void replace(List<ProductSummaryResponse> ranked) {
+        Map<Integer, byte[]> built = new LinkedHashMap<>();
+        for (Integer bucket : buckets) {
+            built.put(bucket, serialize(ranked.subList(0, Math.min(bucket, ranked.size()))));
+        }
+
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                built.forEach((bucket, blob) -> operations.opsForValue()
+                        .set(KEY_PREFIX + bucket, new String(blob, StandardCharsets.UTF_8), ttl));
+                return null;
+            }
+        });
+
+        List<String> keys = new ArrayList<>(built.size());
+        built.keySet().forEach(bucket -> keys.add(KEY_PREFIX + bucket));
+        lock.lock();
+        try {
+            // 자기 자신에게도 전달되므로 새 blob 을 넣기 전에 무효화를 먼저 보낸다.
+            twoTierCache.publishInvalidation(keys);
+            blobs = Collections.unmodifiableMap(built);
+            listedProductIds = ranked.stream().map(ProductSummaryResponse::getId).collect(Collectors.toUnmodifiableSet());
+        } finally {
+            lock.unlock();
+        }
+        log.debug("📦 인기 상품 응답 갱신: buckets={}, products={}", buckets, ranked.size());
+    }
+
+    public byte[] serialize(List<ProductSummaryResponse> products) {
+        try {
+            return objectMapper.writeValueAsBytes(products);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("인기 상품 응답 직렬화 실패", e);
+        }
+    }
+
+    @EventListener
+    public void onRemoteEvict(CacheEvictEvent event) {
+        if (event.getKeys() == null || event.getKeys().stream().noneMatch(key -> key.startsWith(KEY_PREFIX))) {
+            return;
+        }
+        lock.lock();
+        try {
+            blobs = Map.of();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package org.fortishop.productinventoryservice.service.popularity;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.fortishop.productinventoryservice.global.config.PopularityProperties;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.zset.Aggregate;
+import org.springframework.data.redis.connection.zset.Weights;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// 조회수를 시간 단위 버킷 ZSET 에 쌓고, 최근 windowHours 개 버킷을 감쇠 가중치로 합산한 랭킹 ZSET 을 주기적으로 다시 만든다.
+// 버킷은 window 가 지나면 만료되고 랭킹은 상위 maxRankingSize 개만 남기므로 Redis 메모리가 한정된다.
+@Slf4j
+@Component
+public class PopularityRanking {
+
+    private static final String BUCKET_KEY_PREFIX = "product:views:h:";
+    private static final String RANKING_KEY = "product:views:ranking";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final PopularityProperties properties;
+
+    public PopularityRanking(RedisTemplate<String, String> redisTemplate, PopularityProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+    }
+
+    // 현재 시간 버킷에 조회수를 한 번의 pipeline 으로 반영
+    public void record(Map<Long, Long> views) {
+        String bucketKey = bucketKey(currentHour());
+        Duration bucketTtl = Duration.ofHours(properties.getWindowHours() + 1L);
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                views.forEach((productId, count) -> operations.opsForZSet()
+                        .incrementScore(bucketKey, productId.toString(), count));
+                operations.expire(bucketKey, bucketTtl);
+                return null;
+            }
+        });
+    }
+
+    public List<Long> topProductIds(int limit) {
+        Set<String> ids = redisTemplate.opsForZSet().reverseRange(RANKING_KEY, 0, limit - 1);
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        return ids.stream().map(Long::valueOf).toList();
+    }
+
+    @Scheduled(fixedDelayString = "${product.popularity.rebuild-interval-ms:30000}")
+    public void rebuild() {
+        long hour = currentHour();
+        List<String> keys = new ArrayList<>(properties.getWindowHours());
+        double[] weights = new double[properties.getWindowHours()];
+        for (int age = 0; age < properties.getWindowHours(); age++) {
+            keys.add(bucketKey(hour - age));
+            weights[age] = Math.pow(properties.getHourlyDecay(), age);
+        }
+
+        // 없는 버킷은 빈 집합으로 취급되므로 그대로 합산해도 된다.
+        Long size = redisTemplate.opsForZSet().unionAndStore(keys.get(0), keys.subList(1, keys.size()),
+                RANKING_KEY, Aggregate.SUM, Weights.of(weights));
+        if (size != null && size > properties.getMaxRankingSize()) {
+            redisTemplate.opsForZSet().removeRange(RANKING_KEY, 0, size - properties.getMaxRankingSize() - 1);
+        }
+        redisTemplate.expire(RANKING_KEY, properties.getWindowHours(), TimeUnit.HOURS);
+        log.debug("📈 인기 상품 랭킹 갱신: size={}", size);
+    }
+
+    private long currentHour() {
+        return TimeUnit.MILLISECONDS.toHours(System.currentTimeMillis());
+    }
+
+    private String bucketKey(long hour) {
+        return BUCKET_KEY_PREFIX + hour;
+    }
+}
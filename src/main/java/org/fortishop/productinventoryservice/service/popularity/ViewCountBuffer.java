@@ -0,0 +1,87 @@
+package org.fortishop.productinventoryservice.service.popularity;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// 상품 조회수를 메모리에 모았다가 주기적으로 한 번에 PopularityRanking 에 반영한다.
+@Slf4j
+@Component
+public class ViewCountBuffer implements DisposableBean {
+
+    private final PopularityRanking popularityRanking;
+    private final ConcurrentHashMap<Long, LongAdder> counts = new ConcurrentHashMap<>();
+    private final Timer flushTimer;
+    private final Counter flushedViews;
+
+    public ViewCountBuffer(PopularityRanking popularityRanking, MeterRegistry meterRegistry) {
+        this.popularityRanking = popularityRanking;
+        this.flushTimer = meterRegistry.timer("product.views.flush");
+        this.flushedViews = meterRegistry.counter("product.views.flushed");
+        Gauge.builder("product.views.buffer.size", counts, Map::size).register(meterRegistry);
+    }
+
+    public void increment(Long productId) {
+        LongAdder adder = counts.computeIfAbsent(productId, id -> new LongAdder());
+        adder.increment();
+        // flush 가 빈 adder 를 맵에서 뺀 직후에 더했다면 그 조회수는 flush 되지 않으므로 현재 adder 로 옮긴다.
+        while (counts.get(productId) != adder) {
+            long orphaned = adder.sumThenReset();
+            if (orphaned == 0) {
+                return;
+            }
+            adder = counts.computeIfAbsent(productId, id -> new LongAdder());
+            adder.add(orphaned);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${product.views.flush-interval-ms:1000}")
+    public void flush() {
+        Map<Long, Long> pending = new HashMap<>();
+        counts.forEach((productId, adder) -> {
+            long views = adder.sumThenReset();
+            if (views > 0) {
+                pending.put(productId, views);
+            } else {
+                // 한 주기 동안 조회가 없던 상품은 맵에서 빼서 버퍼 크기를 제한 (빠진 adder 에 늦게 더해진 조회수는 increment 가 옮긴다)
+                // increment 가 비어 있던 adder 에 더한 뒤 아직 맵에 있는 것을 보고 돌아갔다면 아무도 옮기지 않으므로,
+                // 뺀 뒤에 한 번 더 비워 남은 조회수를 맵으로 되돌린다.
+                if (counts.remove(productId, adder)) {
+                    long late = adder.sumThenReset();
+                    if (late > 0) {
+                        counts.computeIfAbsent(productId, id -> new LongAdder()).add(late);
+                    }
+                }
+            }
+        });
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Timer.Sample sample = Timer.start();
+        try {
+            popularityRanking.record(pending);
+            flushedViews.increment(pending.values().stream().mapToLong(Long::longValue).sum());
+        } catch (Exception e) {
+            // 반영 실패분은 버퍼로 되돌려 다음 주기에 다시 시도
+            log.warn("⚠️ 조회수 flush 실패, 다음 주기에 재시도: products={}, error={}", pending.size(), e.getMessage());
+            pending.forEach((productId, views) -> counts.computeIfAbsent(productId, id -> new LongAdder()).add(views));
+        } finally {
+            sample.stop(flushTimer);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        flush();
+    }
+}
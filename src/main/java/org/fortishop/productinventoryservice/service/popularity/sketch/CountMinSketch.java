@@ -0,0 +1,84 @@
+package org.fortishop.productinventoryservice.service.popularity.sketch;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// 고정 크기(depth x width) Count-Min Sketch. 추정치는 실제 빈도 이상이며, 여러 스레드가 잠금 없이 더할 수 있다.
+public class CountMinSketch {
+
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L,
+            0xFF51AFD7ED558CCDL, 0xC4CEB9FE1A85EC53L, 0x27D4EB2F165667C5L, 0x94D049BB133111EBL
+    };
+
+    private final int depth;
+    private final int width;
+    private final int mask;
+    private final AtomicLongArray table;
+
+    public CountMinSketch(int depth, int width) {
+        if (depth < 1 || depth > SEEDS.length || width < 2 || Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("depth 는 1~" + SEEDS.length + ", width 는 2의 거듭제곱이어야 합니다.");
+        }
+        this.depth = depth;
+        this.width = width;
+        this.mask = width - 1;
+        this.table = new AtomicLongArray(depth * width);
+    }
+
+    public void add(long item, long count) {
+        for (int row = 0; row < depth; row++) {
+            table.addAndGet(row * width + index(item, row), count);
+        }
+    }
+
+    public long estimate(long item) {
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, table.get(row * width + index(item, row)));
+        }
+        return min;
+    }
+
+    // 같은 크기의 다른 sketch 카운터를 더한다. (노드 간 병합)
+    public void merge(long[] other) {
+        if (other.length != table.length()) {
+            throw new IllegalArgumentException("sketch 크기가 다릅니다.");
+        }
+        for (int i = 0; i < other.length; i++) {
+            if (other[i] != 0) {
+                table.addAndGet(i, other[i]);
+            }
+        }
+    }
+
+    // 오래된 조회가 계속 순위를 차지하지 않도록 모든 카운터를 절반으로 줄인다.
+    public void decay() {
+        for (int i = 0; i < table.length(); i++) {
+            table.updateAndGet(i, value -> value >> 1);
+        }
+    }
+
+    public long[] snapshot() {
+        long[] copy = new long[table.length()];
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = table.get(i);
+        }
+        return copy;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    private int index(long item, int row) {
+        long h = (item ^ SEEDS[row]) * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return (int) h & mask;
+    }
+}
@@ -0,0 +1,112 @@
+package org.fortishop.productinventoryservice.service.popularity.sketch;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// 고정 k 칸의 Space-Saving 후보 집합. 카운트로 Count-Min Sketch 추정치를 받아, 가득 차면 최소 후보보다 클 때만 교체한다.
+// 배열만 사용해 offer 시 할당이 없다. offer/decay 는 호출하는 쪽에서 동기화하고,
+// raiseIfPresent/isFull/minCount 는 잠금 없이 부를 수 있다. (칸은 원자적 배열, size 는 volatile 로 공개)
+public class SpaceSavingTopK {
+
+    private final AtomicLongArray items;
+    private final AtomicLongArray counts;
+    private volatile int size;
+    private int minPosition;
+    private volatile long minCount;
+
+    public SpaceSavingTopK(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity 는 1 이상이어야 합니다.");
+        }
+        this.items = new AtomicLongArray(capacity);
+        this.counts = new AtomicLongArray(capacity);
+    }
+
+    // 이미 후보인 항목이면 잠금 없이 그 칸의 카운트만 올리고 true, 아니면 false (호출하는 쪽이 잠금 아래 offer).
+    // 확인 직후 잠금 쪽에서 그 칸이 교체되면 새 항목의 카운트가 올라갈 수 있는데, Space-Saving 은 원래 과대 추정이라 허용한다.
+    public boolean raiseIfPresent(long item, long count) {
+        int current = size;
+        for (int i = 0; i < current; i++) {
+            if (items.get(i) == item) {
+                counts.accumulateAndGet(i, count, Math::max);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void offer(long item, long count) {
+        for (int i = 0; i < size; i++) {
+            if (items.get(i) == item) {
+                counts.accumulateAndGet(i, count, Math::max);
+                if (i == minPosition) {
+                    refreshMin();
+                }
+                return;
+            }
+        }
+        if (size < items.length()) {
+            items.set(size, item);
+            counts.set(size, count);
+            size++;
+            refreshMin();
+            return;
+        }
+        // raiseIfPresent 가 잠금 없이 올린 카운트가 있을 수 있으므로 최소 후보를 다시 찾은 뒤 비교한다.
+        refreshMin();
+        if (count > counts.get(minPosition)) {
+            items.set(minPosition, item);
+            counts.set(minPosition, count);
+            refreshMin();
+        }
+    }
+
+    // 가득 찬 상태에서 이 값 이하의 추정치는 후보가 될 수 없다. (잠금 없이 빠르게 거르기 위한 값)
+    public boolean isFull() {
+        return size == items.length();
+    }
+
+    public long minCount() {
+        return minCount;
+    }
+
+    public void decay() {
+        for (int i = 0; i < size; i++) {
+            counts.updateAndGet(i, count -> count >> 1);
+        }
+        refreshMin();
+    }
+
+    public List<Long> items() {
+        int current = size;
+        List<Long> result = new ArrayList<>(current);
+        for (int i = 0; i < current; i++) {
+            result.add(items.get(i));
+        }
+        return result;
+    }
+
+    // 카운트 내림차순 상위 limit 개
+    public List<Long> top(int limit) {
+        int current = size;
+        List<Integer> positions = new ArrayList<>(current);
+        for (int i = 0; i < current; i++) {
+            positions.add(i);
+        }
+        positions.sort(Comparator.comparingLong((Integer i) -> counts.get(i)).reversed());
+        return positions.stream().limit(limit).map(items::get).toList();
+    }
+
+    private void refreshMin() {
+        int position = 0;
+        for (int i = 1; i < size; i++) {
+            if (counts.get(i) < counts.get(position)) {
+                position = i;
+            }
+        }
+        minPosition = position;
+        minCount = size == 0 ? 0 : counts.get(position);
+    }
+}
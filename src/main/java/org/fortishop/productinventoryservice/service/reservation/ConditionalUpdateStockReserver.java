@@ -0,0 +1,113 @@
+package org.fortishop.productinventoryservice.service.reservation;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.SortedMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.fortishop.productinventoryservice.Repository.InventoryRepository;
+import org.fortishop.productinventoryservice.dto.event.OrderItemInfo;
+import org.fortishop.productinventoryservice.global.cache.TwoTierCache;
+import org.fortishop.productinventoryservice.kafka.InventoryEventProducer;
+import org.fortishop.productinventoryservice.service.InventoryHoldService;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// read-modify-write 대신 조건부 UPDATE 한 번으로 차감하므로 분산 락이 필요 없다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ConditionalUpdateStockReserver implements StockReserver {
+
+    private final InventoryRepository inventoryRepository;
+    private final InventoryEventProducer inventoryEventProducer;
+    private final TwoTierCache twoTierCache;
+    private final InventoryHoldService inventoryHoldService;
+
+    private static final String INVENTORY_KEY_PREFIX = "inventory::product::";
+
+    @Override
+    public ReservationMode getMode() {
+        return ReservationMode.CONDITIONAL_UPDATE;
+    }
+
+    @Override
+    @Transactional
+    public boolean reserve(Long orderId, Long productId, int quantity, String traceId) {
+        try {
+            if (inventoryRepository.decreaseIfAvailable(productId, quantity) != 1) {
+                inventoryEventProducer.sendInventoryFailed(orderId, productId, "재고 부족", traceId);
+                return false;
+            }
+
+            evictAfterCommit(List.of(productId));
+            inventoryHoldService.hold(orderId, productId, quantity);
+            inventoryEventProducer.sendInventoryReserved(orderId, productId, traceId);
+            return true;
+        } catch (Exception e) {
+            log.error("❌ 재고 차감 중 예외 발생: productId={}, error={}", productId, e.getMessage());
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            inventoryEventProducer.sendInventoryFailed(orderId, productId, "예외 발생: " + e.getMessage(), traceId);
+            return false;
+        }
+    }
+
+    @Override
+    @Transactional
+    public boolean reserveOrder(Long orderId, List<OrderItemInfo> items, String traceId) {
+        SortedMap<Long, Integer> quantities = ReservationItems.sortedQuantities(items);
+        try {
+            for (int count : inventoryRepository.decreaseAllIfAvailable(quantities)) {
+                if (count != 1) {
+                    TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+                    inventoryEventProducer.sendOrderInventoryFailed(orderId, items, "재고 부족", traceId);
+                    return false;
+                }
+            }
+
+            evictAfterCommit(quantities.keySet());
+            inventoryHoldService.hold(orderId, items);
+            inventoryEventProducer.sendOrderInventoryReserved(orderId, items, traceId);
+            return true;
+        } catch (Exception e) {
+            log.error("❌ 주문 단위 재고 차감 중 예외 발생: orderId={}, error={}", orderId, e.getMessage());
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            inventoryEventProducer.sendOrderInventoryFailed(orderId, items, "예외 발생: " + e.getMessage(), traceId);
+            return false;
+        }
+    }
+
+    @Override
+    @Transactional
+    public void restore(Long orderId, Long productId, int quantity, String traceId) {
+        try {
+            if (inventoryRepository.adjustQuantity(productId, quantity) != 1) {
+                log.warn("❌ 재고 복원 실패 (재고 없음): productId={}, orderId={}", productId, orderId);
+                inventoryEventProducer.sendInventoryFailed(orderId, productId, "재고 없음", traceId);
+                return;
+            }
+
+            evictAfterCommit(List.of(productId));
+            log.info("✅ 재고 복원 성공: productId={}, 복원 수량={}", productId, quantity);
+        } catch (Exception e) {
+            log.error("❌ 재고 복원 중 예외 발생: orderId={}, error={}", orderId, e.getMessage());
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            inventoryEventProducer.sendInventoryFailed(orderId, productId, "예외 발생: " + e.getMessage(), traceId);
+        }
+    }
+
+    private void evictAfterCommit(Collection<Long> productIds) {
+        List<String> keys = productIds.stream()
+                .map(productId -> INVENTORY_KEY_PREFIX + productId)
+                .toList();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                twoTierCache.evict(keys);
+            }
+        });
+    }
+}
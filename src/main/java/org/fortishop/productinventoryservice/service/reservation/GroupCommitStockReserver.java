@@ -0,0 +1,48 @@
+package org.fortishop.productinventoryservice.service.reservation;
+
+import java.util.List;
+import org.fortishop.productinventoryservice.dto.event.OrderItemInfo;
+import org.fortishop.productinventoryservice.global.config.InventoryProperties;
+import org.fortishop.productinventoryservice.kafka.InventoryEventProducer;
+import org.fortishop.productinventoryservice.service.InventoryHoldService;
+import org.springframework.stereotype.Component;
+
+@Component
+public class GroupCommitStockReserver extends QueuedStockReserver {
+
+    private final InventoryGroupCommitter inventoryGroupCommitter;
+    private final ConditionalUpdateStockReserver conditionalUpdateStockReserver;
+    private final InventoryProperties inventoryProperties;
+
+    public GroupCommitStockReserver(InventoryEventProducer inventoryEventProducer,
+                                    InventoryHoldService inventoryHoldService,
+                                    InventoryGroupCommitter inventoryGroupCommitter,
+                                    ConditionalUpdateStockReserver conditionalUpdateStockReserver,
+                                    InventoryProperties inventoryProperties) {
+        super(inventoryEventProducer, inventoryHoldService);
+        this.inventoryGroupCommitter = inventoryGroupCommitter;
+        this.conditionalUpdateStockReserver = conditionalUpdateStockReserver;
+        this.inventoryProperties = inventoryProperties;
+    }
+
+    @Override
+    public ReservationMode getMode() {
+        return ReservationMode.GROUP_COMMIT;
+    }
+
+    // 주문 단위 all-or-nothing 은 다른 주문과 한 batch 로 묶을 수 없으므로 조건부 batch UPDATE 한 트랜잭션으로 처리
+    @Override
+    public boolean reserveOrder(Long orderId, List<OrderItemInfo> items, String traceId) {
+        return conditionalUpdateStockReserver.reserveOrder(orderId, items, traceId);
+    }
+
+    @Override
+    protected PendingAdjustment submit(Long productId, int delta) {
+        return inventoryGroupCommitter.submit(productId, delta);
+    }
+
+    @Override
+    protected long awaitTimeoutMs() {
+        return inventoryProperties.getGroupCommit().getAwaitTimeoutMs();
+    }
+}
@@ -0,0 +1,71 @@
+package org.fortishop.productinventoryservice.service.reservation;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.fortishop.productinventoryservice.Repository.InventoryRepository;
+import org.fortishop.productinventoryservice.domain.Inventory;
+import org.fortishop.productinventoryservice.global.cache.TwoTierCache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+@RequiredArgsConstructor
+public class InventoryBatchWriter {
+
+    private final InventoryRepository inventoryRepository;
+    private final TwoTierCache twoTierCache;
+
+    private static final String INVENTORY_KEY_PREFIX = "inventory::product::";
+
+    // 한 상품에 쌓인 증감을 도착 순서대로 판정하고 합산 결과만 한 트랜잭션으로 반영한다.
+    // 음수(차감)는 남은 재고가 부족하면 거절되고, 양수(복원)는 항상 반영된다.
+    @Transactional
+    public boolean[] applyInOrder(Long productId, List<Integer> deltas) {
+        boolean[] applied = new boolean[deltas.size()];
+        Inventory inventory = inventoryRepository.findByProductIdForUpdate(productId).orElse(null);
+        if (inventory == null) {
+            return applied;
+        }
+
+        int available = inventory.getQuantity();
+        int net = 0;
+        for (int i = 0; i < deltas.size(); i++) {
+            int delta = deltas.get(i);
+            if (delta >= 0 || available + delta >= 0) {
+                available += delta;
+                net += delta;
+                applied[i] = true;
+            }
+        }
+
+        if (net != 0) {
+            inventory.adjust(net);
+            evictAfterCommit(List.of(productId));
+        }
+        return applied;
+    }
+
+    // 여러 상품의 증감을 JDBC batch 한 번, 트랜잭션 한 번으로 반영하고 영향받은 캐시 키는 커밋 후 DEL 한 번으로 삭제
+    @Transactional
+    public int[] applyBatch(List<Map.Entry<Long, Integer>> deltas) {
+        int[] updated = inventoryRepository.adjustAllIfAvailable(deltas);
+        evictAfterCommit(deltas.stream().map(Map.Entry::getKey).distinct().toList());
+        return updated;
+    }
+
+    private void evictAfterCommit(Collection<Long> productIds) {
+        List<String> keys = productIds.stream()
+                .map(productId -> INVENTORY_KEY_PREFIX + productId)
+                .toList();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                twoTierCache.evict(keys);
+            }
+        });
+    }
+}
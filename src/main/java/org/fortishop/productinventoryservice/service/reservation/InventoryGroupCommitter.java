@@ -0,0 +1,108 @@
+package org.fortishop.productinventoryservice.service.reservation;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.fortishop.productinventoryservice.global.config.InventoryProperties;
+import org.fortishop.productinventoryservice.global.config.WorkerThreadFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+// 여러 주문의 재고 증감을 최대 maxBatchSize 건까지 모아 한 트랜잭션, JDBC batch 한 번으로 커밋한다.
+@Slf4j
+@Component
+public class InventoryGroupCommitter implements DisposableBean {
+
+    private final InventoryBatchWriter inventoryBatchWriter;
+    private final int maxBatchSize;
+    private final long windowNanos;
+    private final DistributionSummary batchSizeSummary;
+    private final BlockingQueue<PendingAdjustment> queue = new LinkedBlockingQueue<>();
+    private final ExecutorService executor;
+    private volatile boolean running = true;
+
+    public InventoryGroupCommitter(InventoryProperties inventoryProperties, InventoryBatchWriter inventoryBatchWriter,
+                                   MeterRegistry meterRegistry, WorkerThreadFactory workerThreadFactory) {
+        this.inventoryBatchWriter = inventoryBatchWriter;
+        this.maxBatchSize = inventoryProperties.getGroupCommit().getMaxBatchSize();
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(inventoryProperties.getGroupCommit().getWindowMs());
+        this.batchSizeSummary = DistributionSummary.builder("inventory.group-commit.batch.size")
+                .register(meterRegistry);
+        this.executor = Executors.newSingleThreadExecutor(workerThreadFactory.named("inventory-group-commit"));
+        executor.execute(this::run);
+    }
+
+    public PendingAdjustment submit(Long productId, int delta) {
+        PendingAdjustment adjustment = new PendingAdjustment(productId, delta);
+        queue.offer(adjustment);
+        return adjustment;
+    }
+
+    @Override
+    public void destroy() {
+        running = false;
+        executor.shutdown();
+    }
+
+    private void run() {
+        List<PendingAdjustment> batch = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                PendingAdjustment first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // 큐가 비면 바로 커밋한다. 이전 커밋 동안 쌓인 요청이 다음 batch 가 되고,
+                // 요청이 계속 들어오는 동안에만 windowMs 까지 더 모은다.
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < maxBatchSize
+                        && queue.drainTo(batch, maxBatchSize - batch.size()) > 0
+                        && System.nanoTime() < deadline) {
+                    Thread.onSpinWait();
+                }
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("❌ 재고 group commit 처리 중 예외 발생: {}", e.getMessage(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void commit(List<PendingAdjustment> batch) {
+        // 노드 간 row lock 획득 순서를 맞춰 교착을 피한다. (같은 상품 안에서는 도착 순서 유지)
+        List<PendingAdjustment> claimed = batch.stream()
+                .filter(PendingAdjustment::claim)
+                .sorted(Comparator.comparing(PendingAdjustment::getProductId))
+                .toList();
+        if (claimed.isEmpty()) {
+            return;
+        }
+
+        try {
+            int[] updated = inventoryBatchWriter.applyBatch(claimed.stream()
+                    .map(adjustment -> Map.entry(adjustment.getProductId(), adjustment.getDelta()))
+                    .toList());
+            batchSizeSummary.record(claimed.size());
+            for (int i = 0; i < claimed.size(); i++) {
+                claimed.get(i).getResult().complete(updated[i] == 1);
+            }
+        } catch (Exception e) {
+            log.error("❌ 재고 group commit 실패: size={}", claimed.size(), e);
+            claimed.forEach(adjustment -> adjustment.getResult().completeExceptionally(e));
+        }
+    }
+}
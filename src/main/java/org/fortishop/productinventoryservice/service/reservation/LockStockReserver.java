@@ -0,0 +1,34 @@
+package org.fortishop.productinventoryservice.service.reservation;
+
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.fortishop.productinventoryservice.dto.event.OrderItemInfo;
+import org.fortishop.productinventoryservice.service.InventoryService;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class LockStockReserver implements StockReserver {
+
+    private final InventoryService inventoryService;
+
+    @Override
+    public ReservationMode getMode() {
+        return ReservationMode.LOCK;
+    }
+
+    @Override
+    public boolean reserve(Long orderId, Long productId, int quantity, String traceId) {
+        return inventoryService.decreaseStockWithLock(orderId, productId, quantity, traceId);
+    }
+
+    @Override
+    public boolean reserveOrder(Long orderId, List<OrderItemInfo> items, String traceId) {
+        return inventoryService.decreaseStocksWithLock(orderId, items, traceId);
+    }
+
+    @Override
+    public void restore(Long orderId, Long productId, int quantity, String traceId) {
+        inventoryService.restoreStock(orderId, productId, quantity, traceId);
+    }
+}
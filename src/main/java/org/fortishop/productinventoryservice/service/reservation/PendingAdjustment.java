@@ -0,0 +1,31 @@
+package org.fortishop.productinventoryservice.service.reservation;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+// lane/group commit 큐에 쌓이는 재고 증감 요청. 음수는 차감, 양수는 복원.
+@Getter
+public class PendingAdjustment {
+    private final Long productId;
+    private final int delta;
+    private final CompletableFuture<Boolean> result = new CompletableFuture<>();
+    @Getter(AccessLevel.NONE)
+    private final AtomicBoolean claimed = new AtomicBoolean();
+
+    public PendingAdjustment(Long productId, int delta) {
+        this.productId = productId;
+        this.delta = delta;
+    }
+
+    // 처리하는 쪽(lane, group commit)이 먼저 선점해야 반영할 수 있다.
+    boolean claim() {
+        return claimed.compareAndSet(false, true);
+    }
+
+    // 대기 시간이 지난 호출자가 아직 처리되지 않은 요청을 회수한다. 이미 처리 중이면 false.
+    public boolean withdraw() {
+        return claimed.compareAndSet(false, true);
+    }
+}
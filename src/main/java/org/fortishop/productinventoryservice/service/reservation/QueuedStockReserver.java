@@ -0,0 +1,106 @@
+package org.fortishop.productinventoryservice.service.reservation;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import lombok.extern.slf4j.Slf4j;
+import org.fortishop.productinventoryservice.kafka.InventoryEventProducer;
+import org.fortishop.productinventoryservice.service.InventoryHoldService;
+
+// 증감 요청을 큐에 넣고 batch 커밋 결과를 기다리는 예약 방식의 공통 처리
+@Slf4j
+public abstract class QueuedStockReserver implements StockReserver {
+
+    protected final InventoryEventProducer inventoryEventProducer;
+    protected final InventoryHoldService inventoryHoldService;
+
+    protected QueuedStockReserver(InventoryEventProducer inventoryEventProducer,
+                                  InventoryHoldService inventoryHoldService) {
+        this.inventoryEventProducer = inventoryEventProducer;
+        this.inventoryHoldService = inventoryHoldService;
+    }
+
+    protected abstract PendingAdjustment submit(Long productId, int delta);
+
+    protected abstract long awaitTimeoutMs();
+
+    @Override
+    public boolean reserve(Long orderId, Long productId, int quantity, String traceId) {
+        try {
+            PendingAdjustment adjustment = submit(productId, -quantity);
+            if (!await(adjustment)) {
+                inventoryEventProducer.sendInventoryFailed(orderId, productId, "재고 부족", traceId);
+                return false;
+            }
+
+            try {
+                inventoryHoldService.hold(orderId, productId, quantity);
+            } catch (Exception e) {
+                // 차감은 worker 가 이미 커밋했으므로 hold 를 남기지 못하면 차감을 되돌리고 실패로 응답한다.
+                compensate(adjustment);
+                throw e;
+            }
+            inventoryEventProducer.sendInventoryReserved(orderId, productId, traceId);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            inventoryEventProducer.sendInventoryFailed(orderId, productId, "재고 차감 대기 중 인터럽트", traceId);
+        } catch (TimeoutException e) {
+            log.warn("❌ 재고 차감 대기 시간 초과: mode={}, productId={}, orderId={}", getMode(), productId, orderId);
+            inventoryEventProducer.sendInventoryFailed(orderId, productId, "재고 차감 대기 시간 초과", traceId);
+        } catch (Exception e) {
+            log.error("❌ 재고 차감 중 예외 발생: productId={}, error={}", productId, e.getMessage());
+            inventoryEventProducer.sendInventoryFailed(orderId, productId, "예외 발생: " + e.getMessage(), traceId);
+        }
+        return false;
+    }
+
+    @Override
+    public void restore(Long orderId, Long productId, int quantity, String traceId) {
+        try {
+            if (!await(submit(productId, quantity))) {
+                log.warn("❌ 재고 복원 실패 (재고 없음): productId={}, orderId={}", productId, orderId);
+                inventoryEventProducer.sendInventoryFailed(orderId, productId, "재고 없음", traceId);
+                return;
+            }
+            log.info("✅ 재고 복원 성공: productId={}, 복원 수량={}", productId, quantity);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            inventoryEventProducer.sendInventoryFailed(orderId, productId, "재고 복원 대기 중 인터럽트", traceId);
+        } catch (Exception e) {
+            log.error("❌ 재고 복원 중 예외 발생: orderId={}, error={}", orderId, e.getMessage());
+            inventoryEventProducer.sendInventoryFailed(orderId, productId, "예외 발생: " + e.getMessage(), traceId);
+        }
+    }
+
+    private boolean await(PendingAdjustment adjustment) throws Exception {
+        try {
+            return adjustment.getResult().get(awaitTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            if (adjustment.withdraw()) {
+                throw e;
+            }
+        }
+        // 이미 처리 중이면 한 번 더 기다린다. 그래도 끝나지 않으면 실패로 응답하고, 뒤늦게 반영되면 되돌린다.
+        try {
+            return adjustment.getResult().get(awaitTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            adjustment.getResult().thenAccept(applied -> {
+                if (applied) {
+                    compensate(adjustment);
+                }
+            });
+            throw e;
+        }
+    }
+
+    private void compensate(PendingAdjustment adjustment) {
+        log.warn("⚠️ 대기 시간 초과 후 반영된 재고 증감을 되돌립니다: mode={}, productId={}, delta={}",
+                getMode(), adjustment.getProductId(), adjustment.getDelta());
+        submit(adjustment.getProductId(), -adjustment.getDelta()).getResult().whenComplete((applied, error) -> {
+            if (error != null || !Boolean.TRUE.equals(applied)) {
+                log.error("❌ 재고 증감 보상 실패: mode={}, productId={}, delta={}",
+                        getMode(), adjustment.getProductId(), -adjustment.getDelta(), error);
+            }
+        });
+    }
+}
@@ -0,0 +1,119 @@
+package org.fortishop.productinventoryservice.service.reservation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.fortishop.productinventoryservice.Repository.InventoryRepository;
+import org.fortishop.productinventoryservice.domain.Inventory;
+import org.fortishop.productinventoryservice.dto.event.OrderItemInfo;
+import org.fortishop.productinventoryservice.exception.Product.ProductException;
+import org.fortishop.productinventoryservice.exception.Product.ProductExceptionType;
+import org.fortishop.productinventoryservice.kafka.InventoryEventProducer;
+import org.fortishop.productinventoryservice.service.InventoryHoldService;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RedisLuaStockReserver implements StockReserver {
+
+    private final RedisStockCounter redisStockCounter;
+    private final InventoryRepository inventoryRepository;
+    private final InventoryEventProducer inventoryEventProducer;
+    private final InventoryHoldService inventoryHoldService;
+
+    private static final int INIT_ATTEMPTS = 3;
+
+    @Override
+    public ReservationMode getMode() {
+        return ReservationMode.REDIS_LUA;
+    }
+
+    @Override
+    public boolean reserve(Long orderId, Long productId, int quantity, String traceId) {
+        try {
+            long result = redisStockCounter.tryDecrease(productId, quantity);
+            if (result == RedisStockCounter.NOT_INITIALIZED) {
+                initializeCounter(productId);
+                result = redisStockCounter.tryDecrease(productId, quantity);
+            }
+
+            if (result != RedisStockCounter.RESERVED) {
+                inventoryEventProducer.sendInventoryFailed(orderId, productId, "재고 부족", traceId);
+                return false;
+            }
+
+            try {
+                inventoryHoldService.hold(orderId, productId, quantity);
+            } catch (Exception e) {
+                // Redis 차감은 트랜잭션에 묶이지 않으므로 hold 를 남기지 못하면 되돌리고 실패로 응답한다.
+                redisStockCounter.increase(productId, quantity);
+                throw e;
+            }
+            inventoryEventProducer.sendInventoryReserved(orderId, productId, traceId);
+            return true;
+        } catch (Exception e) {
+            log.error("❌ Redis 재고 차감 중 예외 발생: productId={}, error={}", productId, e.getMessage());
+            inventoryEventProducer.sendInventoryFailed(orderId, productId, "예외 발생: " + e.getMessage(), traceId);
+            return false;
+        }
+    }
+
+    @Override
+    public boolean reserveOrder(Long orderId, List<OrderItemInfo> items, String traceId) {
+        SortedMap<Long, Integer> quantities = ReservationItems.sortedQuantities(items);
+        List<Long> productIds = new ArrayList<>(quantities.keySet());
+        try {
+            long result = redisStockCounter.tryDecreaseAll(quantities);
+            // 미초기화 카운터는 상품마다 한 번씩만 초기화하면 되므로 최대 상품 수만큼 재시도
+            for (int attempt = 0; result < 0 && attempt < productIds.size(); attempt++) {
+                initializeCounter(productIds.get((int) -result - 1));
+                result = redisStockCounter.tryDecreaseAll(quantities);
+            }
+
+            if (result != 0) {
+                inventoryEventProducer.sendOrderInventoryFailed(orderId, items, "재고 부족", traceId);
+                return false;
+            }
+
+            try {
+                inventoryHoldService.hold(orderId, items);
+            } catch (Exception e) {
+                quantities.forEach(redisStockCounter::increase);
+                throw e;
+            }
+            inventoryEventProducer.sendOrderInventoryReserved(orderId, items, traceId);
+            return true;
+        } catch (Exception e) {
+            log.error("❌ Redis 주문 단위 재고 차감 중 예외 발생: orderId={}, error={}", orderId, e.getMessage());
+            inventoryEventProducer.sendOrderInventoryFailed(orderId, items, "예외 발생: " + e.getMessage(), traceId);
+            return false;
+        }
+    }
+
+    @Override
+    public void restore(Long orderId, Long productId, int quantity, String traceId) {
+        try {
+            redisStockCounter.increase(productId, quantity);
+            log.info("✅ Redis 재고 복원 성공: productId={}, 복원 수량={}", productId, quantity);
+        } catch (Exception e) {
+            log.error("❌ Redis 재고 복원 중 예외 발생: orderId={}, error={}", orderId, e.getMessage());
+            inventoryEventProducer.sendInventoryFailed(orderId, productId, "예외 발생: " + e.getMessage(), traceId);
+        }
+    }
+
+    // MySQL 을 읽은 사이에 drain 이 반영되면 읽은 값에 그 delta 가 빠져 있으므로 다시 읽는다.
+    private void initializeCounter(Long productId) {
+        for (int attempt = 0; attempt < INIT_ATTEMPTS; attempt++) {
+            Inventory inventory = inventoryRepository.findByProductId(productId)
+                    .orElseThrow(() -> new ProductException(ProductExceptionType.PRODUCT_NOT_FOUND));
+            if (redisStockCounter.initialize(productId, inventory.getQuantity(), inventory.getRedisDrainSeq())) {
+                log.info("📦 Redis 재고 카운터 초기화: productId={}", productId);
+                return;
+            }
+        }
+        log.warn("⚠️ Redis 재고 카운터 초기화 경합, 다음 요청에서 다시 시도: productId={}", productId);
+    }
+}
@@ -0,0 +1,126 @@
+package org.fortishop.productinventoryservice.service.reservation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class RedisStockCounter {
+
+    public static final long NOT_INITIALIZED = -1L;
+    public static final long INSUFFICIENT = 0L;
+    public static final long RESERVED = 1L;
+
+    private static final String STOCK_KEY_PREFIX = "stock:product:";
+    private static final String PENDING_KEY = "stock:pending";
+    // drain 해서 MySQL 에 반영 중인 delta 와 그 drain 번호, 상품별로 마지막으로 반영된 drain 번호
+    private static final String INFLIGHT_KEY = "stock:inflight";
+    private static final String DRAIN_SEQ_KEY = "stock:drain:seq";
+    private static final String APPLIED_KEY = "stock:applied";
+
+    private static final DefaultRedisScript<Long> RESERVE_SCRIPT = script("redis/stock-reserve.lua", Long.class);
+    private static final DefaultRedisScript<Long> RESERVE_ALL_SCRIPT = script("redis/stock-reserve-all.lua", Long.class);
+    private static final DefaultRedisScript<Long> RESTORE_SCRIPT = script("redis/stock-restore.lua", Long.class);
+    private static final DefaultRedisScript<Long> INIT_SCRIPT = script("redis/stock-init.lua", Long.class);
+    private static final DefaultRedisScript<Long> RESET_SCRIPT = script("redis/stock-reset.lua", Long.class);
+    private static final DefaultRedisScript<Long> ACK_SCRIPT = script("redis/stock-ack.lua", Long.class);
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> DRAIN_SCRIPT = script("redis/stock-drain.lua", List.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    public long tryDecrease(Long productId, int quantity) {
+        Long result = redisTemplate.execute(RESERVE_SCRIPT, keys(productId),
+                productId.toString(), String.valueOf(quantity));
+        return result == null ? NOT_INITIALIZED : result;
+    }
+
+    // 0: 전부 차감, -i: i 번째(1부터) 카운터 미초기화, i: i 번째 상품 재고 부족
+    public long tryDecreaseAll(SortedMap<Long, Integer> quantities) {
+        List<String> keys = new ArrayList<>();
+        List<String> args = new ArrayList<>();
+        quantities.keySet().forEach(productId -> {
+            keys.add(STOCK_KEY_PREFIX + productId);
+            args.add(productId.toString());
+        });
+        keys.add(PENDING_KEY);
+        quantities.values().forEach(quantity -> args.add(String.valueOf(quantity)));
+
+        Long result = redisTemplate.execute(RESERVE_ALL_SCRIPT, keys, args.toArray());
+        return result == null ? -1L : result;
+    }
+
+    public void increase(Long productId, int quantity) {
+        redisTemplate.execute(RESTORE_SCRIPT, keys(productId), productId.toString(), String.valueOf(quantity));
+    }
+
+    // persistedDrainSeq 는 MySQL 값과 함께 읽은 inventory.redis_drain_seq. 읽은 뒤에 drain 이 반영되었으면 false.
+    public boolean initialize(Long productId, int persistedQuantity, long persistedDrainSeq) {
+        Long result = redisTemplate.execute(INIT_SCRIPT,
+                List.of(STOCK_KEY_PREFIX + productId, PENDING_KEY, INFLIGHT_KEY, DRAIN_SEQ_KEY, APPLIED_KEY),
+                productId.toString(), String.valueOf(persistedQuantity), String.valueOf(persistedDrainSeq));
+        return result != null && result == 1L;
+    }
+
+    public void reset(Long productId, int quantity) {
+        redisTemplate.execute(RESET_SCRIPT, List.of(STOCK_KEY_PREFIX + productId, PENDING_KEY, INFLIGHT_KEY),
+                productId.toString(), String.valueOf(quantity));
+    }
+
+    // MySQL 에 아직 반영되지 않은 delta 를 in-flight 로 옮겨 꺼낸다. 반영한 상품은 acknowledge 로 지워야 하고,
+    // 지우지 못한 delta 는 노드가 재시작되어도 다음 drain 에서 같은 번호로 다시 나온다.
+    public PendingDrain drainPending() {
+        List<?> raw = redisTemplate.execute(DRAIN_SCRIPT, List.of(PENDING_KEY, INFLIGHT_KEY, DRAIN_SEQ_KEY));
+        Map<Long, Integer> deltas = new HashMap<>();
+        if (raw == null || raw.isEmpty()) {
+            return new PendingDrain(0L, deltas);
+        }
+        for (int i = 1; i + 1 < raw.size(); i += 2) {
+            deltas.put(Long.valueOf(String.valueOf(raw.get(i))), Integer.parseInt(String.valueOf(raw.get(i + 1))));
+        }
+        return new PendingDrain(Long.parseLong(String.valueOf(raw.get(0))), deltas);
+    }
+
+    public void acknowledge(Long productId, long drainSeq) {
+        redisTemplate.execute(ACK_SCRIPT, List.of(INFLIGHT_KEY, APPLIED_KEY),
+                productId.toString(), String.valueOf(drainSeq));
+    }
+
+    // 지금까지 발급된 마지막 drain 번호. 관리자 수량 변경은 이 번호까지의 delta 를 덮어쓴다.
+    public long currentDrainSeq() {
+        String value = redisTemplate.opsForValue().get(DRAIN_SEQ_KEY);
+        return value == null ? 0L : Long.parseLong(value);
+    }
+
+    public Integer currentStock(Long productId) {
+        String value = redisTemplate.opsForValue().get(STOCK_KEY_PREFIX + productId);
+        return value == null ? null : Integer.valueOf(value);
+    }
+
+    private List<String> keys(Long productId) {
+        return List.of(STOCK_KEY_PREFIX + productId, PENDING_KEY);
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class PendingDrain {
+        private final long seq;
+        private final Map<Long, Integer> deltas;
+    }
+
+    private static <T> DefaultRedisScript<T> script(String path, Class<T> resultType) {
+        DefaultRedisScript<T> script = new DefaultRedisScript<>();
+        script.setLocation(new ClassPathResource(path));
+        script.setResultType(resultType);
+        return script;
+    }
+}
@@ -0,0 +1,50 @@
+package org.fortishop.productinventoryservice.service.reservation;
+
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.fortishop.productinventoryservice.Repository.InventoryRepository;
+import org.fortishop.productinventoryservice.global.cache.TwoTierCache;
+import org.fortishop.productinventoryservice.global.config.InventoryProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RedisStockReconciler {
+
+    private final InventoryProperties inventoryProperties;
+    private final RedisStockCounter redisStockCounter;
+    private final InventoryRepository inventoryRepository;
+    private final TwoTierCache twoTierCache;
+
+    private static final String INVENTORY_KEY_PREFIX = "inventory::product::";
+
+    // Redis 카운터에서 차감/복원된 수량을 MySQL inventory 에 비동기로 반영.
+    // drain 번호가 같은 delta 는 inventory.redis_drain_seq 로 한 번만 반영되므로, 반영 후 ack 전에 죽어도
+    // 재시작 뒤 in-flight 를 다시 반영할 때 중복되지 않는다.
+    @Scheduled(fixedDelayString = "${inventory.reservation.reconcile-interval-ms:1000}")
+    public void reconcile() {
+        if (inventoryProperties.getReservation().getMode() != ReservationMode.REDIS_LUA) {
+            return;
+        }
+
+        RedisStockCounter.PendingDrain drain = redisStockCounter.drainPending();
+        drain.getDeltas().forEach((productId, delta) -> {
+            try {
+                if (inventoryRepository.applyRedisDrain(productId, delta, drain.getSeq(), LocalDateTime.now()) == 1) {
+                    twoTierCache.evict(INVENTORY_KEY_PREFIX + productId);
+                }
+                redisStockCounter.acknowledge(productId, drain.getSeq());
+            } catch (Exception e) {
+                log.error("❌ 재고 reconcile 실패, 다음 주기에 재시도: productId={}, delta={}, error={}",
+                        productId, delta, e.getMessage());
+            }
+        });
+
+        if (!drain.getDeltas().isEmpty()) {
+            log.debug("🔄 재고 reconcile 완료: drain={}, {}건", drain.getSeq(), drain.getDeltas().size());
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package org.fortishop.productinventoryservice.service.reservation;
+
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import org.fortishop.productinventoryservice.dto.event.OrderItemInfo;
+
+public final class ReservationItems {
+
+    private ReservationItems() {
+    }
+
+    // 같은 상품은 합산하고, 락 획득 순서가 항상 같도록 productId 오름차순으로 정렬
+    public static SortedMap<Long, Integer> sortedQuantities(List<OrderItemInfo> items) {
+        SortedMap<Long, Integer> quantities = new TreeMap<>();
+        for (OrderItemInfo item : items) {
+            quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+        }
+        return quantities;
+    }
+}
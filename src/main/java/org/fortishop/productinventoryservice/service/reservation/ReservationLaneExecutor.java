@@ -0,0 +1,105 @@
+package org.fortishop.productinventoryservice.service.reservation;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.fortishop.productinventoryservice.global.config.InventoryProperties;
+import org.fortishop.productinventoryservice.global.config.WorkerThreadFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+// productId 별로 하나의 lane(단일 스레드)이 재고 쓰기를 전담한다.
+// 같은 상품에 대한 요청은 노드 안에서 경합 없이 lane 큐에 쌓이고, lane 은 큐를 batch 로 비우며 상품당 한 트랜잭션으로 반영한다.
+@Slf4j
+@Component
+public class ReservationLaneExecutor implements DisposableBean {
+
+    private final InventoryBatchWriter inventoryBatchWriter;
+    private final int batchSize;
+    private final WorkerThreadFactory workerThreadFactory;
+    private final List<Lane> lanes = new ArrayList<>();
+    private volatile boolean running = true;
+
+    public ReservationLaneExecutor(InventoryProperties inventoryProperties, InventoryBatchWriter inventoryBatchWriter,
+                                   WorkerThreadFactory workerThreadFactory) {
+        this.inventoryBatchWriter = inventoryBatchWriter;
+        this.batchSize = inventoryProperties.getLane().getBatchSize();
+        this.workerThreadFactory = workerThreadFactory;
+        for (int i = 0; i < inventoryProperties.getLane().getCount(); i++) {
+            lanes.add(new Lane(i));
+        }
+    }
+
+    public PendingAdjustment submit(Long productId, int delta) {
+        PendingAdjustment adjustment = new PendingAdjustment(productId, delta);
+        lanes.get(Math.floorMod(productId.hashCode(), lanes.size())).queue.offer(adjustment);
+        return adjustment;
+    }
+
+    @Override
+    public void destroy() {
+        running = false;
+        lanes.forEach(lane -> lane.executor.shutdown());
+    }
+
+    private final class Lane {
+        private final BlockingQueue<PendingAdjustment> queue = new LinkedBlockingQueue<>();
+        private final ExecutorService executor;
+
+        private Lane(int index) {
+            this.executor = Executors.newSingleThreadExecutor(workerThreadFactory.named("reservation-lane-" + index));
+            executor.execute(this::run);
+        }
+
+        private void run() {
+            List<PendingAdjustment> batch = new ArrayList<>(batchSize);
+            while (running) {
+                try {
+                    PendingAdjustment first = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    commit(batch);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (Exception e) {
+                    log.error("❌ 재고 lane 처리 중 예외 발생: {}", e.getMessage(), e);
+                } finally {
+                    batch.clear();
+                }
+            }
+        }
+
+        private void commit(List<PendingAdjustment> batch) {
+            Map<Long, List<PendingAdjustment>> byProduct = new LinkedHashMap<>();
+            for (PendingAdjustment adjustment : batch) {
+                if (adjustment.claim()) {
+                    byProduct.computeIfAbsent(adjustment.getProductId(), id -> new ArrayList<>()).add(adjustment);
+                }
+            }
+
+            byProduct.forEach((productId, adjustments) -> {
+                try {
+                    boolean[] applied = inventoryBatchWriter.applyInOrder(productId,
+                            adjustments.stream().map(PendingAdjustment::getDelta).toList());
+                    for (int i = 0; i < adjustments.size(); i++) {
+                        adjustments.get(i).getResult().complete(applied[i]);
+                    }
+                } catch (Exception e) {
+                    log.error("❌ 재고 lane 커밋 실패: productId={}, size={}", productId, adjustments.size(), e);
+                    adjustments.forEach(adjustment -> adjustment.getResult().completeExceptionally(e));
+                }
+            });
+        }
+    }
+}
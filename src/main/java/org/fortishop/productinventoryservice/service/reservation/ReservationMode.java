@@ -0,0 +1,10 @@
+package org.fortishop.productinventoryservice.service.reservation;
+
+public enum ReservationMode {
+    LOCK,
+    REDIS_LUA,
+    CONDITIONAL_UPDATE,
+    SINGLE_WRITER,
+    GROUP_COMMIT,
+    ;
+}
@@ -0,0 +1,231 @@
+package org.fortishop.productinventoryservice.service.reservation;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.fortishop.productinventoryservice.Repository.InventoryRepository;
+import org.fortishop.productinventoryservice.Repository.InventoryShardRepository;
+import org.fortishop.productinventoryservice.domain.Inventory;
+import org.fortishop.productinventoryservice.domain.InventoryShard;
+import org.fortishop.productinventoryservice.dto.event.OrderItemInfo;
+import org.fortishop.productinventoryservice.global.cache.TwoTierCache;
+import org.fortishop.productinventoryservice.global.config.InventoryProperties;
+import org.fortishop.productinventoryservice.global.config.InventoryProperties.ShardSelection;
+import org.fortishop.productinventoryservice.kafka.InventoryEventProducer;
+import org.fortishop.productinventoryservice.service.InventoryHoldService;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// 샤딩된 상품의 예약 경로. 0번 샤드는 inventory row 이고 1 ~ (N-1)번은 inventory_shard row 이다.
+// 모든 차감은 조건부 UPDATE 또는 row lock 아래에서만 일어나고, row 는 항상 (productId, 샤드 번호) 오름차순으로 잠근다.
+@Slf4j
+@Component
+public class ShardedStockReserver {
+
+    private final InventoryRepository inventoryRepository;
+    private final InventoryShardRepository inventoryShardRepository;
+    private final InventoryEventProducer inventoryEventProducer;
+    private final InventoryProperties inventoryProperties;
+    private final TwoTierCache twoTierCache;
+    private final InventoryHoldService inventoryHoldService;
+    private final TransactionTemplate transactionTemplate;
+
+    private static final String INVENTORY_KEY_PREFIX = "inventory::product::";
+
+    private final AtomicInteger roundRobin = new AtomicInteger();
+
+    public ShardedStockReserver(InventoryRepository inventoryRepository,
+                                InventoryShardRepository inventoryShardRepository,
+                                InventoryEventProducer inventoryEventProducer,
+                                InventoryProperties inventoryProperties, TwoTierCache twoTierCache,
+                                InventoryHoldService inventoryHoldService,
+                                PlatformTransactionManager transactionManager) {
+        this.inventoryRepository = inventoryRepository;
+        this.inventoryShardRepository = inventoryShardRepository;
+        this.inventoryEventProducer = inventoryEventProducer;
+        this.inventoryProperties = inventoryProperties;
+        this.twoTierCache = twoTierCache;
+        this.inventoryHoldService = inventoryHoldService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public boolean reserve(Long orderId, Long productId, int quantity, int shardCount, String traceId) {
+        return reserveInPhases(new TreeMap<>(Map.of(productId, quantity)), Map.of(productId, shardCount),
+                () -> inventoryHoldService.hold(orderId, productId, quantity),
+                () -> inventoryEventProducer.sendInventoryReserved(orderId, productId, traceId),
+                reason -> inventoryEventProducer.sendInventoryFailed(orderId, productId, reason, traceId));
+    }
+
+    // shardCounts 에 없는 상품은 조건부 UPDATE 로, 샤딩된 상품은 샤드에서 차감한다. 하나라도 실패하면 전체 롤백.
+    public boolean reserveOrder(Long orderId, List<OrderItemInfo> items, Map<Long, Integer> shardCounts,
+                                String traceId) {
+        return reserveInPhases(ReservationItems.sortedQuantities(items), shardCounts,
+                () -> inventoryHoldService.hold(orderId, items),
+                () -> inventoryEventProducer.sendOrderInventoryReserved(orderId, items, traceId),
+                reason -> inventoryEventProducer.sendOrderInventoryFailed(orderId, items, reason, traceId));
+    }
+
+    @Transactional
+    public void restore(Long orderId, Long productId, int quantity, int shardCount, String traceId) {
+        if (!increase(productId, quantity, shardCount)) {
+            log.warn("❌ 샤드 재고 복원 실패 (재고 없음): productId={}, orderId={}", productId, orderId);
+            inventoryEventProducer.sendInventoryFailed(orderId, productId, "재고 없음", traceId);
+            return;
+        }
+        log.info("✅ 샤드 재고 복원 성공: productId={}, 복원 수량={}", productId, quantity);
+    }
+
+    // 호출한 쪽 트랜잭션에 참여해 한 샤드에 수량을 더한다. 반영할 row 가 없으면 false.
+    @Transactional
+    public boolean increase(Long productId, int quantity, int shardCount) {
+        int shardNo = selectShard(shardCount);
+        LocalDateTime now = LocalDateTime.now();
+        int updated = shardNo == 0 ? 0 : inventoryShardRepository.increase(productId, shardNo, quantity, now);
+        if (updated == 0) {
+            // 0번 샤드이거나 샤딩이 해제되어 샤드 row 가 없는 경우
+            updated = inventoryRepository.adjustQuantity(productId, quantity, now);
+        }
+        if (updated == 0) {
+            return false;
+        }
+        evictAfterCommit(List.of(productId));
+        return true;
+    }
+
+    // 1단계는 샤딩된 상품마다 한 샤드에서만 차감을 시도한다. 한 샤드로 부족한 상품이 있으면 1단계를 롤백해
+    // 잡았던 row lock 을 모두 놓은 뒤, 2단계에서 그 상품의 모든 샤드를 번호 순서대로 잠가 나눠서 차감한다.
+    // hold 는 inventory(0번 샤드) row 의 reserved 를 바꾸므로, 다른 샤드보다 먼저 잠그도록 차감 전에 기록한다.
+    private boolean reserveInPhases(SortedMap<Long, Integer> quantities, Map<Long, Integer> shardCounts,
+                                    Runnable hold, Runnable onReserved, Consumer<String> onFailed) {
+        try {
+            Outcome outcome = transactionTemplate.execute(status -> {
+                hold.run();
+                Outcome result = decreaseInOrder(quantities, shardCounts, false);
+                complete(result, status::setRollbackOnly, quantities, onReserved, onFailed);
+                return result;
+            });
+            if (outcome != Outcome.NEEDS_ALL_SHARDS) {
+                return outcome == Outcome.RESERVED;
+            }
+
+            return transactionTemplate.execute(status -> {
+                hold.run();
+                Outcome result = decreaseInOrder(quantities, shardCounts, true);
+                complete(result, status::setRollbackOnly, quantities, onReserved, onFailed);
+                return result == Outcome.RESERVED;
+            });
+        } catch (Exception e) {
+            log.error("❌ 샤드 재고 차감 중 예외 발생: productIds={}, error={}", quantities.keySet(), e.getMessage());
+            onFailed.accept("예외 발생: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void complete(Outcome outcome, Runnable rollback, SortedMap<Long, Integer> quantities,
+                          Runnable onReserved, Consumer<String> onFailed) {
+        switch (outcome) {
+            case RESERVED -> {
+                evictAfterCommit(quantities.keySet());
+                onReserved.run();
+            }
+            case INSUFFICIENT -> {
+                rollback.run();
+                onFailed.accept("재고 부족");
+            }
+            case NEEDS_ALL_SHARDS -> rollback.run();
+        }
+    }
+
+    // quantities 는 productId 오름차순이므로 상품 간 잠금 순서도 항상 같다.
+    private Outcome decreaseInOrder(SortedMap<Long, Integer> quantities, Map<Long, Integer> shardCounts,
+                                    boolean acrossShards) {
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            Long productId = entry.getKey();
+            int quantity = entry.getValue();
+            Integer shardCount = shardCounts.get(productId);
+            if (shardCount == null) {
+                if (inventoryRepository.decreaseIfAvailable(productId, quantity, now) != 1) {
+                    return Outcome.INSUFFICIENT;
+                }
+            } else if (acrossShards) {
+                if (!decreaseAcrossShards(productId, quantity)) {
+                    return Outcome.INSUFFICIENT;
+                }
+            } else if (!decreaseFromOneShard(productId, quantity, shardCount, now)) {
+                return Outcome.NEEDS_ALL_SHARDS;
+            }
+        }
+        return Outcome.RESERVED;
+    }
+
+    // 시작 샤드만 무작위(또는 round robin)로 골라 경합을 나누고, 번호가 큰 쪽으로만 진행해 되돌아가며 잠그지 않는다.
+    private boolean decreaseFromOneShard(Long productId, int quantity, int shardCount, LocalDateTime now) {
+        for (int shardNo = selectShard(shardCount); shardNo < shardCount; shardNo++) {
+            int updated = shardNo == 0
+                    ? inventoryRepository.decreaseIfAvailable(productId, quantity, now)
+                    : inventoryShardRepository.decreaseIfAvailable(productId, shardNo, quantity, now);
+            if (updated == 1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 0번 샤드(inventory row)부터 번호 순서대로 모든 샤드를 잠그고 여러 샤드에 나눠서 차감
+    private boolean decreaseAcrossShards(Long productId, int quantity) {
+        Inventory inventory = inventoryRepository.findByProductIdForUpdate(productId).orElse(null);
+        if (inventory == null) {
+            return false;
+        }
+        List<InventoryShard> shards = inventoryShardRepository.findAllForUpdate(productId);
+        int total = inventory.getQuantity() + shards.stream().mapToInt(InventoryShard::getQuantity).sum();
+        if (total < quantity) {
+            return false;
+        }
+
+        int remaining = quantity;
+        for (InventoryShard shard : shards) {
+            int taken = Math.min(Math.max(shard.getQuantity(), 0), remaining);
+            shard.adjust(-taken);
+            remaining -= taken;
+        }
+        inventory.adjust(-remaining);
+        return true;
+    }
+
+    private int selectShard(int shardCount) {
+        if (inventoryProperties.getShard().getSelection() == ShardSelection.ROUND_ROBIN) {
+            return Math.floorMod(roundRobin.getAndIncrement(), shardCount);
+        }
+        return ThreadLocalRandom.current().nextInt(shardCount);
+    }
+
+    private void evictAfterCommit(Iterable<Long> productIds) {
+        List<String> keys = new ArrayList<>();
+        productIds.forEach(productId -> keys.add(INVENTORY_KEY_PREFIX + productId));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                twoTierCache.evict(keys);
+            }
+        });
+    }
+
+    private enum Outcome {
+        RESERVED,
+        INSUFFICIENT,
+        NEEDS_ALL_SHARDS
+    }
+}
@@ -0,0 +1,48 @@
+package org.fortishop.productinventoryservice.service.reservation;
+
+import java.util.List;
+import org.fortishop.productinventoryservice.dto.event.OrderItemInfo;
+import org.fortishop.productinventoryservice.global.config.InventoryProperties;
+import org.fortishop.productinventoryservice.kafka.InventoryEventProducer;
+import org.fortishop.productinventoryservice.service.InventoryHoldService;
+import org.springframework.stereotype.Component;
+
+@Component
+public class SingleWriterStockReserver extends QueuedStockReserver {
+
+    private final ReservationLaneExecutor reservationLaneExecutor;
+    private final ConditionalUpdateStockReserver conditionalUpdateStockReserver;
+    private final InventoryProperties inventoryProperties;
+
+    public SingleWriterStockReserver(InventoryEventProducer inventoryEventProducer,
+                                     InventoryHoldService inventoryHoldService,
+                                     ReservationLaneExecutor reservationLaneExecutor,
+                                     ConditionalUpdateStockReserver conditionalUpdateStockReserver,
+                                     InventoryProperties inventoryProperties) {
+        super(inventoryEventProducer, inventoryHoldService);
+        this.reservationLaneExecutor = reservationLaneExecutor;
+        this.conditionalUpdateStockReserver = conditionalUpdateStockReserver;
+        this.inventoryProperties = inventoryProperties;
+    }
+
+    @Override
+    public ReservationMode getMode() {
+        return ReservationMode.SINGLE_WRITER;
+    }
+
+    // 여러 lane 에 걸친 all-or-nothing 은 lane 으로 보장할 수 없으므로 조건부 batch UPDATE 한 트랜잭션으로 처리
+    @Override
+    public boolean reserveOrder(Long orderId, List<OrderItemInfo> items, String traceId) {
+        return conditionalUpdateStockReserver.reserveOrder(orderId, items, traceId);
+    }
+
+    @Override
+    protected PendingAdjustment submit(Long productId, int delta) {
+        return reservationLaneExecutor.submit(productId, delta);
+    }
+
+    @Override
+    protected long awaitTimeoutMs() {
+        return inventoryProperties.getLane().getAwaitTimeoutMs();
+    }
+}
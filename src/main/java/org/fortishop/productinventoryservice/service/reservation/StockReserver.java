@@ -0,0 +1,14 @@
+package org.fortishop.productinventoryservice.service.reservation;
+
+import java.util.List;
+import org.fortishop.productinventoryservice.dto.event.OrderItemInfo;
+
+public interface StockReserver {
+    ReservationMode getMode();
+
+    boolean reserve(Long orderId, Long productId, int quantity, String traceId);
+
+    boolean reserveOrder(Long orderId, List<OrderItemInfo> items, String traceId);
+
+    void restore(Long orderId, Long productId, int quantity, String traceId);
+}
@@ -0,0 +1,6 @@
+-- KEYS[1] = in-flight delta hash, KEYS[2] = applied drain sequence hash
+-- ARGV[1] = productId, ARGV[2] = drain sequence
+-- MySQL 에 반영한 delta 를 in-flight 에서 지우고, 상품별로 마지막으로 반영된 drain 번호를 남긴다.
+redis.call('HDEL', KEYS[1], ARGV[1])
+redis.call('HSET', KEYS[2], ARGV[1], ARGV[2])
+return 1
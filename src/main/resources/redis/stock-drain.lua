@@ -0,0 +1,17 @@
+-- KEYS[1] = pending delta hash, KEYS[2] = in-flight delta hash, KEYS[3] = drain sequence
+-- pending 을 새 drain 번호와 함께 in-flight 로 옮기고 {drain 번호, productId, delta, ...} 를 돌려준다.
+-- MySQL 반영을 마친 상품만 in-flight 에서 지워지므로, 이전 drain 이 남아 있으면(노드 종료, 반영 실패)
+-- 새로 옮기지 않고 남은 in-flight delta 를 같은 번호로 다시 돌려준다.
+if redis.call('EXISTS', KEYS[2]) == 0 then
+    if redis.call('EXISTS', KEYS[1]) == 0 then
+        return {}
+    end
+    redis.call('INCR', KEYS[3])
+    redis.call('RENAME', KEYS[1], KEYS[2])
+end
+local result = { redis.call('GET', KEYS[3]) }
+local inflight = redis.call('HGETALL', KEYS[2])
+for i = 1, #inflight do
+    result[#result + 1] = inflight[i]
+end
+return result
@@ -0,0 +1,15 @@
+-- KEYS[1] = stock counter, KEYS[2] = pending delta hash, KEYS[3] = in-flight delta hash,
+-- KEYS[4] = drain sequence, KEYS[5] = applied drain sequence hash
+-- ARGV[1] = productId, ARGV[2] = quantity persisted in MySQL, ARGV[3] = drain sequence persisted in MySQL
+-- 아직 MySQL 에 반영되지 않은 pending / in-flight delta 를 더해 카운터를 초기화한다.
+-- return 1: 초기화됨(또는 이미 있음), 0: MySQL 을 읽은 뒤 drain 이 반영되어 다시 읽어야 함
+local persistedSeq = tonumber(ARGV[3])
+if tonumber(redis.call('HGET', KEYS[5], ARGV[1]) or '0') > persistedSeq then
+    return 0
+end
+local pending = tonumber(redis.call('HGET', KEYS[2], ARGV[1]) or '0')
+if tonumber(redis.call('GET', KEYS[4]) or '0') > persistedSeq then
+    pending = pending + tonumber(redis.call('HGET', KEYS[3], ARGV[1]) or '0')
+end
+redis.call('SET', KEYS[1], tonumber(ARGV[2]) + pending, 'NX')
+return 1
@@ -0,0 +1,19 @@
+-- KEYS[1..n] = stock counters, KEYS[n + 1] = pending delta hash
+-- ARGV[1..n] = productIds, ARGV[n + 1..2n] = quantities
+-- return 0: 전부 차감, -i: i 번째 카운터 미초기화, i: i 번째 상품 재고 부족
+local n = #KEYS - 1
+for i = 1, n do
+    local stock = redis.call('GET', KEYS[i])
+    if not stock then
+        return -i
+    end
+    if tonumber(stock) < tonumber(ARGV[n + i]) then
+        return i
+    end
+end
+for i = 1, n do
+    local quantity = tonumber(ARGV[n + i])
+    redis.call('DECRBY', KEYS[i], quantity)
+    redis.call('HINCRBY', KEYS[n + 1], ARGV[i], -quantity)
+end
+return 0
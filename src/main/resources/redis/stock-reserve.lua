@@ -0,0 +1,14 @@
+-- KEYS[1] = stock counter, KEYS[2] = pending delta hash
+-- ARGV[1] = productId, ARGV[2] = quantity
+-- return -1: counter not initialized, 0: insufficient stock, 1: reserved
+local stock = redis.call('GET', KEYS[1])
+if not stock then
+    return -1
+end
+local quantity = tonumber(ARGV[2])
+if tonumber(stock) < quantity then
+    return 0
+end
+redis.call('DECRBY', KEYS[1], quantity)
+redis.call('HINCRBY', KEYS[2], ARGV[1], -quantity)
+return 1
@@ -0,0 +1,8 @@
+-- KEYS[1] = stock counter, KEYS[2] = pending delta hash, KEYS[3] = in-flight delta hash
+-- ARGV[1] = productId, ARGV[2] = quantity
+-- 관리자가 지정한 수량이 기준이 되므로 아직 반영되지 않은 pending / in-flight delta 는 버린다.
+-- (in-flight delta 는 MySQL 의 drain 번호로도 막힌다)
+redis.call('SET', KEYS[1], ARGV[2])
+redis.call('HDEL', KEYS[2], ARGV[1])
+redis.call('HDEL', KEYS[3], ARGV[1])
+return 1
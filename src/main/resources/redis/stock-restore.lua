@@ -0,0 +1,7 @@
+-- KEYS[1] = stock counter, KEYS[2] = pending delta hash
+-- ARGV[1] = productId, ARGV[2] = quantity
+if redis.call('EXISTS', KEYS[1]) == 1 then
+    redis.call('INCRBY', KEYS[1], ARGV[2])
+end
+redis.call('HINCRBY', KEYS[2], ARGV[1], ARGV[2])
+return 1
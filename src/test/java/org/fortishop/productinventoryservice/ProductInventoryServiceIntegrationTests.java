@@ -1,6 +1,8 @@
 package org.fortishop.productinventoryservice;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.awaitility.Awaitility.await;
 
 import com.fasterxml.jackson.databind.JsonNode;
@@ -28,15 +30,38 @@ import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.common.serialization.StringSerializer;
+import org.fortishop.productinventoryservice.Repository.InventoryHoldRepository;
+import org.fortishop.productinventoryservice.Repository.InventoryOutboxRepository;
 import org.fortishop.productinventoryservice.Repository.InventoryRepository;
 import org.fortishop.productinventoryservice.Repository.ProductRepository;
 import org.fortishop.productinventoryservice.Repository.ProductSearchRepository;
+import org.fortishop.productinventoryservice.domain.HoldStatus;
 import org.fortishop.productinventoryservice.domain.Inventory;
+import org.fortishop.productinventoryservice.domain.InventoryHold;
+import org.fortishop.productinventoryservice.domain.InventoryOutbox;
 import org.fortishop.productinventoryservice.domain.Product;
 import org.fortishop.productinventoryservice.domain.ProductDocument;
+import org.fortishop.productinventoryservice.dto.event.OrderCreatedEvent;
+import org.fortishop.productinventoryservice.dto.event.OrderItemInfo;
+import org.fortishop.productinventoryservice.dto.request.InventoryRequest;
 import org.fortishop.productinventoryservice.dto.request.ProductRequest;
+import org.fortishop.productinventoryservice.dto.response.InventoryResponse;
 import org.fortishop.productinventoryservice.dto.response.ProductResponse;
+import org.fortishop.productinventoryservice.exception.Product.ProductException;
+import org.fortishop.productinventoryservice.global.config.InventoryProperties;
+import org.fortishop.productinventoryservice.service.EventDedupeService;
+import org.fortishop.productinventoryservice.service.InventoryService;
+import org.fortishop.productinventoryservice.service.InventoryShardService;
+import org.fortishop.productinventoryservice.service.ProductSyncService;
+import org.fortishop.productinventoryservice.service.StockReservationService;
 import org.fortishop.productinventoryservice.service.TestInventoryHelper;
+import org.fortishop.productinventoryservice.service.hold.HoldExpiryScheduler;
+import org.fortishop.productinventoryservice.service.popularity.PopularityRanking;
+import org.fortishop.productinventoryservice.service.popularity.ViewCountBuffer;
+import org.fortishop.productinventoryservice.service.reservation.RedisStockCounter;
+import org.fortishop.productinventoryservice.service.reservation.RedisStockReconciler;
+import org.fortishop.productinventoryservice.service.reservation.ReservationMode;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -46,9 +71,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.data.elasticsearch.client.elc.ElasticsearchTemplate;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -100,6 +127,45 @@ public class ProductInventoryServiceIntegrationTests {
     @Autowired
     private TestInventoryHelper testInventoryHelper;
 
+    @Autowired
+    private ProductSyncService productSyncService;
+
+    @Autowired
+    private ViewCountBuffer viewCountBuffer;
+
+    @Autowired
+    private PopularityRanking popularityRanking;
+
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    @Autowired
+    private InventoryProperties inventoryProperties;
+
+    @Autowired
+    private RedisStockCounter redisStockCounter;
+
+    @Autowired
+    private RedisStockReconciler redisStockReconciler;
+
+    @Autowired
+    private InventoryShardService inventoryShardService;
+
+    @Autowired
+    private InventoryOutboxRepository inventoryOutboxRepository;
+
+    @Autowired
+    private InventoryHoldRepository inventoryHoldRepository;
+
+    @Autowired
+    private HoldExpiryScheduler holdExpiryScheduler;
+
+    @Autowired
+    private EventDedupeService eventDedupeService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
     @Container
     static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0")
             .withDatabaseName("fortishop")
@@ -200,11 +266,22 @@ public class ProductInventoryServiceIntegrationTests {
 
     @BeforeEach
     void cleanDatabase() {
+        inventoryHoldRepository.deleteAll();
         inventoryRepository.deleteAll();
         productRepository.deleteAll();
         searchRepository.deleteAll();
     }
 
+    // 예약 모드를 바꾸는 테스트가 다른 테스트에 영향을 주지 않도록 기본값으로 되돌린다.
+    @AfterEach
+    void resetReservationMode() {
+        inventoryProperties.getReservation().setMode(ReservationMode.LOCK);
+        inventoryProperties.getReservation().setOrderLevel(false);
+        inventoryProperties.getOutbox().setEnabled(false);
+        inventoryProperties.getHold().setEnabled(false);
+        inventoryProperties.getDedupe().setInProgressTtlSeconds(60);
+    }
+
     @Test
     @DisplayName("상품 등록 및 조회에 성공한다")
     void createAndGetProduct_success() {
@@ -242,6 +319,26 @@ public class ProductInventoryServiceIntegrationTests {
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
     }
 
+    @Test
+    @DisplayName("여러 상품의 재고를 한 번에 조회하고 재고가 없는 상품은 제외한다")
+    void getInventories_bulk_success() {
+        inventoryRepository.save(Inventory.builder().productId(101L).quantity(3).build());
+        inventoryRepository.save(Inventory.builder().productId(102L).quantity(7).build());
+        String url = "http://localhost:" + port + "/api/inventory?productIds=101,102,9999";
+
+        ResponseEntity<Map<String, InventoryResponse>> first = restTemplate.exchange(url, HttpMethod.GET, null,
+                new ParameterizedTypeReference<>() {
+                });
+        // 두 번째 조회는 캐시에서 응답
+        ResponseEntity<Map<String, InventoryResponse>> second = restTemplate.exchange(url, HttpMethod.GET, null,
+                new ParameterizedTypeReference<>() {
+                });
+
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(first.getBody()).containsOnlyKeys("101", "102");
+        assertThat(second.getBody().get("102").getQuantity()).isEqualTo(7);
+    }
+
     @Test
     @DisplayName("인기 상품 목록을 조회한다")
     void getPopularProducts_success() {
@@ -255,6 +352,8 @@ public class ProductInventoryServiceIntegrationTests {
         restTemplate.getForEntity(getBaseUrl() + "/" + p1.getId(), ProductResponse.class);
         restTemplate.getForEntity(getBaseUrl() + "/" + p1.getId(), ProductResponse.class);
         restTemplate.getForEntity(getBaseUrl() + "/" + p2.getId(), ProductResponse.class);
+        viewCountBuffer.flush();
+        popularityRanking.rebuild();
 
         ResponseEntity<ProductResponse[]> res = restTemplate.getForEntity(
                 getBaseUrl() + "/popular?limit=2", ProductResponse[].class
@@ -282,6 +381,53 @@ public class ProductInventoryServiceIntegrationTests {
         assertThat(res.getBody()).contains("상품1");
     }
 
+    @Test
+    @DisplayName("커서 기반 목록은 중복 없이 끝까지 이어서 조회된다")
+    void getProductsByCursor_success() {
+        for (int i = 1; i <= 15; i++) {
+            productRepository.save(Product.builder()
+                    .name("커서상품" + i).description("desc").price(BigDecimal.valueOf(1000))
+                    .category("cat").imageUrl("img").isActive(true).build());
+        }
+
+        JsonNode first = restTemplate.getForObject(getBaseUrl() + "/cursor?size=10", JsonNode.class);
+        String cursor = first.get("nextCursor").asText();
+        JsonNode second = restTemplate.getForObject(getBaseUrl() + "/cursor?size=10&cursor=" + cursor,
+                JsonNode.class);
+
+        assertThat(first.get("content")).hasSize(10);
+        assertThat(first.get("hasNext").asBoolean()).isTrue();
+        assertThat(second.get("content")).hasSize(5);
+        assertThat(second.get("hasNext").asBoolean()).isFalse();
+        assertThat(second.get("content").get(0).get("id").asLong())
+                .isLessThan(first.get("content").get(9).get("id").asLong());
+    }
+
+    @Test
+    @DisplayName("카테고리 목록은 캐시되고 해당 카테고리 상품이 추가되면 갱신된다")
+    void getProductsByCategory_invalidatedOnCreate() {
+        productRepository.save(Product.builder()
+                .name("운동화").description("desc").price(BigDecimal.valueOf(1000))
+                .category("shoes").imageUrl("img").isActive(true).build());
+        productRepository.save(Product.builder()
+                .name("가방").description("desc").price(BigDecimal.valueOf(1000))
+                .category("bags").imageUrl("img").isActive(true).build());
+
+        JsonNode before = restTemplate.getForObject(getBaseUrl() + "/category/shoes", JsonNode.class);
+        assertThat(before.get("content")).hasSize(1);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("x-member-role", "ROLE_ADMIN");
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        restTemplate.postForEntity(getBaseUrl(), new HttpEntity<>(
+                new ProductRequest("샌들", "desc", BigDecimal.valueOf(2000), "shoes", "img", true), headers),
+                ProductResponse.class);
+
+        JsonNode after = restTemplate.getForObject(getBaseUrl() + "/category/shoes", JsonNode.class);
+        assertThat(after.get("content")).hasSize(2);
+        assertThat(after.get("content").get(0).get("name").asText()).isEqualTo("샌들");
+    }
+
     @Test
     @DisplayName("Kafka 이벤트 기반 재고 차감 처리 - 성공")
     void handleOrderCreated_event_success() throws Exception {
@@ -395,6 +541,36 @@ public class ProductInventoryServiceIntegrationTests {
         assertThat(inventory.getQuantity()).isBetween(0, 5);
     }
 
+    @Test
+    @DisplayName("커밋된 상품 변경은 색인 큐에서 합쳐져 변경된 필드만 ES 에 반영된다")
+    void productSync_partialUpdate() {
+        searchRepository.save(ProductDocument.builder()
+                .id(501L).name("before").description("desc").price(BigDecimal.valueOf(1000))
+                .quantity(7).category("cat").build());
+
+        productSyncService.update(501L, new ProductRequest("after", null, null, null, null, true));
+        productSyncService.updateQuantity(501L, 5);
+        productSyncService.updateQuantity(501L, 3);
+        productSyncService.updateQuantity(9999L, 1);
+
+        await()
+                .atMost(Duration.ofSeconds(10))
+                .pollInterval(Duration.ofMillis(200))
+                .untilAsserted(() -> {
+                    ProductDocument synced = searchRepository.findById(501L).orElseThrow();
+                    assertThat(synced.getName()).isEqualTo("after");
+                    assertThat(synced.getDescription()).isEqualTo("desc");
+                    assertThat(synced.getQuantity()).isEqualTo(3);
+                });
+        assertThat(searchRepository.existsById(9999L)).isFalse();
+
+        productSyncService.delete(501L);
+        await()
+                .atMost(Duration.ofSeconds(10))
+                .pollInterval(Duration.ofMillis(200))
+                .untilAsserted(() -> assertThat(searchRepository.existsById(501L)).isFalse());
+    }
+
     @Test
     @DisplayName("Elasticsearch 상품 검색 성공")
     void searchProducts_elasticsearch_success() throws Exception {
@@ -439,6 +615,312 @@ public class ProductInventoryServiceIntegrationTests {
                 });
     }
 
+    @Test
+    @DisplayName("REDIS_LUA 모드 - 재고 안에서는 차감되고 부족하면 거절되며 reconcile 후 MySQL 에 반영된다")
+    void reserve_redisLua_success_and_insufficient() {
+        Long productId = saveProductWithStock("Lua", 5);
+        inventoryProperties.getReservation().setMode(ReservationMode.REDIS_LUA);
+
+        assertThat(stockReservationService.reserve(productId * 100 + 1, productId, 3, "trace")).isTrue();
+        assertThat(stockReservationService.reserve(productId * 100 + 2, productId, 3, "trace")).isFalse();
+        assertThat(redisStockCounter.currentStock(productId)).isEqualTo(2);
+
+        redisStockReconciler.reconcile();
+        assertThat(stockOf(productId)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("REDIS_LUA 모드 - 복원된 수량은 카운터와 MySQL 에 모두 반영된다")
+    void restore_redisLua_success() {
+        Long productId = saveProductWithStock("LuaRestore", 5);
+        inventoryProperties.getReservation().setMode(ReservationMode.REDIS_LUA);
+
+        assertThat(stockReservationService.reserve(productId * 100 + 1, productId, 4, "trace")).isTrue();
+        stockReservationService.restore(productId * 100 + 1, productId, 4, "trace");
+        assertThat(redisStockCounter.currentStock(productId)).isEqualTo(5);
+
+        redisStockReconciler.reconcile();
+        assertThat(stockOf(productId)).isEqualTo(5);
+    }
+
+    private Long saveProductWithStock(String name, int quantity) {
+        Product product = productRepository.save(Product.builder()
+                .name(name).description("desc").price(BigDecimal.valueOf(1000))
+                .category("cat").imageUrl("img").isActive(true).build());
+        inventoryRepository.save(Inventory.builder().productId(product.getId()).quantity(quantity).build());
+        return product.getId();
+    }
+
+    private int stockOf(Long productId) {
+        return inventoryRepository.findByProductId(productId).orElseThrow().getQuantity();
+    }
+
+    @Test
+    @DisplayName("주문 단위 예약 - 모든 상품의 재고가 충분하면 한 번에 차감된다")
+    void reserveOrder_lock_success() {
+        Long first = saveProductWithStock("OrderA", 5);
+        Long second = saveProductWithStock("OrderB", 5);
+
+        boolean reserved = stockReservationService.reserveOrder(orderEvent(first * 100 + 1,
+                orderItem(first, 2), orderItem(second, 3), orderItem(first, 1)));
+
+        assertThat(reserved).isTrue();
+        assertThat(stockOf(first)).isEqualTo(2);
+        assertThat(stockOf(second)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("주문 단위 예약 - 한 상품이라도 재고가 부족하면 전체가 롤백된다")
+    void reserveOrder_lock_insufficient_rollsBack() {
+        Long first = saveProductWithStock("OrderC", 5);
+        Long second = saveProductWithStock("OrderD", 1);
+
+        boolean reserved = stockReservationService.reserveOrder(orderEvent(first * 100 + 1,
+                orderItem(first, 2), orderItem(second, 3)));
+
+        assertThat(reserved).isFalse();
+        assertThat(stockOf(first)).isEqualTo(5);
+        assertThat(stockOf(second)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("주문 단위 예약 - 없는 상품이 섞여 있으면 전체가 롤백된다 (CONDITIONAL_UPDATE)")
+    void reserveOrder_conditionalUpdate_missingProduct_rollsBack() {
+        Long first = saveProductWithStock("OrderE", 5);
+        inventoryProperties.getReservation().setMode(ReservationMode.CONDITIONAL_UPDATE);
+
+        boolean reserved = stockReservationService.reserveOrder(orderEvent(first * 100 + 1,
+                orderItem(first, 2), orderItem(999_999L, 1)));
+
+        assertThat(reserved).isFalse();
+        assertThat(stockOf(first)).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("조건부 UPDATE 예약 - 재고 안에서는 차감되고 부족하면 거절된다")
+    void reserve_conditionalUpdate_success_and_insufficient() {
+        Long productId = saveProductWithStock("Conditional", 5);
+        inventoryProperties.getReservation().setMode(ReservationMode.CONDITIONAL_UPDATE);
+
+        assertThat(stockReservationService.reserve(productId * 100 + 1, productId, 5, "trace")).isTrue();
+        assertThat(stockReservationService.reserve(productId * 100 + 2, productId, 1, "trace")).isFalse();
+        assertThat(stockOf(productId)).isZero();
+    }
+
+    private OrderCreatedEvent orderEvent(Long orderId, OrderItemInfo... items) {
+        return OrderCreatedEvent.builder()
+                .orderId(orderId)
+                .memberId(1L)
+                .totalPrice(BigDecimal.valueOf(1000))
+                .address("서울특별시")
+                .items(List.of(items))
+                .createdAt(LocalDateTime.now().toString())
+                .traceId(UUID.randomUUID().toString())
+                .build();
+    }
+
+    private OrderItemInfo orderItem(Long productId, int quantity) {
+        return OrderItemInfo.builder().productId(productId).quantity(quantity).price(BigDecimal.valueOf(1000)).build();
+    }
+
+    @Test
+    @DisplayName("샤딩된 상품 - 한 샤드로 부족한 수량은 모든 샤드에 나눠 차감하고, 부족하면 주문 전체가 롤백된다")
+    void reserveOrder_sharded_spreadsAcrossShards_and_rollsBack() {
+        Long sharded = saveProductWithStock("Sharded", 8);
+        Long plain = saveProductWithStock("Plain", 2);
+        inventoryShardService.enableSharding(sharded, 4);
+
+        try {
+            assertThat(stockReservationService.reserveOrder(orderEvent(sharded * 100 + 1,
+                    orderItem(sharded, 3), orderItem(plain, 1)))).isTrue();
+            assertThat(stockOf(sharded) + inventoryShardService.shardedQuantity(sharded)).isEqualTo(5);
+            assertThat(stockOf(plain)).isEqualTo(1);
+
+            assertThat(stockReservationService.reserveOrder(orderEvent(sharded * 100 + 2,
+                    orderItem(sharded, 5), orderItem(plain, 2)))).isFalse();
+            assertThat(stockOf(sharded) + inventoryShardService.shardedQuantity(sharded)).isEqualTo(5);
+            assertThat(stockOf(plain)).isEqualTo(1);
+        } finally {
+            inventoryShardService.disableSharding(sharded);
+        }
+    }
+
+    @Test
+    @DisplayName("중복 제거 - 거절된 예약은 같은 이벤트로 다시 판단하고, 성공한 예약은 다시 차감하지 않는다")
+    void reserve_dedupe_releasesRejectedOnly() {
+        Long productId = saveProductWithStock("Dedupe", 1);
+        Long orderId = productId * 100 + 1;
+
+        assertThat(stockReservationService.reserve(orderId, productId, 2, "trace")).isFalse();
+        inventoryRepository.adjustQuantity(productId, 4);
+
+        assertThat(stockReservationService.reserve(orderId, productId, 2, "trace")).isTrue();
+        assertThat(stockReservationService.reserve(orderId, productId, 2, "trace")).isFalse();
+        assertThat(stockOf(productId)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("outbox - 실패 이벤트는 재고 트랜잭션이 롤백된 뒤에도 남고, 성공 이벤트는 같은 트랜잭션으로 기록된다")
+    void outbox_failureSurvivesRollback() {
+        Long first = saveProductWithStock("OutboxA", 5);
+        Long second = saveProductWithStock("OutboxB", 1);
+        inventoryProperties.getReservation().setMode(ReservationMode.CONDITIONAL_UPDATE);
+        inventoryProperties.getOutbox().setEnabled(true);
+        Long rejectedOrderId = first * 100 + 1;
+        Long reservedOrderId = first * 100 + 2;
+
+        assertThat(stockReservationService.reserveOrder(orderEvent(rejectedOrderId,
+                orderItem(first, 2), orderItem(second, 3)))).isFalse();
+        assertThat(stockReservationService.reserveOrder(orderEvent(reservedOrderId,
+                orderItem(first, 2), orderItem(second, 1)))).isTrue();
+
+        assertThat(inventoryOutboxRepository.findAll())
+                .extracting(InventoryOutbox::getMessageKey, InventoryOutbox::getTopic)
+                .contains(tuple(rejectedOrderId.toString(), "inventory.failed"),
+                        tuple(reservedOrderId.toString(), "inventory.reserved"));
+        assertThat(stockOf(first)).isEqualTo(3);
+        assertThat(stockOf(second)).isZero();
+    }
+
+    @Test
+    @DisplayName("hold 만료 - 전이와 재고 복원이 함께 커밋되고, 복원이 실패하면 hold 가 HELD 로 남는다")
+    void expireHold_restoresInSameTransaction() {
+        Long productId = saveProductWithStock("HoldExpire", 5);
+        Long missingProductId = saveProductWithStock("HoldMissing", 5);
+        inventoryProperties.getHold().setEnabled(true);
+
+        assertThat(stockReservationService.reserve(productId * 100 + 1, productId, 2, "trace")).isTrue();
+        assertThat(stockReservationService.reserve(missingProductId * 100 + 1, missingProductId, 2, "trace")).isTrue();
+        InventoryHold hold = inventoryHoldRepository.findByOrderIdAndProductId(productId * 100 + 1, productId).get(0);
+        InventoryHold orphan = inventoryHoldRepository
+                .findByOrderIdAndProductId(missingProductId * 100 + 1, missingProductId).get(0);
+
+        stockReservationService.expire(hold.getId());
+        assertThat(stockOf(productId)).isEqualTo(5);
+        assertThat(inventoryHoldRepository.findById(hold.getId()).orElseThrow().getStatus())
+                .isEqualTo(HoldStatus.EXPIRED);
+
+        inventoryRepository.delete(inventoryRepository.findByProductId(missingProductId).orElseThrow());
+        assertThatThrownBy(() -> stockReservationService.expire(orphan.getId()))
+                .isInstanceOf(ProductException.class);
+        assertThat(inventoryHoldRepository.findById(orphan.getId()).orElseThrow().getStatus())
+                .isEqualTo(HoldStatus.HELD);
+    }
+
+    @Test
+    @DisplayName("결제 실패 복원 - hold 해제와 재고 복원이 함께 커밋되고, 복원이 실패하면 hold 가 HELD 로 남아 재전달 때 다시 시도한다")
+    void restoreHold_releasesAndRestoresInSameTransaction() {
+        Long productId = saveProductWithStock("HoldRestore", 5);
+        Long missingProductId = saveProductWithStock("HoldRestoreMissing", 5);
+        inventoryProperties.getHold().setEnabled(true);
+
+        assertThat(stockReservationService.reserve(productId * 100 + 1, productId, 2, "trace")).isTrue();
+        assertThat(stockReservationService.reserve(missingProductId * 100 + 1, missingProductId, 2, "trace")).isTrue();
+        InventoryHold orphan = inventoryHoldRepository
+                .findByOrderIdAndProductId(missingProductId * 100 + 1, missingProductId).get(0);
+
+        stockReservationService.restore(productId * 100 + 1, productId, 2, "trace");
+        assertThat(stockOf(productId)).isEqualTo(5);
+        assertThat(inventoryHoldRepository.findByOrderIdAndProductId(productId * 100 + 1, productId).get(0)
+                .getStatus()).isEqualTo(HoldStatus.RELEASED);
+
+        inventoryRepository.delete(inventoryRepository.findByProductId(missingProductId).orElseThrow());
+        for (int attempt = 0; attempt < 2; attempt++) {
+            assertThatThrownBy(() -> stockReservationService.restore(missingProductId * 100 + 1, missingProductId, 2,
+                    "trace")).isInstanceOf(ProductException.class);
+        }
+        assertThat(inventoryHoldRepository.findById(orphan.getId()).orElseThrow().getStatus())
+                .isEqualTo(HoldStatus.HELD);
+    }
+
+    @Test
+    @DisplayName("hold sweep - 타이머 휠에 없는 만료된 HELD hold 도 DB 에서 찾아 만료시킨다")
+    void sweepHolds_expiresOverdueHolds() {
+        Long productId = saveProductWithStock("HoldSweep", 5);
+        inventoryProperties.getHold().setEnabled(true);
+        inventoryProperties.getHold().setTtlSeconds(0);
+        try {
+            assertThat(stockReservationService.reserve(productId * 100 + 1, productId, 2, "trace")).isTrue();
+            InventoryHold hold = inventoryHoldRepository.findByOrderIdAndProductId(productId * 100 + 1, productId)
+                    .get(0);
+            holdExpiryScheduler.cancel(hold.getId());
+
+            holdExpiryScheduler.sweep();
+
+            assertThat(stockOf(productId)).isEqualTo(5);
+            assertThat(inventoryHoldRepository.findById(hold.getId()).orElseThrow().getStatus())
+                    .isEqualTo(HoldStatus.EXPIRED);
+        } finally {
+            inventoryProperties.getHold().setTtlSeconds(900);
+        }
+    }
+
+    @Test
+    @DisplayName("REDIS_LUA 모드 - drain 뒤 반영 전/ack 전에 멈춰도 in-flight delta 는 다음 reconcile 에서 한 번만 반영된다")
+    void reconcile_redisLua_recoversInflightOnce() {
+        Long notApplied = saveProductWithStock("LuaInflight", 5);
+        Long notAcked = saveProductWithStock("LuaApplied", 5);
+        inventoryProperties.getReservation().setMode(ReservationMode.REDIS_LUA);
+        assertThat(stockReservationService.reserve(notApplied * 100 + 1, notApplied, 2, "trace")).isTrue();
+        assertThat(stockReservationService.reserve(notAcked * 100 + 1, notAcked, 3, "trace")).isTrue();
+
+        // drain 으로 in-flight 에 옮긴 뒤 한 상품은 반영 전에, 다른 상품은 반영 후 ack 전에 노드가 멈춘 상황
+        RedisStockCounter.PendingDrain drain = redisStockCounter.drainPending();
+        assertThat(drain.getDeltas()).containsEntry(notApplied, -2).containsEntry(notAcked, -3);
+        inventoryRepository.applyRedisDrain(notAcked, -3, drain.getSeq(), LocalDateTime.now());
+
+        redisStockReconciler.reconcile();
+        redisStockReconciler.reconcile();
+
+        assertThat(stockOf(notApplied)).isEqualTo(3);
+        assertThat(stockOf(notAcked)).isEqualTo(2);
+        assertThat(redisStockCounter.drainPending().getDeltas()).doesNotContainKeys(notApplied, notAcked);
+    }
+
+    @Test
+    @DisplayName("샤딩된 상품 - SINGLE_WRITER/GROUP_COMMIT 모드에서도 큐 대신 샤드 경로로 모든 샤드의 재고를 차감한다")
+    void reserve_sharded_overridesQueuedModes() {
+        for (ReservationMode mode : List.of(ReservationMode.SINGLE_WRITER, ReservationMode.GROUP_COMMIT)) {
+            Long sharded = saveProductWithStock("Sharded" + mode, 8);
+            inventoryShardService.enableSharding(sharded, 4);
+            inventoryProperties.getReservation().setMode(mode);
+
+            try {
+                // inventory row(0번 샤드)에는 2개뿐이라 큐로 처리되면 거절된다.
+                assertThat(stockReservationService.reserve(sharded * 100 + 1, sharded, 5, "trace")).isTrue();
+                assertThat(stockOf(sharded) + inventoryShardService.shardedQuantity(sharded)).isEqualTo(3);
+            } finally {
+                inventoryShardService.disableSharding(sharded);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("중복 제거 - 처리 도중 멈춘 노드의 처리 중 표시가 만료되면 재전달된 이벤트를 다시 처리한다")
+    void reserve_dedupe_reprocessesAfterAbandonedClaim() {
+        Long productId = saveProductWithStock("DedupeCrash", 5);
+        Long orderId = productId * 100 + 1;
+        inventoryProperties.getDedupe().setInProgressTtlSeconds(1);
+
+        // 처리 중 표시만 남기고 커밋 전에 노드가 죽은 상황
+        assertThat(eventDedupeService.tryAcquire(EventDedupeService.ORDER_CREATED, orderId, productId)).isTrue();
+
+        assertThat(stockReservationService.reserve(orderId, productId, 2, "trace")).isTrue();
+        assertThat(stockReservationService.reserve(orderId, productId, 2, "trace")).isFalse();
+        assertThat(stockOf(productId)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("재고 수정 - 커밋 후 evict 로 L1 까지 비워 다음 조회는 새 재고를 읽는다")
+    void setInventory_afterCommitEvictClearsL1() {
+        Long productId = saveProductWithStock("CacheEvict", 5);
+        assertThat(inventoryService.getInventory(productId).getQuantity()).isEqualTo(5);
+
+        inventoryService.setInventory(productId, new InventoryRequest(9));
+
+        assertThat(inventoryService.getInventory(productId).getQuantity()).isEqualTo(9);
+    }
+
     private static void createTopicIfNotExists(String topic, String bootstrapServers) {
         Properties config = new Properties();
         config.put(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
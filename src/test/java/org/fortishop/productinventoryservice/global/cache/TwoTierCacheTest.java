@@ -0,0 +1,294 @@
+package org.fortishop.productinventoryservice.global.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.fortishop.productinventoryservice.global.config.CacheProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.bus.BusProperties;
+import org.springframework.cloud.bus.event.Destination;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ValueOperations;
+
+@ExtendWith(MockitoExtension.class)
+class TwoTierCacheTest {
+
+    private static final String KEY = "inventory::product::1";
+    private static final String OTHER_KEY = "inventory::product::2";
+    private static final Duration TTL = Duration.ofSeconds(60);
+    private static final int THREADS = 8;
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, Object> valueOperations;
+
+    @Mock
+    private RedisOperations<String, Object> redisOperations;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ObjectProvider<BusProperties> busProperties;
+
+    @Mock
+    private ObjectProvider<Destination.Factory> destinationFactory;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TwoTierCache cache;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        CacheProperties properties = new CacheProperties();
+        // 남은 TTL 이 충분한 값은 사실상 미리 갱신되지 않도록 창을 좁힌다.
+        properties.getEarlyRefresh().setWindowRatio(0.01);
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new TwoTierCache(redisTemplate, eventPublisher, busProperties, destinationFactory, properties,
+                meterRegistry);
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("같은 키를 동시에 읽으면 로더는 한 번만 실행되고 모두 같은 값을 받는다")
+    void getOrLoad_singleFlight() throws Exception {
+        givenRedis(null, -2L);
+        given(redisTemplate.opsForValue()).willReturn(valueOperations);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+
+        List<Future<String>> readers = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            readers.add(executor.submit(() -> cache.getOrLoad(KEY, String.class, TTL, () -> {
+                calls.incrementAndGet();
+                awaitQuietly(release);
+                return "loaded";
+            })));
+        }
+        awaitLoads("shared", THREADS - 1);
+        release.countDown();
+
+        for (Future<String> reader : readers) {
+            assertThat(reader.get(5, TimeUnit.SECONDS)).isEqualTo("loaded");
+        }
+        assertThat(calls.get()).isEqualTo(1);
+        verify(valueOperations, times(1)).set(eq(KEY), eq("loaded"), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("로드 중에 evict 되면 그 결과를 캐시에 쓰지 않고 기다리던 호출은 다시 읽는다")
+    void evictDuringLoad_discardsStaleValue() throws Exception {
+        givenRedis(null, -2L);
+        given(redisTemplate.opsForValue()).willReturn(valueOperations);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        Supplier<String> loader = () -> {
+            if (calls.incrementAndGet() == 1) {
+                awaitQuietly(release);
+                return "old";
+            }
+            return "new";
+        };
+
+        Future<String> first = executor.submit(() -> cache.getOrLoad(KEY, String.class, TTL, loader));
+        awaitLoads("loaded", 1);
+        Future<String> waiter = executor.submit(() -> cache.getOrLoad(KEY, String.class, TTL, loader));
+        awaitLoads("shared", 1);
+
+        cache.evict(KEY);
+        release.countDown();
+
+        // evict 전에 시작한 로더 자신은 읽은 값을 그대로 돌려받는다.
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("old");
+        assertThat(waiter.get(5, TimeUnit.SECONDS)).isEqualTo("new");
+        verify(valueOperations, never()).set(eq(KEY), eq("old"), any(Duration.class));
+        verify(valueOperations).set(eq(KEY), eq("new"), any(Duration.class));
+        assertThat(cache.getOrLoad(KEY, String.class, TTL, () -> "unexpected")).isEqualTo("new");
+    }
+
+    @Test
+    @DisplayName("만료가 임박한 값은 로더로 미리 다시 채운다")
+    void getOrLoad_refreshesEarlyNearExpiry() {
+        givenRedis("cached", 0L);
+        given(redisTemplate.opsForValue()).willReturn(valueOperations);
+
+        String value = cache.getOrLoad(KEY, String.class, TTL, () -> "refreshed");
+
+        assertThat(value).isEqualTo("refreshed");
+        assertThat(meterRegistry.get("cache.tier.loads").tag("result", "early").counter().count()).isEqualTo(1);
+        verify(valueOperations).set(eq(KEY), eq("refreshed"), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("남은 TTL 이 충분하면 로더를 호출하지 않고 캐시 값을 돌려준다")
+    void getOrLoad_keepsFreshValue() {
+        givenRedis("cached", TTL.toMillis());
+
+        String value = cache.getOrLoad(KEY, String.class, TTL, () -> "unexpected");
+
+        assertThat(value).isEqualTo("cached");
+        assertThat(meterRegistry.get("cache.tier.loads").tag("result", "early").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("다른 호출이 이미 로드 중이면 미리 갱신은 기다리지 않고 기존 값을 돌려준다")
+    void earlyRefresh_returnsStaleWhileLoading() throws Exception {
+        givenRedis(null, -2L);
+        given(redisTemplate.opsForValue()).willReturn(valueOperations);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> loading = executor.submit(() -> cache.getOrLoad(KEY, String.class, TTL, () -> {
+            awaitQuietly(release);
+            return "loaded";
+        }));
+        awaitLoads("loaded", 1);
+
+        givenRedis("cached", 0L);
+        String value = cache.getOrLoad(KEY, String.class, TTL, () -> "unexpected");
+        release.countDown();
+
+        assertThat(value).isEqualTo("cached");
+        assertThat(loading.get(5, TimeUnit.SECONDS)).isEqualTo("loaded");
+    }
+
+    @Test
+    @DisplayName("loadAll 도중 evict 된 키는 읽은 값을 돌려주기만 하고 캐시에는 나머지 키만 쓴다")
+    @SuppressWarnings("unchecked")
+    void loadAll_skipsKeysEvictedDuringLoad() throws Exception {
+        willAnswer(invocation -> invocation.<SessionCallback<Object>>getArgument(0).execute(redisOperations))
+                .given(redisTemplate).executePipelined(any(SessionCallback.class));
+        given(redisOperations.opsForValue()).willReturn(valueOperations);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<Map<String, String>> loading = executor.submit(() -> cache.loadAll(List.of(KEY, OTHER_KEY), TTL,
+                keys -> {
+                    started.countDown();
+                    awaitQuietly(release);
+                    return Map.of(KEY, "old", OTHER_KEY, "other");
+                }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        cache.evict(KEY);
+        release.countDown();
+
+        assertThat(loading.get(5, TimeUnit.SECONDS)).containsEntry(KEY, "old").containsEntry(OTHER_KEY, "other");
+        verify(valueOperations, never()).set(eq(KEY), any(), any(Duration.class));
+        verify(valueOperations).set(eq(OTHER_KEY), eq("other"), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("다른 노드의 무효화 이벤트를 받으면 L1 을 비우고 진행 중인 로드도 캐시에 쓰지 않는다")
+    void onRemoteEvict_clearsL1AndInFlightLoads() throws Exception {
+        givenRedis(null, -2L);
+        given(redisTemplate.opsForValue()).willReturn(valueOperations);
+        assertThat(cache.getOrLoad(OTHER_KEY, String.class, TTL, () -> "cached")).isEqualTo("cached");
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> loading = executor.submit(() -> cache.getOrLoad(KEY, String.class, TTL, () -> {
+            awaitQuietly(release);
+            return "old";
+        }));
+        awaitLoads("loaded", 2);
+
+        cache.onRemoteEvict(new CacheEvictEvent(this, "other-node", () -> "**", List.of(KEY, OTHER_KEY)));
+        release.countDown();
+
+        assertThat(loading.get(5, TimeUnit.SECONDS)).isEqualTo("old");
+        verify(valueOperations, never()).set(eq(KEY), eq("old"), any(Duration.class));
+        // L1 에서 지워졌으므로 Redis(여기서는 miss)를 거쳐 다시 로드한다.
+        assertThat(cache.getOrLoad(OTHER_KEY, String.class, TTL, () -> "reloaded")).isEqualTo("reloaded");
+    }
+
+    @Test
+    @DisplayName("계층별 적중률 게이지는 L1/L2 의 hit / (hit + miss) 를 보여준다")
+    void hitRatioGauges_perTier() {
+        givenRedis(null, -2L);
+        given(redisTemplate.opsForValue()).willReturn(valueOperations);
+        assertThat(hitRatio("l1")).isZero();
+
+        cache.getOrLoad(KEY, String.class, TTL, () -> "loaded");
+        cache.getOrLoad(KEY, String.class, TTL, () -> "unexpected");
+        cache.getOrLoad(KEY, String.class, TTL, () -> "unexpected");
+        cache.getOrLoad(OTHER_KEY, String.class, TTL, () -> "loaded");
+
+        // L1: KEY 두 번 hit, KEY·OTHER_KEY 첫 조회 miss / L2: 첫 조회 두 번 모두 miss
+        assertThat(hitRatio("l1")).isEqualTo(0.5);
+        assertThat(hitRatio("l2")).isZero();
+    }
+
+    @Test
+    @DisplayName("TTL 은 ±10% 안에서 흩뜨리고, 흩뜨릴 수 없을 만큼 짧으면 그대로 둔다")
+    void withJitter_staysWithinTenPercent() {
+        Set<Duration> seen = new HashSet<>();
+        for (int i = 0; i < 1_000; i++) {
+            Duration jittered = TwoTierCache.withJitter(Duration.ofSeconds(100));
+            assertThat(jittered).isBetween(Duration.ofSeconds(90), Duration.ofSeconds(110));
+            seen.add(jittered);
+        }
+
+        assertThat(seen).hasSizeGreaterThan(1);
+        assertThat(TwoTierCache.withJitter(Duration.ofMillis(5))).isEqualTo(Duration.ofMillis(5));
+    }
+
+    private double hitRatio(String tier) {
+        return meterRegistry.get("cache.tier.hit.ratio").tag("tier", tier).gauge().value();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenRedis(Object value, Long remainingMs) {
+        given(redisTemplate.executePipelined(any(SessionCallback.class)))
+                .willReturn(Arrays.asList(value, remainingMs));
+    }
+
+    private void awaitLoads(String result, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("cache.tier.loads").tag("result", result).counter().count() < expected) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(1);
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package org.fortishop.productinventoryservice.global.cache.codec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.fortishop.productinventoryservice.dto.response.InventoryResponse;
+import org.fortishop.productinventoryservice.dto.response.ProductResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+class CompactRedisSerializerTest {
+
+    private final GenericJackson2JsonRedisSerializer json = new GenericJackson2JsonRedisSerializer();
+    private final CompactRedisSerializer serializer = new CompactRedisSerializer(
+            List.of(new InventoryResponseCodec(), new ProductResponseCodec()), json);
+
+    @Test
+    @DisplayName("상품 응답을 바이너리로 왕복하면 모든 필드가 그대로다")
+    void productResponse_roundTrip() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 5, 1, 12, 30, 15, 123_000_000);
+        ProductResponse original = new ProductResponse(7L, "무선 이어폰", null, new BigDecimal("129000.00"),
+                "electronics", "img", true, createdAt);
+
+        byte[] bytes = serializer.serialize(original);
+        ProductResponse decoded = (ProductResponse) serializer.deserialize(bytes);
+
+        assertThat(bytes[0]).isEqualTo(CompactRedisSerializer.MAGIC);
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(original);
+    }
+
+    @Test
+    @DisplayName("재고 응답은 null 필드도 보존하고 JSON 보다 작다")
+    void inventoryResponse_roundTripAndSmallerThanJson() {
+        InventoryResponse original = new InventoryResponse(1024L, 350, null, null);
+
+        byte[] bytes = serializer.serialize(original);
+
+        assertThat(serializer.deserialize(bytes)).usingRecursiveComparison().isEqualTo(original);
+        assertThat(bytes.length).isLessThan(json.serialize(original).length);
+    }
+
+    @Test
+    @DisplayName("등록되지 않은 타입과 기존 JSON 값은 fallback 으로 처리한다")
+    void unregisteredTypes_useFallback() {
+        byte[] marker = serializer.serialize("__cache_missing__");
+
+        assertThat(marker).isEqualTo(json.serialize("__cache_missing__"));
+        assertThat(serializer.deserialize(marker)).isEqualTo("__cache_missing__");
+        assertThat(serializer.deserialize(json.serialize("legacy"))).isEqualTo("legacy");
+    }
+
+    @Test
+    @DisplayName("더 높은 스키마 버전으로 쓰인 값은 읽지 않는다")
+    void newerVersion_isRejected() {
+        byte[] bytes = serializer.serialize(new InventoryResponse(1L, 1, 0, null));
+        bytes[2] = 2;
+
+        assertThatThrownBy(() -> serializer.deserialize(bytes)).isInstanceOf(SerializationException.class);
+    }
+}
@@ -0,0 +1,77 @@
+package org.fortishop.productinventoryservice.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Map;
+import org.fortishop.productinventoryservice.Repository.InventoryOutboxRepository;
+import org.fortishop.productinventoryservice.domain.InventoryOutbox;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryOutboxWriterTest {
+
+    @Mock
+    private InventoryOutboxRepository inventoryOutboxRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private InventoryOutboxWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        writer = new InventoryOutboxWriter(inventoryOutboxRepository, new ObjectMapper(), transactionManager,
+                meterRegistry);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    @DisplayName("실패 이벤트는 바깥 트랜잭션이 끝난 뒤에 기록한다")
+    void appendAfterCompletion_writesAfterOuterTransaction() {
+        writer.appendAfterCompletion("inventory.failed", "1", Map.of("orderId", 1));
+        verify(inventoryOutboxRepository, never()).save(any());
+
+        completeOuterTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        verify(inventoryOutboxRepository).save(any(InventoryOutbox.class));
+    }
+
+    @Test
+    @DisplayName("트랜잭션 종료 후 기록이 실패하면 예외를 삼키지 않고 지표로 센다")
+    void appendAfterCompletion_countsFailure() {
+        given(inventoryOutboxRepository.save(any())).willThrow(new IllegalStateException("db down"));
+        writer.appendAfterCompletion("inventory.failed", "1", Map.of("orderId", 1));
+
+        assertThatCode(() -> completeOuterTransaction(TransactionSynchronization.STATUS_ROLLED_BACK))
+                .doesNotThrowAnyException();
+
+        assertThat(meterRegistry.get("inventory.outbox.append.failures").counter().count()).isEqualTo(1);
+    }
+
+    private static void completeOuterTransaction(int status) {
+        TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.afterCompletion(status));
+    }
+}
@@ -0,0 +1,77 @@
+package org.fortishop.productinventoryservice.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.fortishop.productinventoryservice.global.config.InventoryProperties;
+import org.fortishop.productinventoryservice.global.config.WorkerThreadFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class KeyOrderedExecutorTest {
+
+    private KeyOrderedExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        InventoryProperties properties = new InventoryProperties();
+        properties.getListener().setWorkers(4);
+        executor = new KeyOrderedExecutor(properties, new WorkerThreadFactory(false));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.destroy();
+    }
+
+    @Test
+    @DisplayName("여러 상품을 담은 작업은 겹치는 상품의 앞선 작업 뒤에, 뒤이은 작업보다 먼저 실행된다")
+    void multiKeyTask_isOrderedWithEveryKey() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> executed = new CopyOnWriteArrayList<>();
+
+        CompletableFuture<Void> first = executor.submit(1L, () -> {
+            await(release);
+            executed.add("first:1");
+        });
+        CompletableFuture<Void> order = executor.submit(List.of(0L, 1L), () -> executed.add("order:0,1"));
+        CompletableFuture<Void> next = executor.submit(0L, () -> executed.add("next:0"));
+        CompletableFuture<Void> unrelated = executor.submit(2L, () -> executed.add("unrelated:2"));
+
+        unrelated.get(2, TimeUnit.SECONDS);
+        assertThat(order).isNotDone();
+        assertThat(next).isNotDone();
+
+        release.countDown();
+        CompletableFuture.allOf(first, order, next).get(2, TimeUnit.SECONDS);
+
+        assertThat(executed).containsSubsequence("first:1", "order:0,1", "next:0");
+    }
+
+    @Test
+    @DisplayName("여러 상품을 담은 작업이 실패해도 막아 두었던 worker 는 풀린다")
+    void failedMultiKeyTask_releasesWorkers() throws Exception {
+        CompletableFuture<Void> order = executor.submit(List.of(0L, 1L), () -> {
+            throw new IllegalStateException("fail");
+        });
+        CompletableFuture<Void> next = executor.submit(1L, () -> {
+        });
+
+        next.get(2, TimeUnit.SECONDS);
+        assertThat(order).isCompletedExceptionally();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -3,34 +3,48 @@ package org.fortishop.productinventoryservice.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
+import java.util.function.Supplier;
 import org.fortishop.productinventoryservice.Repository.InventoryRepository;
 import org.fortishop.productinventoryservice.Repository.ProductRepository;
 import org.fortishop.productinventoryservice.domain.Inventory;
 import org.fortishop.productinventoryservice.domain.Product;
 import org.fortishop.productinventoryservice.dto.request.ProductRequest;
+import org.fortishop.productinventoryservice.dto.response.CategoryProductsResponse;
 import org.fortishop.productinventoryservice.dto.response.ProductResponse;
+import org.fortishop.productinventoryservice.dto.response.ProductSliceResponse;
+import org.fortishop.productinventoryservice.dto.response.ProductSummaryResponse;
 import org.fortishop.productinventoryservice.exception.Product.ProductException;
+import org.fortishop.productinventoryservice.global.cache.CacheLookup;
+import org.fortishop.productinventoryservice.global.cache.TwoTierCache;
+import org.fortishop.productinventoryservice.service.catalog.CategoryPageCache;
+import org.fortishop.productinventoryservice.service.popularity.HeavyHitterTracker;
+import org.fortishop.productinventoryservice.service.popularity.PopularProductsCache;
+import org.fortishop.productinventoryservice.service.popularity.PopularityRanking;
+import org.fortishop.productinventoryservice.service.popularity.ViewCountBuffer;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.test.util.ReflectionTestUtils;
 
 @ExtendWith(MockitoExtension.class)
@@ -49,12 +63,22 @@ class ProductServiceImplTest {
     private InventoryRepository inventoryRepository;
 
     @Mock
-    private RedisTemplate<String, String> redisTemplate;
+    private PopularityRanking popularityRanking;
 
     @Mock
-    private ZSetOperations<String, String> zSetOps;
+    private TwoTierCache twoTierCache;
 
-    private static final String PRODUCT_VIEW_KEY = "product:views";
+    @Mock
+    private ViewCountBuffer viewCountBuffer;
+
+    @Mock
+    private HeavyHitterTracker heavyHitterTracker;
+
+    @Mock
+    private PopularProductsCache popularProductsCache;
+
+    @Mock
+    private CategoryPageCache categoryPageCache;
 
     @Test
     @DisplayName("상품 생성 성공")
@@ -85,18 +109,47 @@ class ProductServiceImplTest {
     }
 
     @Test
-    @DisplayName("상품 조회 시 Redis 조회수 증가")
+    @DisplayName("상품 조회 시 조회수 버퍼에 누적")
     void getProduct_success() {
         Product product = Product.builder().name("item").isActive(true).build();
         ReflectionTestUtils.setField(product, "id", 1L);
 
+        given(twoTierCache.getOrLoad(eq("product::detail::1"), eq(ProductResponse.class), any(), any(), any()))
+                .willAnswer(ProductServiceImplTest::runLoader);
         given(productRepository.findById(1L)).willReturn(Optional.of(product));
-        given(redisTemplate.opsForZSet()).willReturn(zSetOps);
 
         ProductResponse result = productService.getProduct(1L);
 
         assertThat(result.getId()).isEqualTo(1L);
-        verify(zSetOps).incrementScore(PRODUCT_VIEW_KEY, "1", 1.0);
+        verify(viewCountBuffer).increment(1L);
+    }
+
+    @Test
+    @DisplayName("상품 조회 - 캐시 적중 시 DB 를 조회하지 않는다")
+    void getProduct_cacheHit() {
+        Product product = Product.builder().name("cached").isActive(true).build();
+        ReflectionTestUtils.setField(product, "id", 1L);
+
+        given(twoTierCache.getOrLoad(eq("product::detail::1"), eq(ProductResponse.class), any(), any(), any()))
+                .willReturn(CacheLookup.of(ProductResponse.of(product)));
+
+        ProductResponse result = productService.getProduct(1L);
+
+        assertThat(result.getName()).isEqualTo("cached");
+        verify(productRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("상품 조회 실패 - 없는 상품은 negative 캐시된다")
+    void getProduct_notFound_cachesMissing() {
+        given(twoTierCache.getOrLoad(eq("product::detail::99"), eq(ProductResponse.class), any(), any(), any()))
+                .willAnswer(ProductServiceImplTest::runLoader);
+        given(productRepository.findById(99L)).willReturn(Optional.empty());
+
+        assertThatThrownBy(() -> productService.getProduct(99L))
+                .isInstanceOf(ProductException.class);
+        verify(twoTierCache).getOrLoad(eq("product::detail::99"), eq(ProductResponse.class), any(),
+                eq(Duration.ofSeconds(30)), any());
     }
 
     @Test
@@ -112,12 +165,51 @@ class ProductServiceImplTest {
 
         assertThat(result.getName()).isEqualTo("new");
         verify(productRepository).findById(1L);
+        verify(twoTierCache).evict("product::detail::1");
+    }
+
+    @Test
+    @DisplayName("상품 카테고리를 바꾸면 이전/새 카테고리 목록 캐시를 모두 무효화한다")
+    void updateProduct_invalidatesBothCategories() {
+        Product product = Product.builder().name("old").category("shoes").build();
+        ReflectionTestUtils.setField(product, "id", 1L);
+        given(productRepository.findById(1L)).willReturn(Optional.of(product));
+
+        productService.updateProduct(1L, new ProductRequest("new", "desc", BigDecimal.TEN, "bags", "url", true));
+
+        verify(categoryPageCache).invalidate(List.of("shoes", "bags"));
+    }
+
+    @Test
+    @DisplayName("카테고리 목록 조회 - 캐시에 없으면 해당 페이지를 Slice 로 읽는다")
+    void getProductsByCategory_loadsSlice() {
+        given(categoryPageCache.getOrLoad(eq("shoes"), eq(0), eq(20), any()))
+                .willAnswer(invocation -> ((Supplier<?>) invocation.getArgument(3)).get());
+        given(productRepository.findActiveSummariesByCategory(eq("shoes"), any(Pageable.class)))
+                .willReturn(new SliceImpl<>(List.of(summary(1L, "A")), Pageable.ofSize(20), false));
+
+        CategoryProductsResponse result = productService.getProductsByCategory("shoes", 0, 20);
+
+        assertThat(result.getContent()).extracting(ProductSummaryResponse::getId).containsExactly(1L);
+        assertThat(result.isHasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("카테고리 목록 조회 실패 - 음수 페이지, 범위를 벗어난 페이지 크기")
+    void getProductsByCategory_invalidPage() {
+        assertThatThrownBy(() -> productService.getProductsByCategory("shoes", -1, 20))
+                .isInstanceOf(ProductException.class);
+        assertThatThrownBy(() -> productService.getProductsByCategory("shoes", 0, 0))
+                .isInstanceOf(ProductException.class);
+        assertThatThrownBy(() -> productService.getProductsByCategory("shoes", 0, 101))
+                .isInstanceOf(ProductException.class);
+        verify(categoryPageCache, never()).getOrLoad(any(), anyInt(), anyInt(), any());
     }
 
     @Test
     @DisplayName("상품 삭제 실패 - 존재하지 않음")
     void deleteProduct_fail() {
-        given(productRepository.existsById(1L)).willReturn(false);
+        given(productRepository.findById(1L)).willReturn(Optional.empty());
 
         assertThatThrownBy(() -> productService.deleteProduct(1L))
                 .isInstanceOf(ProductException.class);
@@ -126,40 +218,114 @@ class ProductServiceImplTest {
     @Test
     @DisplayName("전체 상품 조회 - 페이징")
     void getProducts_success() {
-        Page<Product> productPage = new PageImpl<>(List.of(
-                Product.builder().name("A").build()
-        ));
+        Page<ProductSummaryResponse> productPage = new PageImpl<>(List.of(summary(1L, "A")));
 
-        ReflectionTestUtils.setField(productPage.getContent().get(0), "id", 1L);
-
-        given(productRepository.findAllByIsActiveTrue(any(Pageable.class)))
+        given(productRepository.findActiveSummaries(any(Pageable.class)))
                 .willReturn(productPage);
 
-        Page<ProductResponse> result = productService.getProducts(0, 10);
+        Page<ProductSummaryResponse> result = productService.getProducts(0, 10);
 
         assertThat(result.getContent()).hasSize(1);
         assertThat(result.getContent().get(0).getName()).isEqualTo("A");
     }
 
+    @Test
+    @DisplayName("커서 목록 조회 - 다음 페이지가 있으면 마지막 행으로 커서를 만들고 이어서 조회한다")
+    void getProductsByCursor_success() {
+        ProductSummaryResponse product = summary(5L, "A");
+        given(productRepository.findActiveSlice(any(Pageable.class)))
+                .willReturn(new SliceImpl<>(List.of(product), Pageable.ofSize(1), true));
+
+        ProductSliceResponse<ProductSummaryResponse> first = productService.getProductsByCursor(null, 1);
+
+        assertThat(first.isHasNext()).isTrue();
+        assertThat(first.getNextCursor()).isNotBlank();
+
+        given(productRepository.findActiveSliceAfter(eq(product.getCreatedAt()), eq(5L), any(Pageable.class)))
+                .willReturn(new SliceImpl<>(List.of(), Pageable.ofSize(1), false));
+
+        ProductSliceResponse<ProductSummaryResponse> next = productService.getProductsByCursor(first.getNextCursor(), 1);
+
+        assertThat(next.getContent()).isEmpty();
+        assertThat(next.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("커서 목록 조회 실패 - 잘못된 커서")
+    void getProductsByCursor_invalidCursor() {
+        assertThatThrownBy(() -> productService.getProductsByCursor("not-a-cursor", 10))
+                .isInstanceOf(ProductException.class);
+    }
+
+    @Test
+    @DisplayName("커서 목록 조회 실패 - 범위를 벗어난 페이지 크기")
+    void getProductsByCursor_invalidSize() {
+        assertThatThrownBy(() -> productService.getProductsByCursor(null, 0))
+                .isInstanceOf(ProductException.class);
+        assertThatThrownBy(() -> productService.getProductsByCursor(null, 101))
+                .isInstanceOf(ProductException.class);
+    }
+
     @Test
     @DisplayName("인기 상품 조회 - Redis → DB → 정렬 유지")
     void getPopularProducts_success() {
-        given(redisTemplate.opsForZSet()).willReturn(zSetOps);
-        given(zSetOps.reverseRange(eq("product:views"), anyLong(), anyLong()))
-                .willReturn(Set.of("1", "2"));
-
-        Product p1 = Product.builder().name("p1").build();
-        Product p2 = Product.builder().name("p2").build();
-        ReflectionTestUtils.setField(p1, "id", 1L);
-        ReflectionTestUtils.setField(p2, "id", 2L);
+        given(popularityRanking.topProductIds(2)).willReturn(List.of(1L, 2L));
 
-        given(productRepository.findAllById(anyList()))
-                .willReturn(List.of(p1, p2));
+        given(productRepository.findSummariesByIdIn(anyList()))
+                .willReturn(List.of(summary(2L, "p2"), summary(1L, "p1")));
 
-        List<ProductResponse> result = productService.getPopularProducts(2);
+        List<ProductSummaryResponse> result = productService.getPopularProducts(2);
 
         assertThat(result).hasSize(2);
-        assertThat(result.stream().map(ProductResponse::getId)).contains(1L, 2L);
+        assertThat(result.stream().map(ProductSummaryResponse::getId)).containsExactly(1L, 2L);
     }
 
+    @Test
+    @DisplayName("인기 상품 조회 - sketch 순위가 있으면 Redis 순위 없이 그 id 로 최신 상품 요약을 읽는다")
+    void getPopularProducts_fromSketch() {
+        given(heavyHitterTracker.isEnabled()).willReturn(true);
+        given(heavyHitterTracker.topProductIds(2)).willReturn(List.of(1L));
+        given(productRepository.findSummariesByIdIn(List.of(1L))).willReturn(List.of(summary(1L, "renamed")));
+
+        List<ProductSummaryResponse> result = productService.getPopularProducts(2);
+
+        assertThat(result.stream().map(ProductSummaryResponse::getName)).containsExactly("renamed");
+        verify(popularityRanking, never()).topProductIds(anyInt());
+    }
+
+    @Test
+    @DisplayName("인기 상품 JSON 조회 - 미리 직렬화된 응답이 있으면 그대로 반환")
+    void getPopularProductsJson_cached() {
+        byte[] blob = "[]".getBytes();
+        given(popularProductsCache.get(10)).willReturn(blob);
+
+        assertThat(productService.getPopularProductsJson(10)).isSameAs(blob);
+        verify(popularityRanking, never()).topProductIds(anyInt());
+    }
+
+    @Test
+    @DisplayName("인기 목록에 노출된 상품을 수정하면 인기 상품 응답을 다시 만든다")
+    void updateProduct_refreshesListedPopularProducts() {
+        Product product = Product.builder().name("old").build();
+        ReflectionTestUtils.setField(product, "id", 1L);
+        given(productRepository.findById(1L)).willReturn(Optional.of(product));
+        given(popularProductsCache.isListed(1L)).willReturn(true);
+        given(popularProductsCache.maxBucket()).willReturn(10);
+        given(popularityRanking.topProductIds(10)).willReturn(List.of());
+
+        productService.updateProduct(1L, new ProductRequest("new", "desc", BigDecimal.TEN, "cat", "url", true));
+
+        verify(popularProductsCache).replace(List.of());
+    }
+
+    private static ProductSummaryResponse summary(Long id, String name) {
+        return new ProductSummaryResponse(id, name, BigDecimal.TEN, "cat", "img", LocalDateTime.now());
+    }
+
+    // TwoTierCache.getOrLoad 의 miss 경로처럼 loader 를 실행한다. (null 이면 negative)
+    @SuppressWarnings("unchecked")
+    private static CacheLookup<ProductResponse> runLoader(InvocationOnMock invocation) {
+        ProductResponse loaded = ((Supplier<ProductResponse>) invocation.getArgument(4)).get();
+        return loaded == null ? CacheLookup.negative() : CacheLookup.of(loaded);
+    }
 }
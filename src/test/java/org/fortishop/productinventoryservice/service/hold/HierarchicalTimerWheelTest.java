@@ -0,0 +1,55 @@
+package org.fortishop.productinventoryservice.service.hold;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class HierarchicalTimerWheelTest {
+
+    private static final long START = 1_000_000L;
+
+    @Test
+    @DisplayName("만료 시각이 된 항목만 만료 순서대로 반환한다")
+    void advance_returnsExpiredInOrder() {
+        HierarchicalTimerWheel<String> wheel = new HierarchicalTimerWheel<>(10, 4, 3, START);
+        wheel.schedule("c", START + 300);
+        wheel.schedule("a", START + 20);
+        wheel.schedule("b", START + 55);
+
+        assertThat(wheel.advance(START + 10)).isEmpty();
+        assertThat(wheel.advance(START + 60)).containsExactly("a", "b");
+        assertThat(wheel.advance(START + 299)).isEmpty();
+        assertThat(wheel.advance(START + 300)).containsExactly("c");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("상위 레벨 범위를 넘는 만료 시각도 정확한 tick 에 만료된다")
+    void advance_cascadesFromHigherLevelsAndOverflow() {
+        // tick 10ms, 4 슬롯, 2 레벨 -> 휠 범위 160ms, 그 이후는 overflow
+        HierarchicalTimerWheel<Integer> wheel = new HierarchicalTimerWheel<>(10, 4, 2, START);
+        wheel.schedule(1, START + 150);
+        wheel.schedule(2, START + 1_000);
+
+        assertThat(wheel.advance(START + 140)).isEmpty();
+        assertThat(wheel.advance(START + 150)).containsExactly(1);
+        assertThat(wheel.advance(START + 990)).isEmpty();
+        assertThat(wheel.advance(START + 1_000)).containsExactly(2);
+    }
+
+    @Test
+    @DisplayName("취소한 항목과 이미 지난 항목을 처리한다")
+    void cancelAndPastDeadline() {
+        HierarchicalTimerWheel<String> wheel = new HierarchicalTimerWheel<>(10, 8, 2, START);
+        HierarchicalTimerWheel.Timeout<String> cancelled = wheel.schedule("cancelled", START + 50);
+        wheel.schedule("past", START - 500);
+        wheel.cancel(cancelled);
+
+        assertThat(wheel.size()).isEqualTo(1);
+        List<String> expired = wheel.advance(START + 100);
+        assertThat(expired).containsExactly("past");
+        assertThat(wheel.size()).isZero();
+    }
+}
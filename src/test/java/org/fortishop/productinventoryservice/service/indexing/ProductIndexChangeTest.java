@@ -0,0 +1,72 @@
+package org.fortishop.productinventoryservice.service.indexing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ProductIndexChangeTest {
+
+    @Test
+    @DisplayName("같은 상품의 부분 갱신은 나중 값이 덮어쓰고 처음 들어온 시각을 유지한다")
+    void merge_laterFieldsWin() {
+        ProductIndexChange created = ProductIndexChange.upsert(Map.of("name", "a", "quantity", 0), 100);
+        ProductIndexChange renamed = ProductIndexChange.update(Map.of("name", "b"), 200);
+        ProductIndexChange restocked = ProductIndexChange.update(Map.of("quantity", 5), 300);
+
+        ProductIndexChange merged = created.merge(renamed).merge(restocked);
+
+        assertThat(merged.getFields()).containsExactlyInAnyOrderEntriesOf(Map.of("name", "b", "quantity", 5));
+        assertThat(merged.isUpsert()).isTrue();
+        assertThat(merged.isDeleted()).isFalse();
+        assertThat(merged.getEnqueuedAt()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("삭제는 이전 변경을 모두 대체하고 이후의 부분 갱신은 무시된다")
+    void merge_deleteWins() {
+        ProductIndexChange merged = ProductIndexChange.update(Map.of("name", "b"), 100)
+                .merge(ProductIndexChange.delete(200))
+                .merge(ProductIndexChange.update(Map.of("quantity", 3), 300));
+
+        assertThat(merged.isDeleted()).isTrue();
+        assertThat(merged.getFields()).isEmpty();
+        assertThat(merged.getEnqueuedAt()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("삭제 뒤에 들어온 upsert/재동기화는 삭제 전에 읽은 값이므로 삭제를 되돌리지 않는다")
+    void merge_deleteIsTerminal() {
+        ProductIndexChange deleted = ProductIndexChange.update(Map.of("description", "old"), 100)
+                .merge(ProductIndexChange.delete(200));
+
+        assertThat(deleted.merge(ProductIndexChange.upsert(Map.of("name", "new"), 300)).isDeleted()).isTrue();
+        assertThat(deleted.merge(ProductIndexChange.reload(300)).isDeleted()).isTrue();
+    }
+
+    @Test
+    @DisplayName("재동기화와 합쳐진 변경은 보낼 때 다시 읽는 문서로 대체되고, 처음 들어온 시각을 유지한다")
+    void merge_reloadSupersedesPendingFields() {
+        ProductIndexChange merged = ProductIndexChange.update(Map.of("quantity", 3), 100)
+                .merge(ProductIndexChange.reload(200));
+
+        assertThat(merged.isReload()).isTrue();
+        assertThat(merged.isUpsert()).isTrue();
+        assertThat(merged.getEnqueuedAt()).isEqualTo(100);
+        assertThat(merged.merge(ProductIndexChange.delete(300)).isDeleted()).isTrue();
+    }
+
+    @Test
+    @DisplayName("재시도 대기 중인 변경에 새 변경이 합쳐져도 시도 횟수와 대기 시각을 유지한다")
+    void retryAt_keepsBackoffWhenMerged() {
+        ProductIndexChange failed = ProductIndexChange.update(Map.of("name", "a"), 100).retryAt(1_100);
+
+        ProductIndexChange merged = failed.merge(ProductIndexChange.update(Map.of("price", 10), 500));
+
+        assertThat(merged.getAttempts()).isEqualTo(1);
+        assertThat(merged.isReady(1_000)).isFalse();
+        assertThat(merged.isReady(1_100)).isTrue();
+        assertThat(merged.getFields()).containsExactlyInAnyOrderEntriesOf(Map.of("name", "a", "price", 10));
+    }
+}
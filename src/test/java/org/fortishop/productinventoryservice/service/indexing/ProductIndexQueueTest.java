@@ -0,0 +1,148 @@
+package org.fortishop.productinventoryservice.service.indexing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.fortishop.productinventoryservice.global.config.SearchIndexingProperties;
+import org.fortishop.productinventoryservice.global.config.WorkerThreadFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.elasticsearch.BulkFailureException;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.UpdateQuery;
+
+@ExtendWith(MockitoExtension.class)
+class ProductIndexQueueTest {
+
+    private static final int MAX_ATTEMPTS = 2;
+
+    @Mock
+    private ElasticsearchOperations elasticsearchOperations;
+
+    @Mock
+    private ProductIndexDocumentLoader documentLoader;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ProductIndexQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        SearchIndexingProperties properties = new SearchIndexingProperties();
+        properties.setWindowMs(5);
+        properties.setMaxAttempts(MAX_ATTEMPTS);
+        properties.setRetryBackoffMs(1);
+        properties.setMaxRetryBackoffMs(5);
+        meterRegistry = new SimpleMeterRegistry();
+        queue = new ProductIndexQueue(elasticsearchOperations, properties, documentLoader, meterRegistry,
+                new WorkerThreadFactory(false));
+    }
+
+    @AfterEach
+    void tearDown() {
+        queue.destroy();
+    }
+
+    @Test
+    @DisplayName("ES 에 연결할 수 없는 동안은 maxAttempts 를 넘겨도 버리지 않고 회복되면 색인한다")
+    void transportFailure_retriesUntilRecovered() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        willAnswer(invocation -> {
+            if (calls.incrementAndGet() <= MAX_ATTEMPTS * 3) {
+                throw new IllegalStateException("connection refused");
+            }
+            return null;
+        }).given(elasticsearchOperations).bulkUpdate(anyList(), any(IndexCoordinates.class));
+
+        queue.submit(1L, ProductIndexChange.update(Map.of("name", "a"), System.currentTimeMillis()));
+
+        awaitCount("indexed", 1);
+        assertThat(count("dropped")).isZero();
+        assertThat(count("retried")).isEqualTo(MAX_ATTEMPTS * 3);
+    }
+
+    @Test
+    @DisplayName("ES 가 과부하(429)로 거절한 문서도 횟수 제한 없이 재시도한다")
+    void tooManyRequests_retriesUntilRecovered() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        willAnswer(invocation -> {
+            if (calls.incrementAndGet() <= MAX_ATTEMPTS * 3) {
+                throw failure(429, "es_rejected_execution_exception");
+            }
+            return null;
+        }).given(elasticsearchOperations).bulkUpdate(anyList(), any(IndexCoordinates.class));
+
+        queue.submit(1L, ProductIndexChange.update(Map.of("name", "a"), System.currentTimeMillis()));
+
+        awaitCount("indexed", 1);
+        assertThat(count("dropped")).isZero();
+    }
+
+    @Test
+    @DisplayName("문서 자체가 거부된 4xx 는 maxAttempts 까지만 시도하고 버린다")
+    void documentRejected_droppedAfterMaxAttempts() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        willAnswer(invocation -> {
+            calls.incrementAndGet();
+            throw failure(400, "mapper_parsing_exception");
+        }).given(elasticsearchOperations).bulkUpdate(anyList(), any(IndexCoordinates.class));
+
+        queue.submit(1L, ProductIndexChange.update(Map.of("price", "x"), System.currentTimeMillis()));
+
+        awaitCount("dropped", 1);
+        assertThat(calls.get()).isEqualTo(MAX_ATTEMPTS);
+        assertThat(count("indexed")).isZero();
+    }
+
+    @Test
+    @DisplayName("재동기화 변경은 보낼 때 DB 를 다시 읽고, 그 사이 삭제된 상품의 문서는 만들지 않는다")
+    void reload_skipsProductsDeletedBeforeFlush() throws Exception {
+        given(documentLoader.load(anyCollection())).willReturn(Map.of(1L, Map.of("id", 1L, "quantity", 7)));
+        List<UpdateQuery> sent = new CopyOnWriteArrayList<>();
+        willAnswer(invocation -> {
+            sent.addAll(invocation.getArgument(0));
+            return null;
+        }).given(elasticsearchOperations).bulkUpdate(anyList(), any(IndexCoordinates.class));
+
+        long now = System.currentTimeMillis();
+        queue.submit(1L, ProductIndexChange.reload(now));
+        queue.submit(2L, ProductIndexChange.reload(now));
+
+        awaitCount("indexed", 1);
+        awaitCount("dropped", 1);
+        assertThat(sent).extracting(UpdateQuery::getId).containsExactly("1");
+        assertThat(sent.get(0).getDocument()).containsEntry("quantity", 7);
+    }
+
+    private static BulkFailureException failure(int status, String error) {
+        return new BulkFailureException("bulk failed",
+                Map.of("1", new BulkFailureException.FailureDetails(status, error)));
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("search.indexing.documents").tag("result", result).counter().count();
+    }
+
+    private void awaitCount(String result, double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (count(result) < expected) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+}
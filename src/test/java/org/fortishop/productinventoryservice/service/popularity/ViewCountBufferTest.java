@@ -0,0 +1,85 @@
+package org.fortishop.productinventoryservice.service.popularity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.BDDMockito.willAnswer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ViewCountBufferTest {
+
+    private static final int THREADS = 8;
+    private static final int VIEWS_PER_THREAD = 20_000;
+
+    @Mock
+    private PopularityRanking popularityRanking;
+
+    @Test
+    @DisplayName("flush 가 빈 adder 를 빼는 동안 들어온 조회수도 잃어버리지 않는다")
+    void concurrentIncrementAndFlush_losesNoViews() throws Exception {
+        AtomicLong recorded = new AtomicLong();
+        willAnswer(invocation -> {
+            Map<Long, Long> views = invocation.getArgument(0);
+            views.values().forEach(recorded::addAndGet);
+            return null;
+        }).given(popularityRanking).record(anyMap());
+        ViewCountBuffer buffer = new ViewCountBuffer(popularityRanking, new SimpleMeterRegistry());
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> viewers = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            viewers.add(executor.submit(() -> {
+                start.await();
+                for (int view = 0; view < VIEWS_PER_THREAD; view++) {
+                    // 상품을 드문드문 조회해 flush 때마다 빈 adder 가 생기도록 한다.
+                    buffer.increment((long) (view % 4));
+                    if (view % 64 == 0) {
+                        Thread.yield();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        while (viewers.stream().anyMatch(viewer -> !viewer.isDone())) {
+            buffer.flush();
+        }
+        for (Future<?> viewer : viewers) {
+            viewer.get();
+        }
+        executor.shutdown();
+        buffer.flush();
+
+        assertThat(recorded.get()).isEqualTo((long) THREADS * VIEWS_PER_THREAD);
+    }
+
+    @Test
+    @DisplayName("한 주기 동안 조회가 없던 상품은 버퍼에서 빠진다")
+    void idleProducts_areRemovedFromBuffer() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ViewCountBuffer buffer = new ViewCountBuffer(popularityRanking, meterRegistry);
+        buffer.increment(1L);
+        buffer.increment(2L);
+
+        buffer.flush();
+        buffer.increment(1L);
+        buffer.flush();
+
+        assertThat(meterRegistry.get("product.views.buffer.size").gauge().value()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,57 @@
+package org.fortishop.productinventoryservice.service.popularity.sketch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CountMinSketchTest {
+
+    @Test
+    @DisplayName("추정치는 실제 빈도 이상이고 오차는 전체 합 대비 작다")
+    void estimate_neverUnderestimates() {
+        CountMinSketch sketch = new CountMinSketch(4, 1024);
+        long[] actual = new long[5000];
+        Random random = new Random(7);
+        long total = 0;
+        for (int i = 0; i < 100_000; i++) {
+            // 앞쪽 id 에 조회가 몰리는 분포
+            int id = (int) Math.min(actual.length - 1, Math.abs(random.nextGaussian()) * 300);
+            sketch.add(id, 1);
+            actual[id]++;
+            total++;
+        }
+
+        for (int id = 0; id < actual.length; id++) {
+            long estimate = sketch.estimate(id);
+            assertThat(estimate).isGreaterThanOrEqualTo(actual[id]);
+            // e / width * total 보다 넉넉한 상한
+            assertThat(estimate - actual[id]).isLessThanOrEqualTo(total * 4 / 1024);
+        }
+    }
+
+    @Test
+    @DisplayName("다른 노드의 sketch 를 더하면 합산 빈도를 추정하고 decay 는 절반으로 줄인다")
+    void merge_andDecay() {
+        CountMinSketch a = new CountMinSketch(3, 256);
+        CountMinSketch b = new CountMinSketch(3, 256);
+        a.add(42L, 10);
+        b.add(42L, 6);
+
+        a.merge(b.snapshot());
+        assertThat(a.estimate(42L)).isEqualTo(16);
+
+        a.decay();
+        assertThat(a.estimate(42L)).isEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("width 가 2의 거듭제곱이 아니거나 크기가 다른 sketch 는 거부한다")
+    void rejectsInvalidDimensions() {
+        assertThatThrownBy(() -> new CountMinSketch(4, 1000)).isInstanceOf(IllegalArgumentException.class);
+        CountMinSketch sketch = new CountMinSketch(2, 64);
+        assertThatThrownBy(() -> sketch.merge(new long[64])).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,59 @@
+package org.fortishop.productinventoryservice.service.popularity.sketch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SpaceSavingTopKTest {
+
+    @Test
+    @DisplayName("가득 차면 최소 후보보다 큰 항목만 들어오고 카운트 순으로 반환한다")
+    void offer_replacesMinimumOnlyWhenLarger() {
+        SpaceSavingTopK topK = new SpaceSavingTopK(3);
+        topK.offer(1L, 5);
+        topK.offer(2L, 3);
+        topK.offer(3L, 8);
+        assertThat(topK.isFull()).isTrue();
+        assertThat(topK.minCount()).isEqualTo(3);
+
+        topK.offer(4L, 2);
+        assertThat(topK.items()).containsExactlyInAnyOrder(1L, 2L, 3L);
+
+        topK.offer(4L, 6);
+        assertThat(topK.top(3)).containsExactly(3L, 4L, 1L);
+        assertThat(topK.minCount()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("이미 후보인 항목은 카운트만 갱신한다")
+    void offer_updatesExistingItem() {
+        SpaceSavingTopK topK = new SpaceSavingTopK(2);
+        topK.offer(1L, 1);
+        topK.offer(2L, 4);
+        topK.offer(1L, 9);
+
+        assertThat(topK.top(2)).containsExactly(1L, 2L);
+        assertThat(topK.minCount()).isEqualTo(4);
+
+        topK.decay();
+        assertThat(topK.minCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("이미 후보인 항목은 잠금 없이 카운트를 올리고, 후보가 아니면 아무것도 바꾸지 않는다")
+    void raiseIfPresent_updatesOnlyExistingItem() {
+        SpaceSavingTopK topK = new SpaceSavingTopK(2);
+        topK.offer(1L, 1);
+        topK.offer(2L, 4);
+
+        assertThat(topK.raiseIfPresent(1L, 9)).isTrue();
+        assertThat(topK.raiseIfPresent(3L, 20)).isFalse();
+        assertThat(topK.items()).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(topK.top(2)).containsExactly(1L, 2L);
+
+        // 잠금 없이 올라간 카운트를 반영해 실제 최소 후보(2)를 교체한다.
+        topK.offer(3L, 5);
+        assertThat(topK.items()).containsExactlyInAnyOrder(1L, 3L);
+    }
+}
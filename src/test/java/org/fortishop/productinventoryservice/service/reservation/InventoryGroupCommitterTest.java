@@ -0,0 +1,112 @@
+package org.fortishop.productinventoryservice.service.reservation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.fortishop.productinventoryservice.global.config.InventoryProperties;
+import org.fortishop.productinventoryservice.global.config.WorkerThreadFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryGroupCommitterTest {
+
+    @Mock
+    private InventoryBatchWriter inventoryBatchWriter;
+
+    private InventoryGroupCommitter committer;
+
+    @AfterEach
+    void tearDown() {
+        committer.destroy();
+    }
+
+    @Test
+    @DisplayName("혼자 들어온 요청은 windowMs 를 기다리지 않고 바로 커밋된다")
+    void loneRequest_flushesWithoutWindow() throws Exception {
+        given(inventoryBatchWriter.applyBatch(anyList())).willReturn(new int[]{1});
+        committer = committer(10_000);
+
+        PendingAdjustment adjustment = committer.submit(1L, -1);
+
+        assertThat(adjustment.getResult().get(2, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("커밋하는 동안 쌓인 요청은 다음 batch 하나로 productId 순서대로 묶인다")
+    void requestsQueuedDuringCommit_areBatched() throws Exception {
+        CountDownLatch firstCommitStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstCommit = new CountDownLatch(1);
+        List<List<Map.Entry<Long, Integer>>> batches = new CopyOnWriteArrayList<>();
+        given(inventoryBatchWriter.applyBatch(anyList())).willAnswer(invocation -> {
+            List<Map.Entry<Long, Integer>> deltas = invocation.getArgument(0);
+            batches.add(List.copyOf(deltas));
+            if (batches.size() == 1) {
+                firstCommitStarted.countDown();
+                releaseFirstCommit.await(2, TimeUnit.SECONDS);
+            }
+            int[] updated = new int[deltas.size()];
+            Arrays.fill(updated, 1);
+            return updated;
+        });
+        committer = committer(0);
+
+        PendingAdjustment first = committer.submit(9L, -1);
+        assertThat(firstCommitStarted.await(2, TimeUnit.SECONDS)).isTrue();
+        List<PendingAdjustment> queued = List.of(
+                committer.submit(3L, -1), committer.submit(1L, -2), committer.submit(2L, 5));
+        releaseFirstCommit.countDown();
+
+        assertThat(first.getResult().get(2, TimeUnit.SECONDS)).isTrue();
+        for (PendingAdjustment adjustment : queued) {
+            assertThat(adjustment.getResult().get(2, TimeUnit.SECONDS)).isTrue();
+        }
+        assertThat(batches).hasSize(2);
+        assertThat(batches.get(1)).containsExactly(Map.entry(1L, -2), Map.entry(2L, 5), Map.entry(3L, -1));
+    }
+
+    @Test
+    @DisplayName("batch 안에서 재고가 부족한 건만 실패하고 나머지는 반영된다")
+    void insufficientLine_failsOnlyThatLine() throws Exception {
+        CountDownLatch firstCommitStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstCommit = new CountDownLatch(1);
+        given(inventoryBatchWriter.applyBatch(anyList()))
+                .willAnswer(invocation -> {
+                    firstCommitStarted.countDown();
+                    releaseFirstCommit.await(2, TimeUnit.SECONDS);
+                    return new int[]{1};
+                })
+                .willReturn(new int[]{1, 0, 1});
+        committer = committer(0);
+
+        committer.submit(9L, -1);
+        assertThat(firstCommitStarted.await(2, TimeUnit.SECONDS)).isTrue();
+        PendingAdjustment enough = committer.submit(1L, -1);
+        PendingAdjustment insufficient = committer.submit(2L, -100);
+        PendingAdjustment restore = committer.submit(3L, 1);
+        releaseFirstCommit.countDown();
+
+        assertThat(enough.getResult().get(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(insufficient.getResult().get(2, TimeUnit.SECONDS)).isFalse();
+        assertThat(restore.getResult().get(2, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private InventoryGroupCommitter committer(long windowMs) {
+        InventoryProperties properties = new InventoryProperties();
+        properties.getGroupCommit().setWindowMs(windowMs);
+        return new InventoryGroupCommitter(properties, inventoryBatchWriter, new SimpleMeterRegistry(),
+                new WorkerThreadFactory(false));
+    }
+}
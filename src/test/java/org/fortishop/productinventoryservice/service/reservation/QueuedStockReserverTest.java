@@ -0,0 +1,176 @@
+package org.fortishop.productinventoryservice.service.reservation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import org.fortishop.productinventoryservice.dto.event.OrderItemInfo;
+import org.fortishop.productinventoryservice.kafka.InventoryEventProducer;
+import org.fortishop.productinventoryservice.service.InventoryHoldService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class QueuedStockReserverTest {
+
+    private static final long TIMEOUT_MS = 50;
+
+    @Mock
+    private InventoryEventProducer inventoryEventProducer;
+
+    @Mock
+    private InventoryHoldService inventoryHoldService;
+
+    @Test
+    @DisplayName("처리 쪽이 반영에 성공하면 예약 성공 이벤트를 보낸다")
+    void reserve_success() {
+        FakeReserver reserver = new FakeReserver(adjustment -> {
+            adjustment.claim();
+            adjustment.getResult().complete(true);
+        });
+
+        assertThat(reserver.reserve(1L, 10L, 3, "trace")).isTrue();
+
+        assertThat(reserver.submitted.get(0).getDelta()).isEqualTo(-3);
+        verify(inventoryEventProducer).sendInventoryReserved(1L, 10L, "trace");
+    }
+
+    @Test
+    @DisplayName("재고가 부족하면 재고 부족으로 실패 이벤트를 보낸다")
+    void reserve_insufficient() {
+        FakeReserver reserver = new FakeReserver(adjustment -> {
+            adjustment.claim();
+            adjustment.getResult().complete(false);
+        });
+
+        assertThat(reserver.reserve(1L, 10L, 3, "trace")).isFalse();
+
+        verify(inventoryEventProducer).sendInventoryFailed(1L, 10L, "재고 부족", "trace");
+    }
+
+    @Test
+    @DisplayName("대기 시간 안에 처리되지 않은 요청은 회수되어 나중에 반영되지 않는다")
+    void reserve_timeout_withdrawsUnclaimed() {
+        FakeReserver reserver = new FakeReserver(adjustment -> {
+        });
+
+        assertThat(reserver.reserve(1L, 10L, 3, "trace")).isFalse();
+
+        assertThat(reserver.submitted.get(0).claim()).isFalse();
+        verify(inventoryEventProducer).sendInventoryFailed(1L, 10L, "재고 차감 대기 시간 초과", "trace");
+    }
+
+    @Test
+    @DisplayName("이미 처리 중인 요청도 한정된 시간만 기다리고, 뒤늦게 반영되면 반대 방향으로 되돌린다")
+    void reserve_claimedButStuck_isBoundedAndCompensated() {
+        List<PendingAdjustment> stuck = new ArrayList<>();
+        FakeReserver reserver = new FakeReserver(adjustment -> {
+            adjustment.claim();
+            stuck.add(adjustment);
+        });
+
+        long startedAt = System.nanoTime();
+        assertThat(reserver.reserve(1L, 10L, 3, "trace")).isFalse();
+        assertThat(System.nanoTime() - startedAt).isLessThan(TIMEOUT_MS * 10 * 1_000_000);
+        verify(inventoryEventProducer).sendInventoryFailed(1L, 10L, "재고 차감 대기 시간 초과", "trace");
+
+        stuck.get(0).getResult().complete(true);
+
+        assertThat(reserver.submitted).hasSize(2);
+        assertThat(reserver.submitted.get(1).getProductId()).isEqualTo(10L);
+        assertThat(reserver.submitted.get(1).getDelta()).isEqualTo(3);
+        verify(inventoryEventProducer, never()).sendInventoryReserved(anyLong(), anyLong(), anyString());
+    }
+
+    @Test
+    @DisplayName("처리 중인 요청이 두 번째 대기 안에 끝나면 그 결과를 그대로 쓴다")
+    void reserve_claimedAndCompletedLate_usesResult() {
+        FakeReserver reserver = new FakeReserver(adjustment -> {
+            adjustment.claim();
+            Thread.ofVirtual().start(() -> {
+                sleep(TIMEOUT_MS + TIMEOUT_MS / 2);
+                adjustment.getResult().complete(true);
+            });
+        });
+
+        assertThat(reserver.reserve(1L, 10L, 3, "trace")).isTrue();
+
+        assertThat(reserver.submitted).hasSize(1);
+        verify(inventoryEventProducer).sendInventoryReserved(1L, 10L, "trace");
+    }
+
+    @Test
+    @DisplayName("차감 후 hold 기록에 실패하면 차감을 되돌리고 실패 이벤트를 보낸다")
+    void reserve_holdFailure_compensates() {
+        willThrow(new IllegalStateException("hold 실패")).given(inventoryHoldService).hold(1L, 10L, 3);
+        FakeReserver reserver = new FakeReserver(adjustment -> {
+            adjustment.claim();
+            adjustment.getResult().complete(true);
+        });
+
+        assertThat(reserver.reserve(1L, 10L, 3, "trace")).isFalse();
+
+        assertThat(reserver.submitted).hasSize(2);
+        assertThat(reserver.submitted.get(1).getDelta()).isEqualTo(3);
+        verify(inventoryEventProducer).sendInventoryFailed(1L, 10L, "예외 발생: hold 실패", "trace");
+        verify(inventoryEventProducer, never()).sendInventoryReserved(anyLong(), anyLong(), anyString());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // 첫 요청만 processor 로 처리하고, 이후 요청(보상)은 곧바로 반영된 것으로 본다.
+    private class FakeReserver extends QueuedStockReserver {
+
+        private final Consumer<PendingAdjustment> processor;
+        private final List<PendingAdjustment> submitted = new CopyOnWriteArrayList<>();
+
+        FakeReserver(Consumer<PendingAdjustment> processor) {
+            super(inventoryEventProducer, inventoryHoldService);
+            this.processor = processor;
+        }
+
+        @Override
+        protected PendingAdjustment submit(Long productId, int delta) {
+            PendingAdjustment adjustment = new PendingAdjustment(productId, delta);
+            if (submitted.isEmpty()) {
+                processor.accept(adjustment);
+            } else {
+                adjustment.claim();
+                adjustment.getResult().complete(true);
+            }
+            submitted.add(adjustment);
+            return adjustment;
+        }
+
+        @Override
+        protected long awaitTimeoutMs() {
+            return TIMEOUT_MS;
+        }
+
+        @Override
+        public ReservationMode getMode() {
+            return ReservationMode.SINGLE_WRITER;
+        }
+
+        @Override
+        public boolean reserveOrder(Long orderId, List<OrderItemInfo> items, String traceId) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}